@@ -1,30 +1,53 @@
 package com.example.orchestrator.action;
 
+import com.example.orchestrator.model.DbQuery;
 import com.example.orchestrator.model.GenericEntity;
 import com.example.orchestrator.model.Step;
-import com.example.orchestrator.repository.GenericEntityRepository;
+import com.example.orchestrator.repository.Aggregation;
+import com.example.orchestrator.repository.GenericEntityStore;
 import com.example.orchestrator.util.ExecutionContext;
 import com.example.orchestrator.util.VariableResolver;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.StreamSupport;
 
 @Slf4j
 @Component
 public class DbActionExecutor implements ActionExecutor {
 
-    private final GenericEntityRepository genericEntityRepository;
+    private final Map<String, GenericEntityStore> stores;
+    private final String defaultEngine;
     private final VariableResolver variableResolver;
+    private final SelectCache selectCache;
+    private final WriteBehindWriter writeBehindWriter;
+    private final int batchSize;
+    private final int fetchSize;
 
     @Autowired
-    public DbActionExecutor(GenericEntityRepository genericEntityRepository, VariableResolver variableResolver) {
-        this.genericEntityRepository = genericEntityRepository;
+    public DbActionExecutor(List<GenericEntityStore> stores, VariableResolver variableResolver, SelectCache selectCache,
+                            WriteBehindWriter writeBehindWriter,
+                            @Value("${orchestrator.db.engine:jpa}") String defaultEngine,
+                            @Value("${orchestrator.db.batch-size:500}") int batchSize,
+                            @Value("${orchestrator.db.fetch-size:500}") int fetchSize) {
+        this.stores = stores.stream().collect(Collectors.toMap(GenericEntityStore::getEngine, Function.identity()));
+        if (!this.stores.containsKey(defaultEngine)) {
+            throw new IllegalArgumentException("Unsupported orchestrator.db.engine: " + defaultEngine + ". Supported engines are " + this.stores.keySet());
+        }
+        this.defaultEngine = defaultEngine;
         this.variableResolver = variableResolver;
+        this.selectCache = selectCache;
+        this.writeBehindWriter = writeBehindWriter;
+        this.batchSize = Math.max(1, batchSize);
+        this.fetchSize = Math.max(1, fetchSize);
     }
 
     @Override
@@ -45,33 +68,166 @@ public class DbActionExecutor implements ActionExecutor {
             throw new IllegalArgumentException("Resolved table name cannot be null or empty for DB step.");
         }
         log.debug("Resolved table name for step {}: {}", step.id(), tableName);
+        GenericEntityStore store = stores.get(step.engine() != null ? step.engine() : defaultEngine);
+        if (store == null) {
+            throw new IllegalArgumentException("Unsupported engine for DB step '" + step.id() + "': " + step.engine() + ". Supported engines are " + stores.keySet());
+        }
 
         switch (step.operation().toLowerCase()) {
             case "select":
-                List<GenericEntity> entities = genericEntityRepository.findByTableName(tableName);
+                if (step.query() != null && Boolean.TRUE.equals(step.query().stream())) {
+                    log.info("DB SELECT step '{}' streams table '{}'", step.id(), tableName);
+                    return select(store, step, tableName, resolutionContext);
+                }
+                List<GenericEntity> entities = (List<GenericEntity>) select(store, step, tableName, resolutionContext);
                 log.info("DB SELECT step '{}' executed successfully. Found {} entities.", step.id(), entities.size());
                 return entities;
             case "insert":
-                if (step.data() == null || step.data().isEmpty()) {
-                    log.error("Data for insert operation cannot be null or empty for DB step: {}", step.id());
-                    throw new IllegalArgumentException("Data for insert operation cannot be null or empty.");
+                Map<String, Object> resolvedData = resolveData(step, resolutionContext);
+                if (Boolean.TRUE.equals(step.writeBehind()) && writeBehindWriter.enqueue(store, tableName, resolvedData)) {
+                    log.info("DB INSERT step '{}' handed its row for table '{}' to the write-behind writer", step.id(), tableName);
+                    Map<String, Object> queuedResult = new HashMap<>();
+                    queuedResult.put("tableName", tableName);
+                    queuedResult.put("data", resolvedData);
+                    queuedResult.put("writeBehind", true);
+                    return queuedResult;
                 }
-                // Convert JsonNode to Map<String, Object> for variable resolution
-                Map<String, Object> dataMap = new ObjectMapper().convertValue(step.data(), Map.class);
-                Map<String, Object> resolvedData = variableResolver.resolveVariables(dataMap, resolutionContext);
-                GenericEntity newEntity = new GenericEntity();
-                newEntity.setTableName(tableName);
-                newEntity.setData(resolvedData);
-                GenericEntity savedEntity = genericEntityRepository.save(newEntity);
+                GenericEntity savedEntity = store.insert(tableName, resolvedData);
+                selectCache.invalidate(tableName);
                 log.info("DB INSERT step '{}' executed successfully. Saved entity with ID: {}", step.id(), savedEntity.getId());
                 Map<String, Object> result = new HashMap<>();
                 result.put("id", savedEntity.getId());
                 result.put("tableName", savedEntity.getTableName());
                 result.put("data", savedEntity.getData());
                 return result;
+            case "bulkinsert":
+                return bulkInsert(store, step, tableName, resolutionContext);
+            case "aggregate":
+                return aggregate(store, step, tableName, resolutionContext);
+            case "upsert":
+                if (step.key() == null || step.key().isBlank()) {
+                    throw new IllegalArgumentException("Upsert operation requires a 'key' path into its data.");
+                }
+                return writeResult(step, tableName, store.upsert(tableName, step.key(), resolveData(step, resolutionContext)));
+            case "update":
+                return writeResult(step, tableName, store.update(tableName, resolveWhere(step, resolutionContext), resolveData(step, resolutionContext)));
+            case "delete":
+                return writeResult(step, tableName, store.delete(tableName, resolveWhere(step, resolutionContext)));
             default:
                 log.error("Unsupported DB operation for step '{}': {}", step.id(), step.operation());
                 throw new UnsupportedOperationException("Operation " + step.operation() + " not supported for db action.");
         }
     }
-}
\ No newline at end of file
+
+    private Map<String, Object> resolveData(Step step, Map<String, Object> resolutionContext) {
+        if (step.data() == null || step.data().isEmpty()) {
+            log.error("Data for {} operation cannot be null or empty for DB step: {}", step.operation(), step.id());
+            throw new IllegalArgumentException("Data for " + step.operation() + " operation cannot be null or empty.");
+        }
+        // Convert JsonNode to Map<String, Object> for variable resolution
+        Map<String, Object> dataMap = new ObjectMapper().convertValue(step.data(), Map.class);
+        return variableResolver.resolveVariables(dataMap, resolutionContext);
+    }
+
+    // Update and delete never apply to a whole table by accident
+    private Map<String, Object> resolveWhere(Step step, Map<String, Object> resolutionContext) {
+        if (step.query() == null || step.query().where() == null || step.query().where().isEmpty()) {
+            throw new IllegalArgumentException("Operation " + step.operation() + " requires a non-empty 'query.where'.");
+        }
+        return variableResolver.resolveVariables(step.query().where(), resolutionContext);
+    }
+
+    private Map<String, Object> writeResult(Step step, String tableName, int affected) {
+        selectCache.invalidate(tableName);
+        log.info("DB {} step '{}' affected {} rows of table '{}'", step.operation().toUpperCase(), step.id(), affected, tableName);
+        Map<String, Object> result = new HashMap<>();
+        result.put("tableName", tableName);
+        result.put("affected", affected);
+        return result;
+    }
+
+    // A list of the matching rows, or for streamed selects an Iterable that fetches them page by page as it is consumed
+    private Iterable<GenericEntity> select(GenericEntityStore store, Step step, String tableName, Map<String, Object> resolutionContext) {
+        DbQuery query = step.query();
+        if (query == null) {
+            return selectCache.get(tableName, new SelectKey(null, null, 0, null), () -> store.findPage(tableName, null, null, 0, null));
+        }
+        if ((query.limit() != null && query.limit() < 0) || (query.offset() != null && query.offset() < 0)) {
+            throw new IllegalArgumentException("Limit and offset of a DB select step cannot be negative.");
+        }
+        Map<String, Object> where = variableResolver.resolveVariables(query.where(), resolutionContext);
+        Object after = variableResolver.resolveVariables(query.after(), resolutionContext);
+        Long afterId;
+        try {
+            afterId = after == null || after.toString().isEmpty() ? null : Long.valueOf(after.toString());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Keyset cursor 'after' of a DB select step must be an entity id, got: " + after);
+        }
+        int offset = query.offset() != null ? query.offset() : 0;
+        if (Boolean.TRUE.equals(query.stream())) {
+            int pageSize = query.fetchSize() != null ? query.fetchSize() : fetchSize;
+            return store.streamPages(tableName, where, afterId, offset, query.limit(), pageSize);
+        }
+        return selectCache.get(tableName, new SelectKey(where, afterId, offset, query.limit()),
+                () -> store.findPage(tableName, where, afterId, offset, query.limit()));
+    }
+
+    private Object aggregate(GenericEntityStore store, Step step, String tableName, Map<String, Object> resolutionContext) {
+        DbQuery query = step.query();
+        if (query == null || query.aggregates() == null || query.aggregates().isEmpty()) {
+            throw new IllegalArgumentException("Aggregate operation requires 'query.aggregates'.");
+        }
+        List<Aggregation> aggregations = query.aggregates().entrySet().stream()
+                .map(aggregate -> Aggregation.parse(aggregate.getKey(), aggregate.getValue()))
+                .toList();
+        List<String> groupBy = query.groupBy() != null ? query.groupBy() : List.of();
+        Map<String, Object> where = variableResolver.resolveVariables(query.where(), resolutionContext);
+        List<Map<String, Object>> rows = store.aggregate(tableName, where, groupBy, aggregations);
+        log.info("DB AGGREGATE step '{}' returned {} groups for table '{}'", step.id(), rows.size(), tableName);
+        // Without groupBy the single row is returned as is, so its values can be referenced directly
+        return groupBy.isEmpty() ? rows.get(0) : rows;
+    }
+
+    private Map<String, Object> bulkInsert(GenericEntityStore store, Step step, String tableName, Map<String, Object> resolutionContext) {
+        if (step.items() == null || step.items().isEmpty()) {
+            log.error("Items for bulkInsert operation cannot be null or empty for DB step: {}", step.id());
+            throw new IllegalArgumentException("Items for bulkInsert operation cannot be null or empty.");
+        }
+        Object items = variableResolver.resolveVariables(step.items(), resolutionContext);
+        if (!(items instanceof Iterable<?> elements)) {
+            throw new IllegalArgumentException("Items for bulkInsert operation must resolve to a collection.");
+        }
+
+        // Each element is either inserted as is or, with a data template, resolved against the context plus the element
+        Map<String, Object> template = step.data() != null ? new ObjectMapper().convertValue(step.data(), Map.class) : null;
+        String itemVariable = step.as() != null ? step.as() : "item";
+        Map<String, Object> rowContext = new HashMap<>(resolutionContext);
+        Iterable<Map<String, Object>> rows = () -> StreamSupport.stream(elements.spliterator(), false)
+                .map(element -> {
+                    if (template != null) {
+                        rowContext.put(itemVariable, element);
+                        return variableResolver.resolveVariables(template, rowContext);
+                    }
+                    if (element instanceof GenericEntity entity) {
+                        return entity.getData();
+                    }
+                    if (element instanceof Map<?, ?> map) {
+                        return (Map<String, Object>) map;
+                    }
+                    throw new IllegalArgumentException("Element of bulkInsert items must be an object when no data template is given.");
+                })
+                .iterator();
+
+        long startedAt = System.currentTimeMillis();
+        int inserted = store.insertAll(tableName, rows, batchSize);
+        selectCache.invalidate(tableName);
+        log.info("DB BULK INSERT step '{}' inserted {} rows into table '{}' in {} ms", step.id(), inserted, tableName, System.currentTimeMillis() - startedAt);
+
+        Map<String, Object> result = new HashMap<>();
+        result.put("tableName", tableName);
+        result.put("inserted", inserted);
+        return result;
+    }
+
+    private record SelectKey(Map<String, Object> where, Long afterId, int offset, Integer limit) {}
+}
@@ -2,6 +2,7 @@ package com.example.orchestrator.action;
 
 import com.example.orchestrator.model.Step;
 import com.example.orchestrator.util.ExecutionContext;
+import com.example.orchestrator.util.LazyJson;
 import com.example.orchestrator.util.VariableResolver;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -20,11 +21,13 @@ public class HttpActionExecutor implements ActionExecutor {
     private final RestClient restClient;
     private final VariableResolver variableResolver;
     private final ObjectMapper objectMapper;
+    private final HttpPaginator httpPaginator;
 
-    public HttpActionExecutor(RestClient restClient, VariableResolver variableResolver, ObjectMapper objectMapper) {
+    public HttpActionExecutor(RestClient restClient, VariableResolver variableResolver, ObjectMapper objectMapper, HttpPaginator httpPaginator) {
         this.restClient = restClient;
         this.variableResolver = variableResolver;
         this.objectMapper = objectMapper;
+        this.httpPaginator = httpPaginator;
     }
 
     @Override
@@ -60,14 +63,21 @@ public class HttpActionExecutor implements ActionExecutor {
             })
         );
 
+        if (step.paginate() != null) {
+            if (!"GET".equalsIgnoreCase(step.method())) {
+                throw new IllegalArgumentException("Pagination is only supported for GET steps but step '" + step.id() + "' uses " + step.method() + ".");
+            }
+            return httpPaginator.paginate(step, resolvedUrl, resolvedHeaders);
+        }
+
         Object responseBody;
         switch (step.method().toUpperCase()) {
             case "GET":
-                responseBody = restClient.get()
+                responseBody = lazyJson(restClient.get()
                         .uri(resolvedUrl)
                         .headers(httpHeaders -> resolvedHeaders.forEach(httpHeaders::add))
                         .retrieve()
-                        .body(Map.class);
+                        .body(byte[].class));
                 log.info("HTTP GET step '{}' executed successfully. Response: {}", step.id(), responseBody);
                 break;
             case "POST":
@@ -78,12 +88,12 @@ public class HttpActionExecutor implements ActionExecutor {
                     requestBody = variableResolver.resolveVariables(dataMap, resolutionContext);
                 }
 
-                responseBody = restClient.post()
+                responseBody = lazyJson(restClient.post()
                         .uri(resolvedUrl)
                         .headers(httpHeaders -> resolvedHeaders.forEach(httpHeaders::add))
                         .body(requestBody)
                         .retrieve()
-                        .body(Map.class);
+                        .body(byte[].class));
                 log.info("HTTP POST step '{}' executed successfully. Response: {}", step.id(), responseBody);
                 break;
             default:
@@ -92,4 +102,9 @@ public class HttpActionExecutor implements ActionExecutor {
         }
         return responseBody;
     }
-}
\ No newline at end of file
+
+    // Bodies stay raw bytes; only the fields later steps and templates read are ever decoded
+    private static Object lazyJson(byte[] body) {
+        return body == null || body.length == 0 ? null : LazyJson.parse(body);
+    }
+}
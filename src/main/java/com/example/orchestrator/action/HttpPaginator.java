@@ -0,0 +1,176 @@
+package com.example.orchestrator.action;
+
+import com.example.orchestrator.model.Pagination;
+import com.example.orchestrator.model.Step;
+import com.example.orchestrator.util.ValueNavigator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestClient;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import java.net.URI;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+// Follows next-page cursors or links of a paged GET endpoint; at most the current and one prefetched page are held in memory
+@Slf4j
+@Component
+public class HttpPaginator {
+
+    private static final Pattern NEXT_LINK = Pattern.compile("<([^>]*)>\\s*;[^,]*rel=\"?next\"?");
+
+    private final RestClient restClient;
+    private final ExecutorService stepExecutorService;
+    private final int defaultMaxPages;
+    private final int maxBufferedItems;
+
+    public HttpPaginator(RestClient restClient,
+                         ExecutorService stepExecutorService,
+                         @Value("${orchestrator.http.paginate.max-pages:100}") int defaultMaxPages,
+                         @Value("${orchestrator.http.paginate.max-buffered-items:10000}") int maxBufferedItems) {
+        this.restClient = restClient;
+        this.stepExecutorService = stepExecutorService;
+        this.defaultMaxPages = defaultMaxPages;
+        this.maxBufferedItems = maxBufferedItems;
+    }
+
+    public Map<String, Object> paginate(Step step, String url, Map<String, String> headers) {
+        Pagination pagination = step.paginate();
+        PageAggregator aggregator = PageAggregator.create(pagination, maxBufferedItems);
+        int maxPages = pagination.maxPages() != null ? pagination.maxPages() : defaultMaxPages;
+        boolean prefetch = Boolean.TRUE.equals(pagination.prefetch());
+
+        String pageUrl = url;
+        ResponseEntity<Object> page = fetch(pageUrl, headers);
+        int pages = 0;
+        boolean truncated = false;
+        while (true) {
+            pages++;
+            String nextUrl = nextUrl(pagination, url, pageUrl, page);
+            boolean lastAllowedPage = pages >= maxPages;
+            Future<ResponseEntity<Object>> prefetched = prefetch && nextUrl != null && !lastAllowedPage
+                    ? stepExecutorService.submit(() -> fetch(nextUrl, headers))
+                    : null;
+
+            boolean wantsMore;
+            try {
+                wantsMore = aggregate(pagination, page.getBody(), aggregator);
+            } catch (RuntimeException e) {
+                cancel(prefetched);
+                throw e;
+            }
+            if (!wantsMore || nextUrl == null) {
+                cancel(prefetched);
+                break;
+            }
+            if (lastAllowedPage) {
+                // The result covers only part of the data; it is flagged instead of silently looking complete
+                log.warn("Paginated HTTP step '{}' stopped at maxPages {} although another page exists", step.id(), maxPages);
+                truncated = true;
+                break;
+            }
+            page = prefetched != null ? await(prefetched) : fetch(nextUrl, headers);
+            pageUrl = nextUrl;
+        }
+
+        log.info("Paginated HTTP step '{}' read {} pages with {} items", step.id(), pages, aggregator.count);
+        Map<String, Object> result = aggregator.result(pages);
+        result.put("truncated", truncated);
+        return result;
+    }
+
+    private ResponseEntity<Object> fetch(String url, Map<String, String> headers) {
+        log.debug("Fetching page: {}", url);
+        return restClient.get()
+                .uri(url)
+                .headers(httpHeaders -> headers.forEach(httpHeaders::add))
+                .retrieve()
+                .toEntity(Object.class);
+    }
+
+    private boolean aggregate(Pagination pagination, Object body, PageAggregator aggregator) {
+        Object items = pagination.items() != null ? navigate(body, pagination.items()) : body;
+        if (items == null) {
+            return true;
+        }
+        if (!(items instanceof Collection<?> collection)) {
+            throw new IllegalArgumentException("Pagination items at '" + pagination.items() + "' must be an array but got: " + items.getClass().getSimpleName());
+        }
+        for (Object item : collection) {
+            if (!aggregator.accept(item)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private String nextUrl(Pagination pagination, String firstUrl, String pageUrl, ResponseEntity<Object> page) {
+        Object next = pagination.next() != null ? navigate(page.getBody(), pagination.next()) : linkHeader(page.getHeaders());
+        if (next == null || next.toString().isEmpty()) {
+            return null;
+        }
+        if (pagination.cursorParam() != null) {
+            return UriComponentsBuilder.fromUriString(firstUrl)
+                    .replaceQueryParam(pagination.cursorParam(), next)
+                    .build()
+                    .toUriString();
+        }
+        // Links may be relative to the page they were returned with
+        return URI.create(pageUrl).resolve(next.toString()).toString();
+    }
+
+    private static String linkHeader(HttpHeaders headers) {
+        List<String> links = headers.get(HttpHeaders.LINK);
+        if (links == null) {
+            return null;
+        }
+        for (String link : links) {
+            Matcher matcher = NEXT_LINK.matcher(link);
+            if (matcher.find()) {
+                return matcher.group(1);
+            }
+        }
+        return null;
+    }
+
+    private static Object navigate(Object body, String path) {
+        Object value = body;
+        for (String key : path.split("\\.")) {
+            if (!ValueNavigator.isNavigable(value)) {
+                return null;
+            }
+            value = ValueNavigator.child(value, key);
+        }
+        return value;
+    }
+
+    private static ResponseEntity<Object> await(Future<ResponseEntity<Object>> page) {
+        try {
+            return page.get();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException("Failed to fetch next page: " + e.getCause().getMessage(), e.getCause());
+        } catch (InterruptedException e) {
+            page.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for the next page", e);
+        }
+    }
+
+    private static void cancel(Future<?> page) {
+        if (page != null) {
+            page.cancel(true);
+        }
+    }
+}
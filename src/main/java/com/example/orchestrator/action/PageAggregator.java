@@ -0,0 +1,124 @@
+package com.example.orchestrator.action;
+
+import com.example.orchestrator.model.Pagination;
+import com.example.orchestrator.util.ValueNavigator;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// Folds the items of each page into a bounded result, so pages can be released as soon as they are aggregated
+abstract class PageAggregator {
+
+    protected long count;
+
+    // Returns false once the aggregate is complete and no further pages are needed
+    abstract boolean accept(Object item);
+
+    abstract Map<String, Object> result(int pages);
+
+    static PageAggregator create(Pagination pagination, int maxBufferedItems) {
+        String aggregate = pagination.aggregate() == null ? "collect" : pagination.aggregate().toLowerCase();
+        switch (aggregate) {
+            case "collect":
+                int limit = pagination.limit() != null ? Math.min(pagination.limit(), maxBufferedItems) : maxBufferedItems;
+                return new Collect(limit, false);
+            case "first":
+                return new Collect(pagination.limit() != null ? Math.min(pagination.limit(), maxBufferedItems) : 1, true);
+            case "count":
+                return new Count();
+            case "sum":
+                if (pagination.field() == null || pagination.field().isBlank()) {
+                    throw new IllegalArgumentException("The 'sum' pagination aggregate requires a 'field'.");
+                }
+                return new Sum(pagination.field());
+            default:
+                throw new IllegalArgumentException("Unsupported pagination aggregate: " + pagination.aggregate() + ". Supported aggregates are 'collect', 'first', 'count' and 'sum'.");
+        }
+    }
+
+    protected Map<String, Object> summary(int pages) {
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("count", count);
+        result.put("pages", pages);
+        return result;
+    }
+
+    private static final class Collect extends PageAggregator {
+        private final int limit;
+        private final boolean stopAtLimit;
+        private final List<Object> items = new ArrayList<>();
+
+        Collect(int limit, boolean stopAtLimit) {
+            this.limit = limit;
+            this.stopAtLimit = stopAtLimit;
+        }
+
+        @Override
+        boolean accept(Object item) {
+            if (items.size() >= limit) {
+                throw new IllegalStateException("Pagination collected more than " + limit + " items. Use a 'first', 'count' or 'sum' aggregate or raise the limit.");
+            }
+            items.add(item);
+            count++;
+            return !stopAtLimit || items.size() < limit;
+        }
+
+        @Override
+        Map<String, Object> result(int pages) {
+            Map<String, Object> result = summary(pages);
+            result.put("items", items);
+            return result;
+        }
+    }
+
+    private static final class Count extends PageAggregator {
+        @Override
+        boolean accept(Object item) {
+            count++;
+            return true;
+        }
+
+        @Override
+        Map<String, Object> result(int pages) {
+            return summary(pages);
+        }
+    }
+
+    private static final class Sum extends PageAggregator {
+        private final String field;
+        private final String[] path;
+        private BigDecimal sum = BigDecimal.ZERO;
+
+        Sum(String field) {
+            this.field = field;
+            this.path = field.split("\\.");
+        }
+
+        @Override
+        boolean accept(Object item) {
+            Object value = item;
+            for (String key : path) {
+                value = ValueNavigator.child(value, key);
+            }
+            if (value != null) {
+                try {
+                    sum = sum.add(new BigDecimal(value.toString()));
+                } catch (NumberFormatException e) {
+                    throw new IllegalArgumentException("Cannot sum field '" + field + "' of item " + count + ": '" + value + "' is not a number.", e);
+                }
+            }
+            count++;
+            return true;
+        }
+
+        @Override
+        Map<String, Object> result(int pages) {
+            Map<String, Object> result = summary(pages);
+            result.put("sum", sum);
+            return result;
+        }
+    }
+}
@@ -0,0 +1,250 @@
+package com.example.orchestrator.action;
+
+import com.example.orchestrator.memory.SizeEstimator;
+import com.example.orchestrator.metrics.StatsSource;
+import com.example.orchestrator.model.GenericEntity;
+import com.example.orchestrator.util.LazyDecodedMap;
+import com.example.orchestrator.util.LazyJsonArray;
+import com.example.orchestrator.util.LazyJsonObject;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * Read-through cache of db select results, one LRU map per logical table keyed by the resolved query. A table is
+ * cached when orchestrator.db.cache.tables.&lt;table&gt;.ttl-seconds (or the "default" entry) is positive, holding at
+ * most max-entries results for that long. Writes through db steps drop the table's entries on this node and notify
+ * the {@link SelectCacheInvalidationListener}s so other nodes can do the same through {@link #evict}.
+ * <p>
+ * Steps may modify the rows they select, so the cache keeps its own copy of every result and hands each caller a
+ * fresh copy. Lazily decoded data is read-only and shared as it is, so caching a row does not decode it.
+ */
+@Component
+public class SelectCache implements StatsSource {
+
+    private static final String PREFIX = "orchestrator.db.cache.tables.";
+
+    private final Environment environment;
+    private final List<SelectCacheInvalidationListener> invalidationListeners;
+    private final LongSupplier nanoClock;
+    private final Map<String, TableCache> tables = new ConcurrentHashMap<>();
+
+    @Autowired
+    public SelectCache(Environment environment, List<SelectCacheInvalidationListener> invalidationListeners) {
+        this(environment, invalidationListeners, System::nanoTime);
+    }
+
+    SelectCache(Environment environment, List<SelectCacheInvalidationListener> invalidationListeners, LongSupplier nanoClock) {
+        this.environment = environment;
+        this.invalidationListeners = invalidationListeners;
+        this.nanoClock = nanoClock;
+    }
+
+    public List<GenericEntity> get(String tableName, Object query, Supplier<List<GenericEntity>> loader) {
+        TableCache cache = tables.computeIfAbsent(tableName, this::create);
+        if (!cache.isEnabled() || writtenInTransaction().contains(tableName)) {
+            return loader.get();
+        }
+        return cache.get(query, loader);
+    }
+
+    // Called after a db step wrote to the table
+    public void invalidate(String tableName) {
+        publish(tableName);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            trackInTransaction(tableName);
+        }
+    }
+
+    private void publish(String tableName) {
+        evict(tableName);
+        invalidationListeners.forEach(listener -> listener.tableInvalidated(tableName));
+    }
+
+    // Until the transaction ends its writes are invisible to other readers, so the tables it wrote are neither served
+    // from nor stored in the cache, and are invalidated again once the writes are committed or rolled back
+    private void trackInTransaction(String tableName) {
+        Set<String> written = writtenInTransaction();
+        if (written.isEmpty()) {
+            Set<String> tablesWritten = new HashSet<>();
+            TransactionSynchronizationManager.bindResource(this, tablesWritten);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(SelectCache.this);
+                    tablesWritten.forEach(SelectCache.this::publish);
+                }
+            });
+            written = tablesWritten;
+        }
+        written.add(tableName);
+    }
+
+    @SuppressWarnings("unchecked")
+    private Set<String> writtenInTransaction() {
+        Set<String> written = (Set<String>) TransactionSynchronizationManager.getResource(this);
+        return written != null ? written : Set.of();
+    }
+
+    // Drops the table's entries on this node only, e.g. when another node reports a write
+    public void evict(String tableName) {
+        TableCache cache = tables.get(tableName);
+        if (cache != null) {
+            cache.clear();
+        }
+    }
+
+    private TableCache create(String tableName) {
+        long ttlSeconds = property(tableName, "ttl-seconds", 0);
+        return new TableCache((int) property(tableName, "max-entries", 100), TimeUnit.SECONDS.toNanos(Math.max(0, ttlSeconds)));
+    }
+
+    private long property(String tableName, String name, long defaultValue) {
+        Long tableDefault = environment.getProperty(PREFIX + "default." + name, Long.class, defaultValue);
+        return environment.getProperty(PREFIX + tableName + "." + name, Long.class, tableDefault);
+    }
+
+    @Override
+    public String getName() {
+        return "dbSelectCache";
+    }
+
+    @Override
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new TreeMap<>();
+        tables.forEach((tableName, cache) -> {
+            if (cache.isEnabled()) {
+                stats.put(tableName, cache.snapshot());
+            }
+        });
+        return stats;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static List<GenericEntity> copy(List<GenericEntity> rows) {
+        List<GenericEntity> copies = new ArrayList<>(rows.size());
+        for (GenericEntity row : rows) {
+            GenericEntity copy = new GenericEntity(row.getTableName(), (Map<String, Object>) copyValue(row.getData()));
+            copy.setId(row.getId());
+            copies.add(copy);
+        }
+        return copies;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Object copyValue(Object value) {
+        if (value instanceof LazyJsonObject || value instanceof LazyJsonArray || value instanceof LazyDecodedMap) {
+            return value;
+        }
+        if (value instanceof Map<?, ?> map) {
+            return copyMap((Map<String, Object>) map);
+        }
+        if (value instanceof List<?> list) {
+            List<Object> copy = new ArrayList<>(list.size());
+            list.forEach(element -> copy.add(copyValue(element)));
+            return copy;
+        }
+        return value;
+    }
+
+    private static Map<String, Object> copyMap(Map<String, Object> map) {
+        Map<String, Object> copy = new LinkedHashMap<>(map.size());
+        map.forEach((key, value) -> copy.put(key, copyValue(value)));
+        return copy;
+    }
+
+    private final class TableCache {
+        private final int maxEntries;
+        private final long ttlNanos;
+        private final LinkedHashMap<Object, Entry> entries;
+        // Bumped by every invalidation, so a load that raced with a write is not stored
+        private long generation;
+        private long estimatedBytes;
+        private long hits;
+        private long misses;
+        private long evictions;
+        private long invalidations;
+
+        TableCache(int maxEntries, long ttlNanos) {
+            this.maxEntries = Math.max(1, maxEntries);
+            this.ttlNanos = ttlNanos;
+            this.entries = new LinkedHashMap<>(16, 0.75f, true);
+        }
+
+        boolean isEnabled() {
+            return ttlNanos > 0;
+        }
+
+        List<GenericEntity> get(Object query, Supplier<List<GenericEntity>> loader) {
+            long loadGeneration;
+            synchronized (this) {
+                Entry entry = entries.get(query);
+                if (entry != null && nanoClock.getAsLong() - entry.loadedAt() < ttlNanos) {
+                    hits++;
+                    return copy(entry.rows());
+                }
+                if (entry != null) {
+                    remove(query);
+                }
+                misses++;
+                loadGeneration = generation;
+            }
+            List<GenericEntity> loaded = loader.get();
+            List<GenericEntity> rows = copy(loaded);
+            synchronized (this) {
+                if (loadGeneration == generation) {
+                    long bytes = SizeEstimator.estimate(rows);
+                    Entry previous = entries.put(query, new Entry(rows, nanoClock.getAsLong(), bytes));
+                    estimatedBytes += bytes - (previous != null ? previous.bytes() : 0);
+                    while (entries.size() > maxEntries) {
+                        remove(entries.keySet().iterator().next());
+                        evictions++;
+                    }
+                }
+            }
+            return loaded;
+        }
+
+        private void remove(Object query) {
+            Entry removed = entries.remove(query);
+            if (removed != null) {
+                estimatedBytes -= removed.bytes();
+            }
+        }
+
+        synchronized void clear() {
+            generation++;
+            invalidations++;
+            entries.clear();
+            estimatedBytes = 0;
+        }
+
+        synchronized Map<String, Object> snapshot() {
+            Map<String, Object> snapshot = new LinkedHashMap<>();
+            snapshot.put("entries", entries.size());
+            snapshot.put("estimatedBytes", estimatedBytes);
+            snapshot.put("hits", hits);
+            snapshot.put("misses", misses);
+            snapshot.put("hitRate", hits + misses == 0 ? 0.0 : (double) hits / (hits + misses));
+            snapshot.put("evictions", evictions);
+            snapshot.put("invalidations", invalidations);
+            return snapshot;
+        }
+    }
+
+    private record Entry(List<GenericEntity> rows, long loadedAt, long bytes) {}
+}
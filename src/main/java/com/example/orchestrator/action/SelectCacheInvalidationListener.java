@@ -0,0 +1,7 @@
+package com.example.orchestrator.action;
+
+// Notified when a db step writes to a logical table; multi-node setups publish this to the other nodes,
+// which call SelectCache.evict for the table
+public interface SelectCacheInvalidationListener {
+    void tableInvalidated(String tableName);
+}
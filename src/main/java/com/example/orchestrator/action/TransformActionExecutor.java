@@ -0,0 +1,33 @@
+package com.example.orchestrator.action;
+
+import com.example.orchestrator.model.Step;
+import com.example.orchestrator.transform.TransformCompiler;
+import com.example.orchestrator.util.ExecutionContext;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+
+@Slf4j
+@Component
+public class TransformActionExecutor implements ActionExecutor {
+
+    private final TransformCompiler transformCompiler;
+
+    public TransformActionExecutor(TransformCompiler transformCompiler) {
+        this.transformCompiler = transformCompiler;
+    }
+
+    @Override
+    public String getType() {
+        return "transform";
+    }
+
+    @Override
+    public Object execute(Step step, ExecutionContext context, Map<String, Object> requestParams) {
+        List<Object> result = transformCompiler.compile(step.data()).apply(context.getMap());
+        log.info("Transform step '{}' produced {} elements", step.id(), result.size());
+        return result;
+    }
+}
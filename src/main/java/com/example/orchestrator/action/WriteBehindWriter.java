@@ -0,0 +1,266 @@
+package com.example.orchestrator.action;
+
+import com.example.orchestrator.metrics.StatsSource;
+import com.example.orchestrator.repository.GenericEntityStore;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Background writer for fire-and-forget db inserts ("writeBehind": true). Rows are queued in a bounded in-memory
+ * queue and a single thread commits them in batches, one transaction per table and batch, waiting up to
+ * linger-ms for more rows so concurrent inserts share a commit.
+ * <p>
+ * With durability "buffered" the step returns as soon as the row is queued; rows still in the queue are lost if the
+ * process dies and failed batches are only logged. With durability "commit" the step waits for the batch holding its
+ * row to commit (at most commit-timeout-ms), so it still pays commit latency but shares the commit with the other rows
+ * of the batch. When the queue stays full for enqueue-timeout-ms, or the writer is not running, the caller writes the
+ * row inline.
+ * <p>
+ * The writer is a lifecycle bean in a low phase: it starts before and stops after the web server, and like every
+ * lifecycle bean it stops before the DataSource and EntityManagerFactory are destroyed. On stop the queue is drained
+ * for at most shutdown-timeout-ms; rows still queued after that are failed.
+ */
+@Slf4j
+@Component
+public class WriteBehindWriter implements StatsSource, SmartLifecycle {
+
+    private final SelectCache selectCache;
+    private final BlockingQueue<PendingRow> queue;
+    private final int batchSize;
+    private final long lingerNanos;
+    private final String durability;
+    private final long enqueueTimeoutNanos;
+    private final long commitTimeoutMillis;
+    private final long shutdownTimeoutMillis;
+    // Guards running: enqueue checks it and offers under the read lock, stop flips it under the write lock
+    private final ReadWriteLock state = new ReentrantReadWriteLock();
+    private Thread writer;
+    private volatile boolean running;
+    private volatile boolean abandoned;
+    private final LongAdder enqueued = new LongAdder();
+    private final LongAdder written = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final LongAdder batches = new LongAdder();
+    private final LongAdder inlineWrites = new LongAdder();
+
+    public WriteBehindWriter(SelectCache selectCache,
+                             @Value("${orchestrator.db.write-behind.queue-capacity:10000}") int queueCapacity,
+                             @Value("${orchestrator.db.write-behind.batch-size:${orchestrator.db.batch-size:500}}") int batchSize,
+                             @Value("${orchestrator.db.write-behind.linger-ms:20}") long lingerMillis,
+                             @Value("${orchestrator.db.write-behind.durability:buffered}") String durability,
+                             @Value("${orchestrator.db.write-behind.enqueue-timeout-ms:1000}") long enqueueTimeoutMillis,
+                             @Value("${orchestrator.db.write-behind.commit-timeout-ms:30000}") long commitTimeoutMillis,
+                             @Value("${orchestrator.db.write-behind.shutdown-timeout-ms:30000}") long shutdownTimeoutMillis) {
+        if (!durability.equals("buffered") && !durability.equals("commit")) {
+            throw new IllegalArgumentException("Unsupported orchestrator.db.write-behind.durability: " + durability + ". Use buffered or commit.");
+        }
+        this.selectCache = selectCache;
+        this.queue = new ArrayBlockingQueue<>(Math.max(1, queueCapacity));
+        this.batchSize = Math.max(1, batchSize);
+        this.lingerNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(0, lingerMillis));
+        this.durability = durability;
+        this.enqueueTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(0, enqueueTimeoutMillis));
+        this.commitTimeoutMillis = commitTimeoutMillis;
+        this.shutdownTimeoutMillis = shutdownTimeoutMillis;
+    }
+
+    @Override
+    public void start() {
+        state.writeLock().lock();
+        try {
+            if (running) {
+                return;
+            }
+            abandoned = false;
+            running = true;
+            writer = new Thread(this::run, "db-write-behind");
+            writer.setDaemon(true);
+            writer.start();
+        } finally {
+            state.writeLock().unlock();
+        }
+    }
+
+    // Waits for the writer to drain the queue; later write-behind inserts are written inline
+    @Override
+    public void stop() {
+        state.writeLock().lock();
+        try {
+            if (!running) {
+                return;
+            }
+            running = false;
+        } finally {
+            state.writeLock().unlock();
+        }
+        try {
+            writer.join(shutdownTimeoutMillis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (writer.isAlive()) {
+            log.warn("Write-behind writer did not drain within {} ms, failing {} queued rows", shutdownTimeoutMillis, queue.size());
+            abandoned = true;
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    @Override
+    public int getPhase() {
+        return SmartLifecycle.DEFAULT_PHASE - 4096;
+    }
+
+    // False when the row was not taken and the caller has to write it itself
+    public boolean enqueue(GenericEntityStore store, String tableName, Map<String, Object> data) {
+        PendingRow row = new PendingRow(store, tableName, data, durability.equals("commit") ? new CompletableFuture<>() : null);
+        if (!offer(row)) {
+            inlineWrites.increment();
+            return false;
+        }
+        enqueued.increment();
+        if (row.committed() != null) {
+            try {
+                row.committed().get(commitTimeoutMillis, TimeUnit.MILLISECONDS);
+            } catch (ExecutionException e) {
+                throw new RuntimeException("Write-behind insert into table '" + tableName + "' failed: " + e.getCause().getMessage(), e.getCause());
+            } catch (TimeoutException e) {
+                throw new RuntimeException("Write-behind insert into table '" + tableName + "' did not commit within " + commitTimeoutMillis + " ms", e);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new RuntimeException("Interrupted while waiting for the write-behind insert into table '" + tableName + "'", e);
+            }
+        }
+        return true;
+    }
+
+    private boolean offer(PendingRow row) {
+        state.readLock().lock();
+        try {
+            if (!running) {
+                return false;
+            }
+            if (!queue.offer(row, enqueueTimeoutNanos, TimeUnit.NANOSECONDS)) {
+                log.warn("Write-behind queue is full, writing row for table '{}' inline", row.tableName());
+                return false;
+            }
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        } finally {
+            state.readLock().unlock();
+        }
+    }
+
+    private void run() {
+        List<PendingRow> batch = new ArrayList<>(batchSize);
+        while ((running || !queue.isEmpty()) && !abandoned) {
+            try {
+                PendingRow first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                long deadline = System.nanoTime() + lingerNanos;
+                while (true) {
+                    queue.drainTo(batch, batchSize - batch.size());
+                    long remaining = deadline - System.nanoTime();
+                    if (batch.size() >= batchSize || !running || remaining <= 0) {
+                        break;
+                    }
+                    PendingRow next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                abandoned = true;
+            }
+            flush(batch);
+            batch.clear();
+        }
+        queue.drainTo(batch);
+        if (!batch.isEmpty()) {
+            log.error("Write-behind writer stopped with {} unwritten rows", batch.size());
+            failed.add(batch.size());
+            RuntimeException error = new IllegalStateException("Write-behind writer stopped before the row was written");
+            batch.forEach(row -> complete(row, error));
+        }
+    }
+
+    private void flush(List<PendingRow> batch) {
+        Map<Target, List<PendingRow>> byTable = new LinkedHashMap<>();
+        for (PendingRow row : batch) {
+            byTable.computeIfAbsent(new Target(row.store(), row.tableName()), target -> new ArrayList<>()).add(row);
+        }
+        byTable.forEach((target, rows) -> {
+            try {
+                target.store().insertAll(target.tableName(), rows.stream().map(PendingRow::data).toList(), batchSize);
+                selectCache.invalidate(target.tableName());
+                written.add(rows.size());
+                batches.increment();
+                rows.forEach(row -> complete(row, null));
+            } catch (RuntimeException e) {
+                log.error("Write-behind batch of {} rows for table '{}' failed: {}", rows.size(), target.tableName(), e.getMessage(), e);
+                failed.add(rows.size());
+                rows.forEach(row -> complete(row, e));
+            }
+        });
+    }
+
+    private static void complete(PendingRow row, RuntimeException error) {
+        if (row.committed() == null) {
+            return;
+        }
+        if (error == null) {
+            row.committed().complete(null);
+        } else {
+            row.committed().completeExceptionally(error);
+        }
+    }
+
+    @Override
+    public String getName() {
+        return "dbWriteBehind";
+    }
+
+    @Override
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("durability", durability);
+        stats.put("queued", queue.size());
+        stats.put("capacity", queue.size() + queue.remainingCapacity());
+        stats.put("enqueued", enqueued.sum());
+        stats.put("written", written.sum());
+        stats.put("failed", failed.sum());
+        stats.put("batches", batches.sum());
+        stats.put("inlineWrites", inlineWrites.sum());
+        return stats;
+    }
+
+    private record PendingRow(GenericEntityStore store, String tableName, Map<String, Object> data, CompletableFuture<Void> committed) {}
+
+    private record Target(GenericEntityStore store, String tableName) {}
+}
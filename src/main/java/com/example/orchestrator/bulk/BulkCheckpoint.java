@@ -0,0 +1,33 @@
+package com.example.orchestrator.bulk;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+
+public record BulkCheckpoint(
+        long inputOffset,    // Input offset up to which every record has a result in the output file
+        long outputPosition, // Length of the output file at that point
+        long processed
+) {
+
+    public static final BulkCheckpoint START = new BulkCheckpoint(0, 0, 0);
+
+    public static BulkCheckpoint read(Path file) throws IOException {
+        if (!Files.exists(file)) {
+            return START;
+        }
+        String[] parts = Files.readString(file, StandardCharsets.US_ASCII).trim().split("\\s+");
+        if (parts.length != 3) {
+            throw new IOException("Malformed bulk checkpoint file: " + file);
+        }
+        return new BulkCheckpoint(Long.parseLong(parts[0]), Long.parseLong(parts[1]), Long.parseLong(parts[2]));
+    }
+
+    public void write(Path file) throws IOException {
+        Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+        Files.writeString(temp, inputOffset + " " + outputPosition + " " + processed, StandardCharsets.US_ASCII);
+        Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+}
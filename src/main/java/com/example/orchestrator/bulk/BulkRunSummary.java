@@ -0,0 +1,12 @@
+package com.example.orchestrator.bulk;
+
+public record BulkRunSummary(
+        long processed,
+        long succeeded,
+        long failed,
+        long elapsedMillis
+) {
+    public double recordsPerSecond() {
+        return elapsedMillis == 0 ? processed : processed * 1000.0 / elapsedMillis;
+    }
+}
@@ -0,0 +1,235 @@
+package com.example.orchestrator.bulk;
+
+import com.example.orchestrator.service.OrchestratorService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Offline mode that runs every record of an NDJSON input file through the orchestration engine
+ * and writes one NDJSON result line per record, in input order. Enabled by setting
+ * {@code orchestrator.bulk.input}; usually combined with {@code spring.main.web-application-type=none}.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "orchestrator.bulk.input")
+public class BulkRunner implements ApplicationRunner {
+
+    private final OrchestratorService orchestratorService;
+    private final ObjectMapper objectMapper;
+    private final ConfigurableApplicationContext applicationContext;
+    private final String inputFile;
+    private final String outputFile;
+    private final String defaultProduct;
+    private final int workers;
+    private final boolean resume;
+    private final int checkpointInterval;
+    private final long reportIntervalMillis;
+    private final boolean exitOnCompletion;
+
+    public BulkRunner(OrchestratorService orchestratorService,
+                      ObjectMapper objectMapper,
+                      ConfigurableApplicationContext applicationContext,
+                      @Value("${orchestrator.bulk.input}") String inputFile,
+                      @Value("${orchestrator.bulk.output:${orchestrator.bulk.input}.out}") String outputFile,
+                      @Value("${orchestrator.bulk.product:}") String defaultProduct,
+                      @Value("${orchestrator.bulk.workers:8}") int workers,
+                      @Value("${orchestrator.bulk.resume:true}") boolean resume,
+                      @Value("${orchestrator.bulk.checkpoint-interval:1000}") int checkpointInterval,
+                      @Value("${orchestrator.bulk.report-interval-seconds:10}") long reportIntervalSeconds,
+                      @Value("${orchestrator.bulk.exit-on-completion:true}") boolean exitOnCompletion) {
+        this.orchestratorService = orchestratorService;
+        this.objectMapper = objectMapper;
+        this.applicationContext = applicationContext;
+        this.inputFile = inputFile;
+        this.outputFile = outputFile;
+        this.defaultProduct = defaultProduct;
+        this.workers = Math.max(1, workers);
+        this.resume = resume;
+        this.checkpointInterval = Math.max(1, checkpointInterval);
+        this.reportIntervalMillis = TimeUnit.SECONDS.toMillis(reportIntervalSeconds);
+        this.exitOnCompletion = exitOnCompletion;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) throws Exception {
+        process(Path.of(inputFile), Path.of(outputFile));
+        if (exitOnCompletion) {
+            System.exit(SpringApplication.exit(applicationContext, () -> 0));
+        }
+    }
+
+    public BulkRunSummary process(Path input, Path output) throws IOException, InterruptedException {
+        Path checkpointFile = output.resolveSibling(output.getFileName() + ".checkpoint");
+        BulkCheckpoint checkpoint = resume ? BulkCheckpoint.read(checkpointFile) : BulkCheckpoint.START;
+        if (checkpoint.inputOffset() > 0) {
+            log.info("Resuming bulk run from input offset {} ({} records already processed)", checkpoint.inputOffset(), checkpoint.processed());
+        }
+        log.info("Starting bulk run: input={}, output={}, workers={}", input, output, workers);
+
+        ExecutorService pool = Executors.newFixedThreadPool(workers, workerThreadFactory());
+        Deque<PendingRecord> window = new ArrayDeque<>();
+        int windowSize = workers * 4;
+        Progress progress = new Progress(checkpoint.processed());
+
+        try (NdjsonReader reader = new NdjsonReader(input, checkpoint.inputOffset());
+             NdjsonWriter writer = new NdjsonWriter(output, checkpoint.outputPosition())) {
+
+            NdjsonRecord record;
+            while ((record = reader.next()) != null) {
+                NdjsonRecord current = record;
+                window.addLast(new PendingRecord(current, pool.submit(() -> processRecord(current))));
+                if (window.size() >= windowSize) {
+                    complete(window.removeFirst(), writer, checkpointFile, progress, reader.size());
+                }
+            }
+            while (!window.isEmpty()) {
+                complete(window.removeFirst(), writer, checkpointFile, progress, reader.size());
+            }
+            writer.flush();
+            progress.checkpoint(writer).write(checkpointFile);
+        } finally {
+            pool.shutdownNow();
+        }
+
+        BulkRunSummary summary = progress.summary();
+        log.info("Bulk run finished: {} records in this run ({} succeeded, {} failed) in {} ms, {} records/s",
+                summary.processed(), summary.succeeded(), summary.failed(), summary.elapsedMillis(),
+                String.format("%.1f", summary.recordsPerSecond()));
+        return summary;
+    }
+
+    private void complete(PendingRecord pending, NdjsonWriter writer, Path checkpointFile, Progress progress, long inputSize)
+            throws IOException, InterruptedException {
+        RecordResult result;
+        try {
+            result = pending.result().get();
+        } catch (ExecutionException e) {
+            result = errorResult(pending.record().offset(), e.getCause());
+        }
+        writer.writeLine(result.line());
+        progress.record(pending.record().endOffset(), result.success());
+
+        if (progress.sinceCheckpoint >= checkpointInterval) {
+            writer.flush();
+            progress.checkpoint(writer).write(checkpointFile);
+        }
+        progress.report(reportIntervalMillis, inputSize);
+    }
+
+    private RecordResult processRecord(NdjsonRecord record) {
+        try {
+            Map<String, Object> requestParams = objectMapper.readValue(record.bytes(), 0, record.length(), Map.class);
+            Object product = requestParams.getOrDefault("product", defaultProduct);
+            if (product == null || product.toString().isEmpty()) {
+                throw new IllegalArgumentException("Record has no 'product' and no orchestrator.bulk.product default is configured.");
+            }
+
+            Map<String, Object> result = orchestratorService.executeOrchestration(product.toString(), requestParams);
+
+            Map<String, Object> line = new LinkedHashMap<>();
+            line.put("offset", record.offset());
+            line.put("product", product);
+            line.put("result", result);
+            return new RecordResult(objectMapper.writeValueAsBytes(line), "success".equals(result.get("status")));
+        } catch (Exception e) {
+            log.warn("Bulk record at offset {} failed: {}", record.offset(), e.getMessage());
+            return errorResult(record.offset(), e);
+        }
+    }
+
+    private RecordResult errorResult(long offset, Throwable error) {
+        Map<String, Object> line = new LinkedHashMap<>();
+        line.put("offset", offset);
+        line.put("status", "error");
+        line.put("error", String.valueOf(error.getMessage()));
+        try {
+            return new RecordResult(objectMapper.writeValueAsBytes(line), false);
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to serialize bulk error result", e);
+        }
+    }
+
+    private static ThreadFactory workerThreadFactory() {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, "bulk-worker-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    private record PendingRecord(NdjsonRecord record, Future<RecordResult> result) {}
+
+    private record RecordResult(byte[] line, boolean success) {}
+
+    private static final class Progress {
+        private final long startedAt = System.currentTimeMillis();
+        private final long previouslyProcessed;
+        private long processed;
+        private long succeeded;
+        private long failed;
+        private long inputOffset;
+        private int sinceCheckpoint;
+        private long lastReportAt = startedAt;
+        private long processedAtLastReport;
+
+        Progress(long previouslyProcessed) {
+            this.previouslyProcessed = previouslyProcessed;
+        }
+
+        void record(long endOffset, boolean success) {
+            processed++;
+            sinceCheckpoint++;
+            inputOffset = endOffset;
+            if (success) {
+                succeeded++;
+            } else {
+                failed++;
+            }
+        }
+
+        BulkCheckpoint checkpoint(NdjsonWriter writer) {
+            sinceCheckpoint = 0;
+            return new BulkCheckpoint(inputOffset, writer.position(), previouslyProcessed + processed);
+        }
+
+        void report(long intervalMillis, long inputSize) {
+            long now = System.currentTimeMillis();
+            if (now - lastReportAt < intervalMillis) {
+                return;
+            }
+            double recent = (processed - processedAtLastReport) * 1000.0 / Math.max(1, now - lastReportAt);
+            double overall = processed * 1000.0 / Math.max(1, now - startedAt);
+            log.info("Bulk run progress: {} records ({} failed), {} records/s (overall {} records/s), {}% of input",
+                    processed, failed, String.format("%.1f", recent), String.format("%.1f", overall),
+                    inputSize == 0 ? 100 : inputOffset * 100 / inputSize);
+            lastReportAt = now;
+            processedAtLastReport = processed;
+        }
+
+        BulkRunSummary summary() {
+            return new BulkRunSummary(processed, succeeded, failed, System.currentTimeMillis() - startedAt);
+        }
+    }
+}
@@ -0,0 +1,125 @@
+package com.example.orchestrator.bulk;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Reads newline-delimited JSON records from a memory-mapped file, one record at a time.
+ * The file is mapped in windows so inputs larger than 2 GB can be processed.
+ */
+public class NdjsonReader implements Closeable {
+
+    static final long DEFAULT_WINDOW_SIZE = 64L * 1024 * 1024;
+
+    private final FileChannel channel;
+    private final long fileSize;
+    private final long windowSize;
+
+    private MappedByteBuffer window;
+    private long windowStart;
+    private long position;
+
+    public NdjsonReader(Path file, long startOffset) throws IOException {
+        this(file, startOffset, DEFAULT_WINDOW_SIZE);
+    }
+
+    NdjsonReader(Path file, long startOffset, long windowSize) throws IOException {
+        this.channel = FileChannel.open(file, StandardOpenOption.READ);
+        this.fileSize = channel.size();
+        this.windowSize = windowSize;
+        this.position = Math.min(startOffset, fileSize);
+    }
+
+    public long size() {
+        return fileSize;
+    }
+
+    public long position() {
+        return position;
+    }
+
+    /**
+     * Returns the next non-blank record, or {@code null} once the end of the file is reached.
+     */
+    public NdjsonRecord next() throws IOException {
+        while (position < fileSize) {
+            long start = position;
+            long end = findLineEnd(start);
+            position = end < fileSize ? end + 1 : end;
+
+            byte[] line = read(start, end);
+            int length = trimmedLength(line);
+            if (length > 0) {
+                return new NdjsonRecord(start, position, line, length);
+            }
+        }
+        return null;
+    }
+
+    private long findLineEnd(long from) throws IOException {
+        long cursor = from;
+        while (cursor < fileSize) {
+            ensureMapped(cursor);
+            int index = (int) (cursor - windowStart);
+            int limit = window.limit();
+            while (index < limit) {
+                if (window.get(index) == '\n') {
+                    return windowStart + index;
+                }
+                index++;
+            }
+            cursor = windowStart + limit;
+        }
+        return fileSize;
+    }
+
+    private byte[] read(long start, long end) throws IOException {
+        long length = end - start;
+        if (length > Integer.MAX_VALUE - 8) {
+            throw new IOException("Record at offset " + start + " is too large: " + length + " bytes");
+        }
+        byte[] bytes = new byte[(int) length];
+        int copied = 0;
+        while (copied < bytes.length) {
+            long cursor = start + copied;
+            ensureMapped(cursor);
+            int index = (int) (cursor - windowStart);
+            int chunk = Math.min(bytes.length - copied, window.limit() - index);
+            window.get(index, bytes, copied, chunk);
+            copied += chunk;
+        }
+        return bytes;
+    }
+
+    private void ensureMapped(long offset) throws IOException {
+        if (window != null && offset >= windowStart && offset < windowStart + window.limit()) {
+            return;
+        }
+        long size = Math.min(windowSize, fileSize - offset);
+        window = channel.map(FileChannel.MapMode.READ_ONLY, offset, size);
+        windowStart = offset;
+    }
+
+    private static int trimmedLength(byte[] line) {
+        int length = line.length;
+        while (length > 0 && (line[length - 1] == '\r' || line[length - 1] == ' ' || line[length - 1] == '\t')) {
+            length--;
+        }
+        for (int i = 0; i < length; i++) {
+            if (line[i] != ' ' && line[i] != '\t') {
+                return length;
+            }
+        }
+        return 0;
+    }
+
+    @Override
+    public void close() throws IOException {
+        window = null;
+        channel.close();
+    }
+}
@@ -0,0 +1,8 @@
+package com.example.orchestrator.bulk;
+
+public record NdjsonRecord(
+        long offset,    // Byte offset of the first byte of the record
+        long endOffset, // Byte offset just past the record's line terminator
+        byte[] bytes,
+        int length
+) {}
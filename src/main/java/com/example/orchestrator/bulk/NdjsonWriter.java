@@ -0,0 +1,76 @@
+package com.example.orchestrator.bulk;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Appends newline-delimited records to a file through a direct buffer over a {@link FileChannel}.
+ */
+public class NdjsonWriter implements Closeable {
+
+    private static final int BUFFER_SIZE = 256 * 1024;
+    private static final byte[] NEWLINE = {'\n'};
+
+    private final FileChannel channel;
+    private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+    private long position;
+
+    public NdjsonWriter(Path file, long startPosition) throws IOException {
+        this.channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+        // Anything past the last checkpoint belongs to records that will be processed again
+        channel.truncate(startPosition);
+        channel.position(startPosition);
+        this.position = startPosition;
+    }
+
+    public void writeLine(byte[] line) throws IOException {
+        write(line);
+        write(NEWLINE);
+    }
+
+    private void write(byte[] bytes) throws IOException {
+        int offset = 0;
+        while (offset < bytes.length) {
+            if (!buffer.hasRemaining()) {
+                drain();
+            }
+            int chunk = Math.min(buffer.remaining(), bytes.length - offset);
+            buffer.put(bytes, offset, chunk);
+            offset += chunk;
+        }
+        position += bytes.length;
+    }
+
+    /**
+     * Writes buffered bytes to the channel and forces them to the storage device.
+     */
+    public void flush() throws IOException {
+        drain();
+        channel.force(false);
+    }
+
+    private void drain() throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    public long position() {
+        return position;
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            flush();
+        } finally {
+            channel.close();
+        }
+    }
+}
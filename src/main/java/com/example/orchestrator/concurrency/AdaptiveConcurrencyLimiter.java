@@ -0,0 +1,77 @@
+package com.example.orchestrator.concurrency;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+public class AdaptiveConcurrencyLimiter {
+
+    private final LimitAlgorithm algorithm;
+    private final int minLimit;
+    private final int maxLimit;
+
+    private double limit;
+    private int inFlight;
+    private long admitted;
+    private long rejected;
+    private long dropped;
+    private double averageRttNanos;
+
+    public AdaptiveConcurrencyLimiter(LimitAlgorithm algorithm, int initialLimit, int minLimit, int maxLimit) {
+        this.algorithm = algorithm;
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.limit = initialLimit;
+    }
+
+    public synchronized boolean tryAcquire() {
+        if (inFlight >= (int) limit) {
+            rejected++;
+            return false;
+        }
+        inFlight++;
+        admitted++;
+        return true;
+    }
+
+    // Completion whose latency says something about downstream health
+    public synchronized void onSuccess(long rttNanos) {
+        limit = Math.max(minLimit, Math.min(maxLimit, algorithm.update(limit, rttNanos, inFlight)));
+        averageRttNanos = averageRttNanos == 0 ? rttNanos : averageRttNanos * 0.9 + rttNanos * 0.1;
+        inFlight--;
+    }
+
+    // Completion that failed because downstream timed out or was unavailable
+    public synchronized void onDropped() {
+        limit = Math.max(minLimit, Math.min(maxLimit, algorithm.drop(limit)));
+        dropped++;
+        inFlight--;
+    }
+
+    // Completion that should not influence the limit, e.g. a validation error that never reached downstream
+    public synchronized void onIgnore() {
+        inFlight--;
+    }
+
+    public synchronized int getLimit() {
+        return (int) limit;
+    }
+
+    public synchronized int getInFlight() {
+        return inFlight;
+    }
+
+    public synchronized long getAverageRttMillis() {
+        return (long) (averageRttNanos / 1_000_000);
+    }
+
+    public synchronized Map<String, Object> snapshot() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("limit", (int) limit);
+        stats.put("inFlight", inFlight);
+        stats.put("admitted", admitted);
+        stats.put("rejected", rejected);
+        stats.put("dropped", dropped);
+        stats.put("averageRttMillis", (long) (averageRttNanos / 1_000_000));
+        return stats;
+    }
+}
@@ -0,0 +1,107 @@
+package com.example.orchestrator.concurrency;
+
+import com.example.orchestrator.metrics.StatsSource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+// Admits orchestrations per product up to an adaptive concurrency limit and rejects the overflow immediately
+@Slf4j
+@Component
+public class AdmissionController implements StatsSource {
+
+    private final boolean enabled;
+    private final int initialLimit;
+    private final int minLimit;
+    private final int maxLimit;
+    private final Supplier<LimitAlgorithm> algorithmFactory;
+    private final Map<String, AdaptiveConcurrencyLimiter> limiters = new ConcurrentHashMap<>();
+
+    public AdmissionController(@Value("${orchestrator.admission.enabled:true}") boolean enabled,
+                               @Value("${orchestrator.admission.algorithm:gradient}") String algorithm,
+                               @Value("${orchestrator.admission.initial-limit:20}") int initialLimit,
+                               @Value("${orchestrator.admission.min-limit:1}") int minLimit,
+                               @Value("${orchestrator.admission.max-limit:200}") int maxLimit,
+                               @Value("${orchestrator.admission.gradient.smoothing:0.2}") double smoothing,
+                               @Value("${orchestrator.admission.aimd.latency-threshold-ms:1000}") long latencyThresholdMs,
+                               @Value("${orchestrator.admission.aimd.backoff-ratio:0.9}") double backoffRatio) {
+        this.enabled = enabled;
+        this.initialLimit = initialLimit;
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        switch (algorithm.toLowerCase()) {
+            case "gradient":
+                this.algorithmFactory = () -> new GradientLimitAlgorithm(smoothing);
+                break;
+            case "aimd":
+                long thresholdNanos = TimeUnit.MILLISECONDS.toNanos(latencyThresholdMs);
+                this.algorithmFactory = () -> new AimdLimitAlgorithm(thresholdNanos, backoffRatio);
+                break;
+            default:
+                throw new IllegalArgumentException("Unsupported admission algorithm: " + algorithm + ". Supported algorithms are 'gradient' and 'aimd'.");
+        }
+    }
+
+    public Permit acquire(String product) {
+        if (!enabled) {
+            return Permit.NOOP;
+        }
+        AdaptiveConcurrencyLimiter limiter = limiters.computeIfAbsent(String.valueOf(product),
+                key -> new AdaptiveConcurrencyLimiter(algorithmFactory.get(), initialLimit, minLimit, maxLimit));
+        if (!limiter.tryAcquire()) {
+            long retryAfterSeconds = Math.max(1, TimeUnit.MILLISECONDS.toSeconds(limiter.getAverageRttMillis() + 999));
+            log.warn("Rejected orchestration for product {}: concurrency limit {} reached", product, limiter.getLimit());
+            throw new AdmissionRejectedException("Too many concurrent orchestrations for product '" + product + "', retry later.", retryAfterSeconds);
+        }
+        return new Permit(limiter, System.nanoTime());
+    }
+
+    @Override
+    public String getName() {
+        return "admission";
+    }
+
+    @Override
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new TreeMap<>();
+        limiters.forEach((product, limiter) -> stats.put(product, limiter.snapshot()));
+        return stats;
+    }
+
+    public static class Permit {
+        static final Permit NOOP = new Permit(null, 0);
+
+        private final AdaptiveConcurrencyLimiter limiter;
+        private final long startNanos;
+
+        Permit(AdaptiveConcurrencyLimiter limiter, long startNanos) {
+            this.limiter = limiter;
+            this.startNanos = startNanos;
+        }
+
+        public void release(Outcome outcome) {
+            if (limiter == null) {
+                return;
+            }
+            switch (outcome) {
+                case SUCCESS -> limiter.onSuccess(System.nanoTime() - startNanos);
+                case DROPPED -> limiter.onDropped();
+                case IGNORED -> limiter.onIgnore();
+            }
+        }
+    }
+
+    public enum Outcome {
+        SUCCESS,
+        // Downstream timed out, failed with a 5xx or could not be reached; shrinks the limit
+        DROPPED,
+        // Client or validation error that says nothing about downstream health
+        IGNORED
+    }
+}
@@ -0,0 +1,30 @@
+package com.example.orchestrator.concurrency;
+
+// Additive increase while latency stays under the threshold, multiplicative decrease once it does not
+public class AimdLimitAlgorithm implements LimitAlgorithm {
+
+    private final long latencyThresholdNanos;
+    private final double backoffRatio;
+
+    public AimdLimitAlgorithm(long latencyThresholdNanos, double backoffRatio) {
+        this.latencyThresholdNanos = latencyThresholdNanos;
+        this.backoffRatio = backoffRatio;
+    }
+
+    @Override
+    public double update(double currentLimit, long rttNanos, int inFlight) {
+        if (rttNanos > latencyThresholdNanos) {
+            return currentLimit * backoffRatio;
+        }
+        // Only grow while the limit is actually being used, otherwise it drifts up without evidence
+        if (inFlight * 2 >= currentLimit) {
+            return currentLimit + 1;
+        }
+        return currentLimit;
+    }
+
+    @Override
+    public double drop(double currentLimit) {
+        return currentLimit * backoffRatio;
+    }
+}
@@ -0,0 +1,65 @@
+package com.example.orchestrator.concurrency;
+
+import com.example.orchestrator.metrics.StatsSource;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Bulkheads per product and per action executor type, configured under
+// orchestrator.bulkhead.products.<product>.* and orchestrator.bulkhead.executors.<type>.*
+// with the "default" entry of each group as fallback.
+@Component
+public class BulkheadRegistry implements StatsSource {
+
+    private static final String PREFIX = "orchestrator.bulkhead.";
+
+    private final Environment environment;
+    private final Map<String, Bulkhead> productBulkheads = new ConcurrentHashMap<>();
+    private final Map<String, Bulkhead> executorBulkheads = new ConcurrentHashMap<>();
+
+    public BulkheadRegistry(Environment environment) {
+        this.environment = environment;
+    }
+
+    public Bulkhead forProduct(String product) {
+        return productBulkheads.computeIfAbsent(String.valueOf(product), key -> create("products", key, 100, 100));
+    }
+
+    public Bulkhead forExecutor(String type) {
+        return executorBulkheads.computeIfAbsent(type, key -> create("executors", key, 50, 50));
+    }
+
+    private Bulkhead create(String group, String key, int defaultMaxConcurrent, int defaultMaxWaiting) {
+        int maxConcurrent = property(group, key, "max-concurrent", defaultMaxConcurrent);
+        int maxWaiting = property(group, key, "max-waiting", defaultMaxWaiting);
+        int maxWaitMillis = property(group, key, "max-wait-ms", 1000);
+        return new Bulkhead(group + ":" + key, maxConcurrent, maxWaiting, maxWaitMillis);
+    }
+
+    private int property(String group, String key, String name, int defaultValue) {
+        Integer groupDefault = environment.getProperty(PREFIX + group + ".default." + name, Integer.class, defaultValue);
+        return environment.getProperty(PREFIX + group + "." + key + "." + name, Integer.class, groupDefault);
+    }
+
+    @Override
+    public String getName() {
+        return "bulkheads";
+    }
+
+    @Override
+    public Map<String, Object> getStats() {
+        Map<String, Object> products = new TreeMap<>();
+        productBulkheads.forEach((key, bulkhead) -> products.put(key, bulkhead.snapshot()));
+        Map<String, Object> executors = new TreeMap<>();
+        executorBulkheads.forEach((key, bulkhead) -> executors.put(key, bulkhead.snapshot()));
+
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("products", products);
+        stats.put("executors", executors);
+        return stats;
+    }
+}
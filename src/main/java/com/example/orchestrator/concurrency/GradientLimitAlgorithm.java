@@ -0,0 +1,50 @@
+package com.example.orchestrator.concurrency;
+
+// Scales the limit by the ratio between the long-term and short-term average latency,
+// so the limit shrinks as soon as queueing shows up in the latency and grows back when it drains
+public class GradientLimitAlgorithm implements LimitAlgorithm {
+
+    private static final double SHORT_WINDOW_ALPHA = 2.0 / (10 + 1);
+    private static final double LONG_WINDOW_ALPHA = 2.0 / (600 + 1);
+    private static final double TOLERANCE = 1.5;
+
+    private final double smoothing;
+    private double shortRtt;
+    private double longRtt;
+
+    public GradientLimitAlgorithm(double smoothing) {
+        this.smoothing = smoothing;
+    }
+
+    @Override
+    public double update(double currentLimit, long rttNanos, int inFlight) {
+        if (longRtt == 0) {
+            shortRtt = rttNanos;
+            longRtt = rttNanos;
+            return currentLimit;
+        }
+        shortRtt += (rttNanos - shortRtt) * SHORT_WINDOW_ALPHA;
+        longRtt += (rttNanos - longRtt) * LONG_WINDOW_ALPHA;
+
+        // After latency dropped, e.g. once an overload passed, the long-term average stays high and would keep the gradient
+        // at its maximum while the limit grows; decay it faster towards the new short-term latency
+        if (longRtt / shortRtt > 2) {
+            longRtt *= 0.95;
+        }
+
+        double gradient = Math.max(0.5, Math.min(1.0, TOLERANCE * longRtt / shortRtt));
+        // Don't grow the limit while most of it is unused
+        if (gradient == 1.0 && inFlight < currentLimit / 2) {
+            return currentLimit;
+        }
+        double queueSize = Math.sqrt(currentLimit);
+        double newLimit = currentLimit * gradient + queueSize;
+        return currentLimit * (1 - smoothing) + newLimit * smoothing;
+    }
+
+    // A failure carries no usable latency, so treat it like the steepest gradient
+    @Override
+    public double drop(double currentLimit) {
+        return currentLimit * (1 - smoothing) + currentLimit * 0.5 * smoothing;
+    }
+}
@@ -0,0 +1,9 @@
+package com.example.orchestrator.concurrency;
+
+public interface LimitAlgorithm {
+    // Returns the new concurrency limit after a request with the given round-trip time completed
+    double update(double currentLimit, long rttNanos, int inFlight);
+
+    // Returns the new concurrency limit after a request failed because downstream timed out or was unavailable
+    double drop(double currentLimit);
+}
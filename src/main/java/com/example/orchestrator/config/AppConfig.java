@@ -3,6 +3,7 @@ package com.example.orchestrator.config;
 import com.fasterxml.jackson.databind.DeserializationFeature;
 import com.fasterxml.jackson.databind.MapperFeature;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.retry.backoff.ExponentialBackOffPolicy;
@@ -10,6 +11,12 @@ import org.springframework.retry.policy.SimpleRetryPolicy;
 import org.springframework.retry.support.RetryTemplate;
 import org.springframework.web.client.RestClient;
 
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
 @Configuration
 public class AppConfig {
 
@@ -42,4 +49,18 @@ public class AppConfig {
 
         return retryTemplate;
     }
-}
\ No newline at end of file
+
+    // Shared pool for fan-out steps. Work is handed over directly instead of being queued; when every
+    // thread is busy the submitting thread runs the task itself, so nested fan-outs can never deadlock.
+    @Bean(destroyMethod = "shutdown")
+    public ExecutorService stepExecutorService(@Value("${orchestrator.step-pool.max-threads:64}") int maxThreads) {
+        AtomicInteger threadCounter = new AtomicInteger();
+        return new ThreadPoolExecutor(0, maxThreads, 60L, TimeUnit.SECONDS, new SynchronousQueue<>(),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "orchestrator-step-" + threadCounter.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.CallerRunsPolicy());
+    }
+}
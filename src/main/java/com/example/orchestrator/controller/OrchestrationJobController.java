@@ -0,0 +1,71 @@
+package com.example.orchestrator.controller;
+
+import com.example.orchestrator.model.OrchestrationJob;
+import com.example.orchestrator.service.JobRejectedException;
+import com.example.orchestrator.service.OrchestrationJobService;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.net.URI;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/jobs")
+public class OrchestrationJobController {
+
+    private final OrchestrationJobService jobService;
+
+    public OrchestrationJobController(OrchestrationJobService jobService) {
+        this.jobService = jobService;
+    }
+
+    @PostMapping
+    public ResponseEntity<?> submit(@RequestBody Map<String, Object> requestBody) {
+        String product = (String) requestBody.get("product");
+        if (product == null || product.isEmpty()) {
+            return ResponseEntity.badRequest().body(Map.of("status", "error", "message", "Missing required parameter: product"));
+        }
+        try {
+            OrchestrationJob job = jobService.submit(product, requestBody);
+            return ResponseEntity.accepted()
+                    .location(URI.create("/api/jobs/" + job.getId()))
+                    .body(toResponse(job));
+        } catch (JobRejectedException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, "1")
+                    .body(Map.of("status", "error", "message", e.getMessage()));
+        }
+    }
+
+    @GetMapping("/{jobId}")
+    public ResponseEntity<?> status(@PathVariable String jobId) {
+        return jobService.findJob(jobId)
+                .<ResponseEntity<?>>map(job -> ResponseEntity.ok(toResponse(job)))
+                .orElseGet(() -> ResponseEntity.status(HttpStatus.NOT_FOUND)
+                        .body(Map.of("status", "error", "message", "Job '" + jobId + "' not found.")));
+    }
+
+    private Map<String, Object> toResponse(OrchestrationJob job) {
+        Map<String, Object> response = new LinkedHashMap<>();
+        response.put("jobId", job.getId());
+        response.put("product", job.getProduct());
+        response.put("status", job.getStatus());
+        if (job.getCheckpoint() != null) {
+            response.put("completedSteps", job.getCheckpoint().get("completedSteps"));
+        }
+        response.put("createdAt", job.getCreatedAt().toString());
+        response.put("updatedAt", job.getUpdatedAt().toString());
+        if (job.getResult() != null) {
+            response.put("result", job.getResult());
+        }
+        return response;
+    }
+}
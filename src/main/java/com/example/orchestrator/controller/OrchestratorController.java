@@ -1,8 +1,13 @@
 package com.example.orchestrator.controller;
 
+import com.example.orchestrator.concurrency.AdmissionController;
+import com.example.orchestrator.concurrency.AdmissionRejectedException;
+import com.example.orchestrator.concurrency.BulkheadFullException;
 import com.example.orchestrator.service.InvalidInputException;
 import com.example.orchestrator.service.OrchestratorService;
+import com.example.orchestrator.service.SpecLoaderService;
 import com.example.orchestrator.service.SpecNotFoundException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.PostMapping;
@@ -17,21 +22,59 @@ import java.util.Map;
 public class OrchestratorController {
 
     private final OrchestratorService orchestratorService;
+    private final AdmissionController admissionController;
+    private final SpecLoaderService specLoaderService;
 
-    public OrchestratorController(OrchestratorService orchestratorService) {
+    public OrchestratorController(OrchestratorService orchestratorService, AdmissionController admissionController, SpecLoaderService specLoaderService) {
         this.orchestratorService = orchestratorService;
+        this.admissionController = admissionController;
+        this.specLoaderService = specLoaderService;
     }
 
     @PostMapping("/orchestrate")
     public ResponseEntity<?> orchestrate(@RequestBody Map<String, Object> requestBody) {
         String product = (String) requestBody.get("product");
+        // Checked before admission, so product names without a specification never get a concurrency limiter
+        if (!specLoaderService.exists(product)) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                    .body(Map.of("status", "error", "message", "Specification for product '" + product + "' not found."));
+        }
+        AdmissionController.Permit permit;
+        try {
+            permit = admissionController.acquire(product);
+        } catch (AdmissionRejectedException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfterSeconds()))
+                    .body(Map.of("status", "error", "message", e.getMessage()));
+        }
+
+        AdmissionController.Outcome outcome = AdmissionController.Outcome.DROPPED;
         try {
             Map<String, Object> serviceResult = orchestratorService.executeOrchestration(product, requestBody);
+            outcome = outcomeOf(serviceResult);
             return ResponseEntity.ok(serviceResult);
         } catch (SpecNotFoundException e) {
+            outcome = AdmissionController.Outcome.IGNORED;
             return ResponseEntity.status(HttpStatus.NOT_FOUND).body(Map.of("status", "error", "message", e.getMessage()));
         } catch (InvalidInputException e) {
+            outcome = AdmissionController.Outcome.IGNORED;
             return ResponseEntity.badRequest().body(Map.of("status", "error", "message", e.getMessage()));
+        } catch (BulkheadFullException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, "1")
+                    .body(Map.of("status", "error", "message", e.getMessage()));
+        } finally {
+            permit.release(outcome);
+        }
+    }
+
+    private static AdmissionController.Outcome outcomeOf(Map<String, Object> serviceResult) {
+        if ("success".equals(serviceResult.get("status"))) {
+            return AdmissionController.Outcome.SUCCESS;
+        }
+        if (serviceResult.get("error") instanceof Map<?, ?> error && Boolean.TRUE.equals(error.get("clientError"))) {
+            return AdmissionController.Outcome.IGNORED;
         }
+        return AdmissionController.Outcome.DROPPED;
     }
-}
\ No newline at end of file
+}
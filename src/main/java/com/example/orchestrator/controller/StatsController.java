@@ -0,0 +1,31 @@
+package com.example.orchestrator.controller;
+
+import com.example.orchestrator.metrics.StatsSource;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+@RestController
+@RequestMapping("/api/stats")
+public class StatsController {
+
+    private final List<StatsSource> statsSources;
+
+    public StatsController(List<StatsSource> statsSources) {
+        this.statsSources = statsSources;
+    }
+
+    @GetMapping
+    public ResponseEntity<Map<String, Object>> stats() {
+        Map<String, Object> response = new TreeMap<>();
+        for (StatsSource source : statsSources) {
+            response.put(source.getName(), source.getStats());
+        }
+        return ResponseEntity.ok(response);
+    }
+}
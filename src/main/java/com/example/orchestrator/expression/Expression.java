@@ -0,0 +1,12 @@
+package com.example.orchestrator.expression;
+
+import java.util.Map;
+
+@FunctionalInterface
+public interface Expression {
+    Object evaluate(Map<String, Object> scope);
+
+    default boolean test(Map<String, Object> scope) {
+        return Values.isTruthy(evaluate(scope));
+    }
+}
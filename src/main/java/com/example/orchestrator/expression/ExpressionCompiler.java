@@ -0,0 +1,30 @@
+package com.example.orchestrator.expression;
+
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Compiles expressions once and hands out the cached lambda tree on every later request
+@Component
+public class ExpressionCompiler {
+
+    private static final int MAX_CACHED_EXPRESSIONS = 10_000;
+
+    private final Map<String, Expression> cache = new ConcurrentHashMap<>();
+
+    public Expression compile(String source) {
+        if (source == null || source.isBlank()) {
+            throw new ExpressionException("Expression cannot be null or empty.");
+        }
+        Expression cached = cache.get(source);
+        if (cached != null) {
+            return cached;
+        }
+        Expression compiled = ExpressionParser.parse(source);
+        if (cache.size() < MAX_CACHED_EXPRESSIONS) {
+            cache.put(source, compiled);
+        }
+        return compiled;
+    }
+}
@@ -0,0 +1,7 @@
+package com.example.orchestrator.expression;
+
+public class ExpressionException extends RuntimeException {
+    public ExpressionException(String message) {
+        super(message);
+    }
+}
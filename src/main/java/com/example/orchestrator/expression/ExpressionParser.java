@@ -0,0 +1,392 @@
+package com.example.orchestrator.expression;
+
+import com.example.orchestrator.util.ValueNavigator;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+// Recursive descent parser that turns an expression string directly into a tree of lambdas.
+//
+//   conditional    := or ('?' conditional ':' conditional)?
+//   or             := and (('||' | 'or') and)*
+//   and            := equality (('&&' | 'and') equality)*
+//   equality       := comparison (('==' | '!=') comparison)*
+//   comparison     := additive (('<' | '<=' | '>' | '>=') additive)*
+//   additive       := multiplicative (('+' | '-') multiplicative)*
+//   multiplicative := unary (('*' | '/' | '%') unary)*
+//   unary          := ('!' | 'not' | '-') unary | primary
+//   primary        := number | string | true | false | null | function '(' args ')' | path | '(' conditional ')'
+//   path           := identifier ('.' (identifier | digits) | '[' (number | string) ']')*
+final class ExpressionParser {
+
+    private final String source;
+    private final List<Token> tokens;
+    private int position;
+
+    private ExpressionParser(String source) {
+        this.source = source;
+        this.tokens = new Tokenizer(source).tokenize();
+    }
+
+    static Expression parse(String source) {
+        ExpressionParser parser = new ExpressionParser(source);
+        Expression expression = parser.conditional();
+        if (parser.peek().type() != TokenType.END) {
+            throw parser.error("Unexpected '" + parser.peek().text() + "'");
+        }
+        return expression;
+    }
+
+    private Expression conditional() {
+        Expression condition = or();
+        if (!match("?")) {
+            return condition;
+        }
+        Expression whenTrue = conditional();
+        expect(":");
+        Expression whenFalse = conditional();
+        return scope -> condition.test(scope) ? whenTrue.evaluate(scope) : whenFalse.evaluate(scope);
+    }
+
+    private Expression or() {
+        Expression left = and();
+        while (match("||") || matchKeyword("or")) {
+            Expression l = left;
+            Expression r = and();
+            left = scope -> l.test(scope) || r.test(scope);
+        }
+        return left;
+    }
+
+    private Expression and() {
+        Expression left = equality();
+        while (match("&&") || matchKeyword("and")) {
+            Expression l = left;
+            Expression r = equality();
+            left = scope -> l.test(scope) && r.test(scope);
+        }
+        return left;
+    }
+
+    private Expression equality() {
+        Expression left = comparison();
+        while (true) {
+            Expression l = left;
+            if (match("==")) {
+                Expression r = comparison();
+                left = scope -> Values.isEqual(l.evaluate(scope), r.evaluate(scope));
+            } else if (match("!=")) {
+                Expression r = comparison();
+                left = scope -> !Values.isEqual(l.evaluate(scope), r.evaluate(scope));
+            } else {
+                return left;
+            }
+        }
+    }
+
+    private Expression comparison() {
+        Expression left = additive();
+        while (true) {
+            Expression l = left;
+            if (match("<")) {
+                Expression r = additive();
+                left = scope -> Values.compare(l.evaluate(scope), r.evaluate(scope)) < 0;
+            } else if (match("<=")) {
+                Expression r = additive();
+                left = scope -> Values.compare(l.evaluate(scope), r.evaluate(scope)) <= 0;
+            } else if (match(">")) {
+                Expression r = additive();
+                left = scope -> Values.compare(l.evaluate(scope), r.evaluate(scope)) > 0;
+            } else if (match(">=")) {
+                Expression r = additive();
+                left = scope -> Values.compare(l.evaluate(scope), r.evaluate(scope)) >= 0;
+            } else {
+                return left;
+            }
+        }
+    }
+
+    private Expression additive() {
+        Expression left = multiplicative();
+        while (true) {
+            Expression l = left;
+            if (match("+")) {
+                Expression r = multiplicative();
+                left = scope -> {
+                    Object a = l.evaluate(scope);
+                    Object b = r.evaluate(scope);
+                    if (a instanceof String || b instanceof String) {
+                        return String.valueOf(a) + b;
+                    }
+                    return Values.normalize(Values.toNumber(a) + Values.toNumber(b));
+                };
+            } else if (match("-")) {
+                Expression r = multiplicative();
+                left = scope -> Values.normalize(Values.toNumber(l.evaluate(scope)) - Values.toNumber(r.evaluate(scope)));
+            } else {
+                return left;
+            }
+        }
+    }
+
+    private Expression multiplicative() {
+        Expression left = unary();
+        while (true) {
+            Expression l = left;
+            if (match("*")) {
+                Expression r = unary();
+                left = scope -> Values.normalize(Values.toNumber(l.evaluate(scope)) * Values.toNumber(r.evaluate(scope)));
+            } else if (match("/")) {
+                Expression r = unary();
+                left = scope -> Values.normalize(Values.toNumber(l.evaluate(scope)) / Values.toNumber(r.evaluate(scope)));
+            } else if (match("%")) {
+                Expression r = unary();
+                left = scope -> Values.normalize(Values.toNumber(l.evaluate(scope)) % Values.toNumber(r.evaluate(scope)));
+            } else {
+                return left;
+            }
+        }
+    }
+
+    private Expression unary() {
+        if (match("!") || matchKeyword("not")) {
+            Expression operand = unary();
+            return scope -> !operand.test(scope);
+        }
+        if (match("-")) {
+            Expression operand = unary();
+            return scope -> Values.normalize(-Values.toNumber(operand.evaluate(scope)));
+        }
+        return primary();
+    }
+
+    private Expression primary() {
+        Token token = next();
+        switch (token.type()) {
+            case NUMBER: {
+                Object value = token.text().contains(".") || token.text().contains("e") || token.text().contains("E")
+                        ? (Object) Double.parseDouble(token.text())
+                        : (Object) Long.parseLong(token.text());
+                return scope -> value;
+            }
+            case STRING: {
+                String value = token.text();
+                return scope -> value;
+            }
+            case IDENTIFIER:
+                switch (token.text()) {
+                    case "true":
+                        return scope -> Boolean.TRUE;
+                    case "false":
+                        return scope -> Boolean.FALSE;
+                    case "null":
+                        return scope -> null;
+                    default:
+                        if (match("(")) {
+                            return functionCall(token.text());
+                        }
+                        return path(token.text());
+                }
+            case SYMBOL:
+                if (token.text().equals("(")) {
+                    Expression inner = conditional();
+                    expect(")");
+                    return inner;
+                }
+                break;
+            default:
+                break;
+        }
+        throw error(token.type() == TokenType.END ? "Unexpected end of expression" : "Unexpected '" + token.text() + "'");
+    }
+
+    private Expression functionCall(String name) {
+        Function<Object[], Object> function = Functions.lookup(name);
+        if (function == null) {
+            throw error("Unknown function '" + name + "'");
+        }
+        List<Expression> arguments = new ArrayList<>();
+        if (!match(")")) {
+            do {
+                arguments.add(conditional());
+            } while (match(","));
+            expect(")");
+        }
+        Expression[] args = arguments.toArray(new Expression[0]);
+        return scope -> {
+            Object[] values = new Object[args.length];
+            for (int i = 0; i < args.length; i++) {
+                values[i] = args[i].evaluate(scope);
+            }
+            return function.apply(values);
+        };
+    }
+
+    private Expression path(String root) {
+        List<String> segments = new ArrayList<>();
+        while (true) {
+            if (match(".")) {
+                Token segment = next();
+                if (segment.type() != TokenType.IDENTIFIER && segment.type() != TokenType.NUMBER) {
+                    throw error("Expected a field name after '.'");
+                }
+                segments.add(segment.text());
+            } else if (match("[")) {
+                Token segment = next();
+                if (segment.type() != TokenType.STRING && segment.type() != TokenType.NUMBER) {
+                    throw error("Expected a number or string index");
+                }
+                segments.add(segment.text());
+                expect("]");
+            } else {
+                break;
+            }
+        }
+        String[] rest = segments.toArray(new String[0]);
+        return scope -> {
+            Object value = scope.get(root);
+            for (int i = 0; i < rest.length && value != null; i++) {
+                value = ValueNavigator.child(value, rest[i]);
+            }
+            return value;
+        };
+    }
+
+    private Token peek() {
+        return tokens.get(position);
+    }
+
+    private Token next() {
+        Token token = tokens.get(position);
+        if (token.type() != TokenType.END) {
+            position++;
+        }
+        return token;
+    }
+
+    private boolean match(String symbol) {
+        Token token = peek();
+        if (token.type() == TokenType.SYMBOL && token.text().equals(symbol)) {
+            position++;
+            return true;
+        }
+        return false;
+    }
+
+    private boolean matchKeyword(String keyword) {
+        Token token = peek();
+        if (token.type() == TokenType.IDENTIFIER && token.text().equals(keyword)) {
+            position++;
+            return true;
+        }
+        return false;
+    }
+
+    private void expect(String symbol) {
+        if (!match(symbol)) {
+            throw error("Expected '" + symbol + "'");
+        }
+    }
+
+    private ExpressionException error(String message) {
+        return new ExpressionException(message + " at position " + peek().position() + " in expression: " + source);
+    }
+
+    enum TokenType { NUMBER, STRING, IDENTIFIER, SYMBOL, END }
+
+    record Token(TokenType type, String text, int position) {}
+
+    private static final class Tokenizer {
+        private static final String[] SYMBOLS = {"==", "!=", "<=", ">=", "&&", "||", "<", ">", "!", "+", "-", "*", "/", "%", "(", ")", ",", ".", "[", "]", "?", ":"};
+
+        private final String source;
+        private int index;
+
+        Tokenizer(String source) {
+            this.source = source;
+        }
+
+        List<Token> tokenize() {
+            List<Token> tokens = new ArrayList<>();
+            while (true) {
+                while (index < source.length() && Character.isWhitespace(source.charAt(index))) {
+                    index++;
+                }
+                if (index >= source.length()) {
+                    tokens.add(new Token(TokenType.END, "", index));
+                    return tokens;
+                }
+                char c = source.charAt(index);
+                int start = index;
+                if (Character.isDigit(c)) {
+                    tokens.add(new Token(TokenType.NUMBER, number(), start));
+                } else if (c == '\'' || c == '"') {
+                    tokens.add(new Token(TokenType.STRING, string(c), start));
+                } else if (Character.isLetter(c) || c == '_' || c == '$') {
+                    while (index < source.length() && (Character.isLetterOrDigit(source.charAt(index)) || source.charAt(index) == '_' || source.charAt(index) == '$')) {
+                        index++;
+                    }
+                    tokens.add(new Token(TokenType.IDENTIFIER, source.substring(start, index), start));
+                } else {
+                    tokens.add(new Token(TokenType.SYMBOL, symbol(), start));
+                }
+            }
+        }
+
+        private String number() {
+            int start = index;
+            digits();
+            // A dot only belongs to the number when a digit follows, so "items.0.id" still tokenizes as a path
+            boolean pathSegment = start > 0 && source.charAt(start - 1) == '.';
+            if (index + 1 < source.length() && source.charAt(index) == '.' && Character.isDigit(source.charAt(index + 1)) && !pathSegment) {
+                index++;
+                digits();
+            }
+            // Likewise an exponent needs at least one digit, optionally after a sign
+            if (index < source.length() && (source.charAt(index) == 'e' || source.charAt(index) == 'E') && !pathSegment) {
+                int exponent = index + 1;
+                if (exponent < source.length() && (source.charAt(exponent) == '+' || source.charAt(exponent) == '-')) {
+                    exponent++;
+                }
+                if (exponent < source.length() && Character.isDigit(source.charAt(exponent))) {
+                    index = exponent;
+                    digits();
+                }
+            }
+            return source.substring(start, index);
+        }
+
+        private void digits() {
+            while (index < source.length() && Character.isDigit(source.charAt(index))) {
+                index++;
+            }
+        }
+
+        private String string(char quote) {
+            StringBuilder value = new StringBuilder();
+            index++;
+            while (index < source.length()) {
+                char c = source.charAt(index++);
+                if (c == quote) {
+                    return value.toString();
+                }
+                if (c == '\\' && index < source.length()) {
+                    c = source.charAt(index++);
+                }
+                value.append(c);
+            }
+            throw new ExpressionException("Unterminated string in expression: " + source);
+        }
+
+        private String symbol() {
+            for (String symbol : SYMBOLS) {
+                if (source.startsWith(symbol, index)) {
+                    index += symbol.length();
+                    return symbol;
+                }
+            }
+            throw new ExpressionException("Unexpected character '" + source.charAt(index) + "' at position " + index + " in expression: " + source);
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package com.example.orchestrator.expression;
+
+import java.util.Collection;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Function;
+
+final class Functions {
+
+    private static final Map<String, Function<Object[], Object>> FUNCTIONS = Map.of(
+            "exists", args -> arity("exists", args, 1)[0] != null,
+            "empty", args -> isEmpty(arity("empty", args, 1)[0]),
+            "size", args -> size(arity("size", args, 1)[0]),
+            "contains", args -> contains(arity("contains", args, 2)[0], args[1]),
+            "lower", args -> arity("lower", args, 1)[0] == null ? null : args[0].toString().toLowerCase(Locale.ROOT),
+            "upper", args -> arity("upper", args, 1)[0] == null ? null : args[0].toString().toUpperCase(Locale.ROOT),
+            "number", args -> arity("number", args, 1)[0] == null ? null : Values.normalize(Values.toNumber(args[0])),
+            "string", args -> arity("string", args, 1)[0] == null ? null : args[0].toString(),
+            "coalesce", Functions::coalesce
+    );
+
+    private Functions() {
+    }
+
+    static Function<Object[], Object> lookup(String name) {
+        return FUNCTIONS.get(name);
+    }
+
+    private static Object[] arity(String name, Object[] args, int expected) {
+        if (args.length != expected) {
+            throw new ExpressionException("Function '" + name + "' expects " + expected + " argument(s) but got " + args.length);
+        }
+        return args;
+    }
+
+    private static boolean isEmpty(Object value) {
+        if (value == null) {
+            return true;
+        }
+        if (value instanceof CharSequence text) {
+            return text.isEmpty();
+        }
+        if (value instanceof Collection<?> collection) {
+            return collection.isEmpty();
+        }
+        if (value instanceof Map<?, ?> map) {
+            return map.isEmpty();
+        }
+        return false;
+    }
+
+    private static int size(Object value) {
+        if (value == null) {
+            return 0;
+        }
+        if (value instanceof CharSequence text) {
+            return text.length();
+        }
+        if (value instanceof Collection<?> collection) {
+            return collection.size();
+        }
+        if (value instanceof Map<?, ?> map) {
+            return map.size();
+        }
+        throw new ExpressionException("size() is not defined for " + Values.describe(value));
+    }
+
+    private static boolean contains(Object container, Object element) {
+        if (container == null) {
+            return false;
+        }
+        if (container instanceof String text) {
+            return element != null && text.contains(element.toString());
+        }
+        if (container instanceof Collection<?> collection) {
+            for (Object candidate : collection) {
+                if (Values.isEqual(candidate, element)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+        if (container instanceof Map<?, ?> map) {
+            return map.containsKey(element);
+        }
+        throw new ExpressionException("contains() is not defined for " + Values.describe(container));
+    }
+
+    private static Object coalesce(Object[] args) {
+        for (Object arg : args) {
+            if (arg != null) {
+                return arg;
+            }
+        }
+        return null;
+    }
+}
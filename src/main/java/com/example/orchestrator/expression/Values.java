@@ -0,0 +1,77 @@
+package com.example.orchestrator.expression;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.Objects;
+
+// Type coercion rules shared by the expression operators
+final class Values {
+
+    private Values() {
+    }
+
+    static boolean isTruthy(Object value) {
+        if (value == null) {
+            return false;
+        }
+        if (value instanceof Boolean bool) {
+            return bool;
+        }
+        if (value instanceof Number number) {
+            return number.doubleValue() != 0;
+        }
+        if (value instanceof CharSequence text) {
+            return !text.isEmpty();
+        }
+        if (value instanceof Collection<?> collection) {
+            return !collection.isEmpty();
+        }
+        if (value instanceof Map<?, ?> map) {
+            return !map.isEmpty();
+        }
+        return true;
+    }
+
+    static boolean isEqual(Object left, Object right) {
+        if (left instanceof Number l && right instanceof Number r) {
+            return l.doubleValue() == r.doubleValue();
+        }
+        return Objects.equals(left, right);
+    }
+
+    static int compare(Object left, Object right) {
+        if (left instanceof Number l && right instanceof Number r) {
+            return Double.compare(l.doubleValue(), r.doubleValue());
+        }
+        if (left instanceof String l && right instanceof String r) {
+            return l.compareTo(r);
+        }
+        throw new ExpressionException("Cannot compare " + describe(left) + " with " + describe(right));
+    }
+
+    static double toNumber(Object value) {
+        if (value instanceof Number number) {
+            return number.doubleValue();
+        }
+        if (value instanceof String text) {
+            try {
+                return Double.parseDouble(text);
+            } catch (NumberFormatException e) {
+                throw new ExpressionException("Value '" + text + "' is not a number");
+            }
+        }
+        throw new ExpressionException("Expected a number but got " + describe(value));
+    }
+
+    // Keeps integral results as longs so they print and compare like the input values
+    static Number normalize(double value) {
+        if (value == Math.rint(value) && !Double.isInfinite(value) && Math.abs(value) < 1e15) {
+            return (long) value;
+        }
+        return value;
+    }
+
+    static String describe(Object value) {
+        return value == null ? "null" : value.getClass().getSimpleName() + " '" + value + "'";
+    }
+}
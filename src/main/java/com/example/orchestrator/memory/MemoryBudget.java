@@ -0,0 +1,31 @@
+package com.example.orchestrator.memory;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+// Bytes held on the heap by the results of one orchestration
+public final class MemoryBudget {
+
+    private final long maxBytes;
+    private final AtomicLong usedBytes = new AtomicLong();
+
+    MemoryBudget(long maxBytes) {
+        this.maxBytes = maxBytes;
+    }
+
+    void charge(String name, long bytes) {
+        long used = usedBytes.addAndGet(bytes);
+        if (used > maxBytes) {
+            usedBytes.addAndGet(-bytes);
+            throw new MemoryBudgetExceededException("Result '" + name + "' of about " + bytes
+                    + " bytes exceeds the memory budget of " + maxBytes + " bytes per orchestration (" + (used - bytes) + " bytes already in use)");
+        }
+    }
+
+    public long usedBytes() {
+        return usedBytes.get();
+    }
+
+    public long maxBytes() {
+        return maxBytes;
+    }
+}
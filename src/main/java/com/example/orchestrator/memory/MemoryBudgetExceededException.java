@@ -0,0 +1,7 @@
+package com.example.orchestrator.memory;
+
+public class MemoryBudgetExceededException extends RuntimeException {
+    public MemoryBudgetExceededException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,61 @@
+package com.example.orchestrator.memory;
+
+import com.example.orchestrator.model.GenericEntity;
+import com.example.orchestrator.util.LazyDecodedMap;
+import com.example.orchestrator.util.LazyJsonArray;
+import com.example.orchestrator.util.LazyJsonObject;
+
+import java.util.Collection;
+import java.util.Map;
+
+// Rough retained heap size of a step result; raw JSON is counted by its buffer, parsed values by typical object overheads
+public final class SizeEstimator {
+
+    private SizeEstimator() {
+    }
+
+    public static long estimate(Object value) {
+        if (value == null) {
+            return 0;
+        }
+        if (value instanceof LazyJsonObject object) {
+            return 32L + object.rawLength();
+        }
+        if (value instanceof LazyJsonArray array) {
+            return 32L + array.rawLength();
+        }
+        if (value instanceof LazyDecodedMap map && !map.isDecoded()) {
+            return 32L + map.encodedLength();
+        }
+        if (value instanceof SpilledMap || value instanceof SpilledList) {
+            return 64;
+        }
+        if (value instanceof CharSequence text) {
+            return 40L + text.length();
+        }
+        if (value instanceof Number || value instanceof Boolean) {
+            return 16;
+        }
+        if (value instanceof byte[] bytes) {
+            return 16L + bytes.length;
+        }
+        if (value instanceof Map<?, ?> map) {
+            long size = 48;
+            for (Map.Entry<?, ?> entry : map.entrySet()) {
+                size += 32 + estimate(entry.getKey()) + estimate(entry.getValue());
+            }
+            return size;
+        }
+        if (value instanceof Collection<?> collection) {
+            long size = 40;
+            for (Object element : collection) {
+                size += 8 + estimate(element);
+            }
+            return size;
+        }
+        if (value instanceof GenericEntity entity) {
+            return 48 + estimate(entity.getTableName()) + estimate(entity.getData());
+        }
+        return 64;
+    }
+}
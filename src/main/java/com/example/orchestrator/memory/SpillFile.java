@@ -0,0 +1,59 @@
+package com.example.orchestrator.memory;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.util.ByteBufferBackedInputStream;
+
+import java.io.IOException;
+import java.lang.ref.SoftReference;
+import java.nio.MappedByteBuffer;
+
+// A Smile-encoded result mapped from disk; decoded on access and kept only as long as the heap can spare it
+final class SpillFile {
+
+    private final ObjectMapper smileMapper;
+    private final MappedByteBuffer buffer;
+    private volatile SoftReference<Object> decoded = new SoftReference<>(null);
+
+    SpillFile(ObjectMapper smileMapper, MappedByteBuffer buffer) {
+        this.smileMapper = smileMapper;
+        this.buffer = buffer;
+    }
+
+    int size() {
+        return buffer.capacity();
+    }
+
+    Object decode() {
+        Object value = decoded.get();
+        if (value == null) {
+            try (JsonParser parser = parser()) {
+                value = smileMapper.readValue(parser, Object.class);
+            } catch (IOException e) {
+                throw new IllegalStateException("Failed to read spilled result", e);
+            }
+            decoded = new SoftReference<>(value);
+        }
+        return value;
+    }
+
+    JsonParser parser() throws IOException {
+        return smileMapper.getFactory().createParser(new ByteBufferBackedInputStream(buffer.duplicate()));
+    }
+
+    // Transcodes the spilled value token by token, without decoding it into maps first
+    static final class StreamingSerializer extends JsonSerializer<Object> {
+
+        @Override
+        public void serialize(Object value, JsonGenerator generator, SerializerProvider provider) throws IOException {
+            SpillFile file = value instanceof SpilledMap map ? map.file : ((SpilledList) value).file;
+            try (JsonParser parser = file.parser()) {
+                parser.nextToken();
+                generator.copyCurrentStructure(parser);
+            }
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package com.example.orchestrator.memory;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Accounts the step results of each orchestration against a per-orchestration memory budget. Results
+ * above the spill threshold are written to a temp file as Smile, memory-mapped and replaced in the
+ * context by a view that decodes them on access, so they leave the heap.
+ */
+@Slf4j
+@Component
+public class SpillManager {
+
+    private final ObjectMapper smileMapper = new ObjectMapper(new SmileFactory());
+    private final Path spillDirectory;
+    private final long spillThresholdBytes;
+    private final long maxBytesPerOrchestration;
+
+    public SpillManager(@Value("${orchestrator.memory.spill-dir:${java.io.tmpdir}}") String spillDirectory,
+                        @Value("${orchestrator.memory.spill-threshold-bytes:8388608}") long spillThresholdBytes,
+                        @Value("${orchestrator.memory.max-bytes-per-orchestration:268435456}") long maxBytesPerOrchestration) {
+        this.spillDirectory = Path.of(spillDirectory);
+        this.spillThresholdBytes = spillThresholdBytes;
+        this.maxBytesPerOrchestration = maxBytesPerOrchestration;
+    }
+
+    public MemoryBudget newBudget() {
+        return new MemoryBudget(maxBytesPerOrchestration);
+    }
+
+    // Returns the value to keep in the context: the result itself, or a spilled view of it
+    public Object admit(MemoryBudget budget, String name, Object value) {
+        long size = SizeEstimator.estimate(value);
+        if (size > spillThresholdBytes && (value instanceof Map || value instanceof List)) {
+            Object spilled = spill(value);
+            log.info("Spilled result '{}' of about {} bytes to disk", name, size);
+            budget.charge(name, SizeEstimator.estimate(spilled));
+            return spilled;
+        }
+        budget.charge(name, size);
+        return value;
+    }
+
+    private Object spill(Object value) {
+        try {
+            Files.createDirectories(spillDirectory);
+            Path file = Files.createTempFile(spillDirectory, "orchestrator-spill-", ".sml");
+            try {
+                try (OutputStream out = Files.newOutputStream(file);
+                     JsonGenerator generator = smileMapper.getFactory().createGenerator(out)) {
+                    write(value, generator);
+                }
+                MappedByteBuffer buffer;
+                try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+                    buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+                }
+                SpillFile spillFile = new SpillFile(smileMapper, buffer);
+                return value instanceof Map ? new SpilledMap(spillFile) : new SpilledList(spillFile);
+            } finally {
+                // The mapping stays readable after the file is unlinked; its disk space is freed once the buffer is collected
+                try {
+                    Files.deleteIfExists(file);
+                } catch (IOException e) {
+                    file.toFile().deleteOnExit();
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to spill result to " + spillDirectory, e);
+        }
+    }
+
+    // Lazy JSON values at any depth are transcoded token by token by their serializer, without materializing them
+    private void write(Object value, JsonGenerator generator) throws IOException {
+        smileMapper.writeValue(generator, value);
+    }
+}
@@ -0,0 +1,36 @@
+package com.example.orchestrator.memory;
+
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+
+import java.util.AbstractList;
+import java.util.List;
+import java.util.RandomAccess;
+
+@JsonSerialize(using = SpillFile.StreamingSerializer.class)
+public final class SpilledList extends AbstractList<Object> implements RandomAccess {
+
+    final SpillFile file;
+
+    SpilledList(SpillFile file) {
+        this.file = file;
+    }
+
+    private List<Object> decoded() {
+        return (List<Object>) file.decode();
+    }
+
+    @Override
+    public Object get(int index) {
+        return decoded().get(index);
+    }
+
+    @Override
+    public int size() {
+        return decoded().size();
+    }
+
+    @Override
+    public String toString() {
+        return "SpilledList[" + file.size() + " bytes]";
+    }
+}
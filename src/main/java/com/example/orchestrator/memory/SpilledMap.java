@@ -0,0 +1,41 @@
+package com.example.orchestrator.memory;
+
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+
+import java.util.AbstractMap;
+import java.util.Map;
+import java.util.Set;
+
+@JsonSerialize(using = SpillFile.StreamingSerializer.class)
+public final class SpilledMap extends AbstractMap<String, Object> {
+
+    final SpillFile file;
+
+    SpilledMap(SpillFile file) {
+        this.file = file;
+    }
+
+    private Map<String, Object> decoded() {
+        return (Map<String, Object>) file.decode();
+    }
+
+    @Override
+    public Object get(Object key) {
+        return decoded().get(key);
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return decoded().containsKey(key);
+    }
+
+    @Override
+    public Set<Entry<String, Object>> entrySet() {
+        return decoded().entrySet();
+    }
+
+    @Override
+    public String toString() {
+        return "SpilledMap[" + file.size() + " bytes]";
+    }
+}
@@ -0,0 +1,8 @@
+package com.example.orchestrator.metrics;
+
+import java.util.Map;
+
+public interface StatsSource {
+    String getName();
+    Map<String, Object> getStats();
+}
@@ -0,0 +1,21 @@
+package com.example.orchestrator.model;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.util.List;
+import java.util.Map;
+
+public record DbQuery(
+        @JsonProperty("where") Map<String, Object> where, // Nullable, equality predicates on (dotted) data fields, values may be templates
+        @JsonProperty("limit") Integer limit,             // Nullable, maximum number of rows returned
+        @JsonProperty("offset") Integer offset,           // Nullable, number of matching rows skipped
+        @JsonProperty("after") Object after,              // Nullable, keyset cursor: only rows with an id above it, e.g. "${page.last.id}"
+        @JsonProperty("stream") Boolean stream,           // Nullable, return a lazily fetched sequence of rows instead of a list
+        @JsonProperty("fetchSize") Integer fetchSize,     // Nullable, rows fetched per round trip when streaming, defaults to orchestrator.db.fetch-size
+        @JsonProperty("groupBy") List<String> groupBy,    // Nullable, (dotted) data fields an aggregate step groups by
+        @JsonProperty("aggregates") Map<String, String> aggregates // Nullable, result name to "count", "count(field)", "sum(field)", "min(field)" or "max(field)"
+) {
+    public DbQuery(Map<String, Object> where, Integer limit, Integer offset, Object after, Boolean stream, Integer fetchSize) {
+        this(where, limit, offset, after, stream, fetchSize, null, null);
+    }
+}
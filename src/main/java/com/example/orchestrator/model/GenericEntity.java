@@ -1,25 +1,37 @@
 package com.example.orchestrator.model;
 
-import com.example.orchestrator.util.MapToStringConverter;
+import com.example.orchestrator.util.DataColumnConverter;
 
 import jakarta.persistence.*;
 import java.util.Map;
 
 @Entity
+// Every select filters on the logical table and reads in id order, which this index serves without a sort
+@Table(indexes = @Index(name = "idx_generic_entity_table_name_id", columnList = "tableName, id"))
 public class GenericEntity {
+    public static final int ID_ALLOCATION_SIZE = 50;
+    public static final String ID_SEQUENCE = "generic_entity_seq";
+
+    // A pooled sequence lets Hibernate assign ids without a round trip per row, which IDENTITY would need and which disables JDBC batching
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "generic_entity_seq")
+    @SequenceGenerator(name = "generic_entity_seq", sequenceName = ID_SEQUENCE, allocationSize = ID_ALLOCATION_SIZE)
     private Long id;
 
     private String tableName;
 
-    @Convert(converter = MapToStringConverter.class)
+    // Both attributes hold the same map; only the column of the configured codec is written, rows read from whichever is filled
+    @Convert(converter = DataColumnConverter.Text.class)
     @Column(columnDefinition = "TEXT")
     private Map<String, Object> data;
 
+    @Convert(converter = DataColumnConverter.Binary.class)
+    @Column(name = "data_bin", length = 1_000_000_000)
+    private Map<String, Object> binaryData;
+
     public GenericEntity(String tableName, Map<String, Object> data) {
         this.tableName = tableName;
-        this.data = data;
+        setData(data);
     }
 
     public GenericEntity() {
@@ -43,10 +55,11 @@ public class GenericEntity {
     }
 
     public Map<String, Object> getData() {
-        return data;
+        return binaryData != null ? binaryData : data;
     }
 
     public void setData(Map<String, Object> data) {
         this.data = data;
+        this.binaryData = data;
     }
 }
\ No newline at end of file
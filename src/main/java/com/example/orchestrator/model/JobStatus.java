@@ -0,0 +1,8 @@
+package com.example.orchestrator.model;
+
+public enum JobStatus {
+    QUEUED,
+    RUNNING,
+    SUCCEEDED,
+    FAILED
+}
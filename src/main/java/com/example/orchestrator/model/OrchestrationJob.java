@@ -0,0 +1,148 @@
+package com.example.orchestrator.model;
+
+import com.example.orchestrator.util.MapToStringConverter;
+
+import jakarta.persistence.*;
+import java.time.Instant;
+import java.util.Map;
+
+@Entity
+@Table(indexes = @Index(name = "idx_orchestration_job_status", columnList = "status"))
+public class OrchestrationJob {
+    @Id
+    private String id;
+
+    private String product;
+
+    @Enumerated(EnumType.STRING)
+    private JobStatus status;
+
+    @Convert(converter = MapToStringConverter.class)
+    @Column(columnDefinition = "TEXT")
+    private Map<String, Object> request;
+
+    // Serialized OrchestrationCheckpoint of the last completed step
+    @Convert(converter = MapToStringConverter.class)
+    @Column(columnDefinition = "TEXT")
+    private Map<String, Object> checkpoint;
+
+    @Convert(converter = MapToStringConverter.class)
+    @Column(columnDefinition = "TEXT")
+    private Map<String, Object> result;
+
+    private int attempts;
+
+    // Node that queued or runs the job; other nodes take it over only after leaseUntil passed
+    private String owner;
+
+    private Instant leaseUntil;
+
+    private Instant createdAt;
+
+    private Instant updatedAt;
+
+    public OrchestrationJob(String id, String product, Map<String, Object> request) {
+        this.id = id;
+        this.product = product;
+        this.request = request;
+        this.status = JobStatus.QUEUED;
+        this.createdAt = Instant.now();
+        this.updatedAt = this.createdAt;
+    }
+
+    public OrchestrationJob() {
+    }
+
+    @PreUpdate
+    void touch() {
+        this.updatedAt = Instant.now();
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public String getProduct() {
+        return product;
+    }
+
+    public void setProduct(String product) {
+        this.product = product;
+    }
+
+    public JobStatus getStatus() {
+        return status;
+    }
+
+    public void setStatus(JobStatus status) {
+        this.status = status;
+    }
+
+    public Map<String, Object> getRequest() {
+        return request;
+    }
+
+    public void setRequest(Map<String, Object> request) {
+        this.request = request;
+    }
+
+    public Map<String, Object> getCheckpoint() {
+        return checkpoint;
+    }
+
+    public void setCheckpoint(Map<String, Object> checkpoint) {
+        this.checkpoint = checkpoint;
+    }
+
+    public Map<String, Object> getResult() {
+        return result;
+    }
+
+    public void setResult(Map<String, Object> result) {
+        this.result = result;
+    }
+
+    public int getAttempts() {
+        return attempts;
+    }
+
+    public void setAttempts(int attempts) {
+        this.attempts = attempts;
+    }
+
+    public String getOwner() {
+        return owner;
+    }
+
+    public void setOwner(String owner) {
+        this.owner = owner;
+    }
+
+    public Instant getLeaseUntil() {
+        return leaseUntil;
+    }
+
+    public void setLeaseUntil(Instant leaseUntil) {
+        this.leaseUntil = leaseUntil;
+    }
+
+    public Instant getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(Instant createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    public Instant getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(Instant updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+}
@@ -0,0 +1,14 @@
+package com.example.orchestrator.model;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+public record Pagination(
+        @JsonProperty("items") String items,             // Nullable, path to the item array in a page, the page itself when absent
+        @JsonProperty("next") String next,               // Nullable, path to the next cursor or link in a page, the Link header when absent
+        @JsonProperty("cursorParam") String cursorParam, // Nullable, query parameter the next cursor is sent in; 'next' is a link when absent
+        @JsonProperty("maxPages") Integer maxPages,      // Nullable, defaults to orchestrator.http.paginate.max-pages; a result cut off there has "truncated": true
+        @JsonProperty("prefetch") Boolean prefetch,      // Nullable, fetch the next page while the current one is aggregated
+        @JsonProperty("aggregate") String aggregate,     // Nullable, "collect" (default), "first", "count" or "sum"
+        @JsonProperty("field") String field,             // Nullable, path within an item summed by the "sum" aggregate
+        @JsonProperty("limit") Integer limit             // Nullable, number of items kept by "first" and the most "collect" may buffer
+) {}
@@ -9,5 +9,10 @@ public record Specification(
         @JsonProperty("description") String description,
         @JsonProperty("input") Input input,
         @JsonProperty("steps") List<Step> steps,
-        @JsonProperty("output") Output output
-) {}
\ No newline at end of file
+        @JsonProperty("output") Output output,
+        @JsonProperty("transactional") Boolean transactional // Nullable, run all db steps in one transaction, defaults to orchestrator.db.transaction-per-orchestration
+) {
+    public Specification(String name, String description, Input input, List<Step> steps, Output output) {
+        this(name, description, input, steps, output, null);
+    }
+}
\ No newline at end of file
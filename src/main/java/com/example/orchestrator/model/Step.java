@@ -2,10 +2,8 @@ package com.example.orchestrator.model;
 
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.databind.JsonNode;
-import org.springframework.http.HttpHeaders;
 
 import java.util.Map;
-import java.util.function.Consumer;
 
 public record Step(
         @JsonProperty("id") String id,
@@ -16,5 +14,29 @@ public record Step(
         @JsonProperty("operation") String operation, // Nullable for non-DB steps
         @JsonProperty("table") String table,   // Nullable
         @JsonProperty("data") JsonNode data,   // Nullable, use JsonNode for flexible data types
-        @JsonProperty("output") String output
-) {}
\ No newline at end of file
+        @JsonProperty("output") String output,
+        @JsonProperty("when") String when,     // Nullable, expression that must be true for the step to run
+        @JsonProperty("skipIf") String skipIf, // Nullable, expression that skips the step when true
+        @JsonProperty("items") String items,   // Nullable, collection expression for foreach steps
+        @JsonProperty("as") String as,         // Nullable, element variable name for foreach steps, defaults to "item"
+        @JsonProperty("step") Step step,       // Nullable, template executed per element of a foreach step
+        @JsonProperty("maxConcurrency") Integer maxConcurrency, // Nullable, defaults to 1
+        @JsonProperty("onError") String onError, // Nullable, "stop" (default) or "continue"
+        @JsonProperty("product") String product, // Nullable, product whose spec an orchestrate step runs
+        @JsonProperty("timeoutMs") Long timeoutMs, // Nullable, deadline for an orchestrate step and everything it runs
+        @JsonProperty("paginate") Pagination paginate, // Nullable, follow next-page links of an HTTP GET step and aggregate the items
+        @JsonProperty("query") DbQuery query,  // Nullable, filter, limit and keyset cursor of a DB select step
+        @JsonProperty("engine") String engine, // Nullable, "jpa" or "jdbc" for DB steps, defaults to orchestrator.db.engine
+        @JsonProperty("writeBehind") Boolean writeBehind, // Nullable, fire-and-forget DB insert handed to the background writer
+        @JsonProperty("key") String key        // Nullable, data path that identifies the row of a DB upsert step
+) {
+    public Step(String id, String type, String method, String url, Map<String, String> headers,
+                String operation, String table, JsonNode data, String output) {
+        this(id, type, method, url, headers, operation, table, data, output, null, null);
+    }
+
+    public Step(String id, String type, String method, String url, Map<String, String> headers,
+                String operation, String table, JsonNode data, String output, String when, String skipIf) {
+        this(id, type, method, url, headers, operation, table, data, output, when, skipIf, null, null, null, null, null, null, null, null, null, null, null, null);
+    }
+}
@@ -0,0 +1,27 @@
+package com.example.orchestrator.repository;
+
+import java.util.Locale;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+// One result of an aggregate step: a count of rows or of rows having the field, or the sum, min or max of a numeric field
+public record Aggregation(
+        String name,
+        String function,
+        String field // Null for a plain row count
+) {
+    private static final Pattern EXPRESSION = Pattern.compile("(count|sum|min|max)\\s*(?:\\(\\s*([^()]*?)\\s*\\))?", Pattern.CASE_INSENSITIVE);
+
+    public static Aggregation parse(String name, String expression) {
+        Matcher matcher = EXPRESSION.matcher(expression == null ? "" : expression.trim());
+        if (!matcher.matches()) {
+            throw new IllegalArgumentException("Unsupported aggregate '" + name + "': " + expression + ". Use count, count(field), sum(field), min(field) or max(field).");
+        }
+        String function = matcher.group(1).toLowerCase(Locale.ROOT);
+        String field = matcher.group(2) == null || matcher.group(2).isEmpty() || matcher.group(2).equals("*") ? null : matcher.group(2);
+        if (field == null && !function.equals("count")) {
+            throw new IllegalArgumentException("Aggregate '" + name + "' needs a field for " + function + ".");
+        }
+        return new Aggregation(name, function, field);
+    }
+}
@@ -0,0 +1,81 @@
+package com.example.orchestrator.repository;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// In-memory evaluation of aggregates with the semantics of JsonPushdown: sum, min and max only see numeric fields,
+// count(field) counts the rows where the field is present and not null. Groups keep the order of their first row.
+final class Aggregator {
+
+    private final List<String> groupBy;
+    private final List<Aggregation> aggregations;
+    private final Map<List<Object>, Object[]> groups = new LinkedHashMap<>();
+
+    Aggregator(List<String> groupBy, List<Aggregation> aggregations) {
+        this.groupBy = groupBy;
+        this.aggregations = aggregations;
+    }
+
+    void add(Map<String, Object> data) {
+        List<Object> key = new ArrayList<>(groupBy.size());
+        for (String field : groupBy) {
+            key.add(DataPredicates.valueAt(data, field));
+        }
+        Object[] values = groups.computeIfAbsent(key, group -> new Object[aggregations.size()]);
+        for (int i = 0; i < values.length; i++) {
+            Aggregation aggregation = aggregations.get(i);
+            Object value = aggregation.field() != null ? DataPredicates.valueAt(data, aggregation.field()) : null;
+            if (aggregation.function().equals("count")) {
+                if (aggregation.field() == null || value != null) {
+                    values[i] = values[i] == null ? 1L : (Long) values[i] + 1;
+                }
+                continue;
+            }
+            if (!(value instanceof Number number)) {
+                continue;
+            }
+            BigDecimal decimal = new BigDecimal(number.toString());
+            BigDecimal current = (BigDecimal) values[i];
+            values[i] = switch (aggregation.function()) {
+                case "sum" -> current == null ? decimal : current.add(decimal);
+                case "min" -> current == null || decimal.compareTo(current) < 0 ? decimal : current;
+                default -> current == null || decimal.compareTo(current) > 0 ? decimal : current;
+            };
+        }
+    }
+
+    // Without groupBy there is always exactly one row, also when nothing matched
+    List<Map<String, Object>> results() {
+        if (groupBy.isEmpty() && groups.isEmpty()) {
+            groups.put(List.of(), new Object[aggregations.size()]);
+        }
+        List<Map<String, Object>> rows = new ArrayList<>(groups.size());
+        groups.forEach((key, values) -> {
+            Map<String, Object> row = new LinkedHashMap<>();
+            for (int i = 0; i < groupBy.size(); i++) {
+                row.put(groupBy.get(i), key.get(i));
+            }
+            for (int i = 0; i < values.length; i++) {
+                Object value = values[i];
+                row.put(aggregations.get(i).name(), value == null && aggregations.get(i).function().equals("count") ? 0L : number(value));
+            }
+            rows.add(row);
+        });
+        return rows;
+    }
+
+    // Whole numbers come back as long, others as exact decimals
+    static Object number(Object value) {
+        if (!(value instanceof BigDecimal decimal)) {
+            return value;
+        }
+        BigDecimal stripped = decimal.stripTrailingZeros();
+        if (stripped.scale() <= 0 && stripped.precision() - stripped.scale() < 19) {
+            return stripped.longValueExact();
+        }
+        return stripped;
+    }
+}
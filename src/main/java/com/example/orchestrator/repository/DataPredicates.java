@@ -0,0 +1,65 @@
+package com.example.orchestrator.repository;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+// In-memory evaluation of select predicates with the semantics of JsonPushdown: scalars compare the (dotted) data
+// field as text like ->> does, object and array values must be contained in the field like @> requires
+final class DataPredicates {
+
+    private DataPredicates() {
+    }
+
+    static boolean matches(Map<String, Object> data, Map<String, Object> where) {
+        for (Map.Entry<String, Object> predicate : where.entrySet()) {
+            Object value = valueAt(data, predicate.getKey());
+            Object expected = predicate.getValue();
+            boolean matched = expected instanceof Map || expected instanceof List
+                    ? contains(value, expected)
+                    : value != null && !(value instanceof Map) && !(value instanceof List) && textEquals(value, expected);
+            if (!matched) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    static Object valueAt(Map<String, Object> data, String path) {
+        Object value = data;
+        for (String segment : path.split("\\.")) {
+            value = value instanceof Map<?, ?> map ? map.get(segment) : null;
+        }
+        return value;
+    }
+
+    private static boolean contains(Object actual, Object expected) {
+        if (expected instanceof Map<?, ?> expectedMap) {
+            if (!(actual instanceof Map<?, ?> actualMap)) {
+                return false;
+            }
+            for (Map.Entry<?, ?> entry : expectedMap.entrySet()) {
+                if (!contains(actualMap.get(entry.getKey()), entry.getValue())) {
+                    return false;
+                }
+            }
+            return true;
+        }
+        if (expected instanceof List<?> expectedList) {
+            if (!(actual instanceof List<?> actualList)) {
+                return false;
+            }
+            for (Object element : expectedList) {
+                if (actualList.stream().noneMatch(candidate -> contains(candidate, element))) {
+                    return false;
+                }
+            }
+            return true;
+        }
+        return actual != null && !(actual instanceof Map) && !(actual instanceof List) && textEquals(actual, expected);
+    }
+
+    private static boolean textEquals(Object actual, Object expected) {
+        return Objects.equals(String.valueOf(actual), String.valueOf(expected));
+    }
+}
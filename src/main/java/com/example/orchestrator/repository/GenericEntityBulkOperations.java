@@ -0,0 +1,8 @@
+package com.example.orchestrator.repository;
+
+import java.util.Map;
+
+public interface GenericEntityBulkOperations {
+    // Inserts every row into the logical table in one transaction, flushing a JDBC batch every batchSize rows
+    int insertAll(String tableName, Iterable<Map<String, Object>> rows, int batchSize);
+}
@@ -0,0 +1,31 @@
+package com.example.orchestrator.repository;
+
+import com.example.orchestrator.model.GenericEntity;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Map;
+
+class GenericEntityBulkOperationsImpl implements GenericEntityBulkOperations {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    @Transactional
+    public int insertAll(String tableName, Iterable<Map<String, Object>> rows, int batchSize) {
+        int count = 0;
+        for (Map<String, Object> data : rows) {
+            entityManager.persist(new GenericEntity(tableName, data));
+            if (++count % batchSize == 0) {
+                // Sends the batch and drops the inserted entities so the persistence context stays small
+                entityManager.flush();
+                entityManager.clear();
+            }
+        }
+        entityManager.flush();
+        entityManager.clear();
+        return count;
+    }
+}
@@ -0,0 +1,14 @@
+package com.example.orchestrator.repository;
+
+import com.example.orchestrator.model.GenericEntity;
+
+import java.util.List;
+import java.util.Map;
+
+public interface GenericEntityQueryOperations {
+    // Rows of the logical table in id order whose data fields equal every where value, starting after the given id
+    List<GenericEntity> findPage(String tableName, Map<String, Object> where, Long afterId, int offset, Integer limit);
+
+    // Same rows as findPage, fetched lazily fetchSize rows at a time while iterating; every iteration runs the query again
+    Iterable<GenericEntity> streamPages(String tableName, Map<String, Object> where, Long afterId, int offset, Integer limit, int fetchSize);
+}
@@ -0,0 +1,110 @@
+package com.example.orchestrator.repository;
+
+import com.example.orchestrator.model.GenericEntity;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Query;
+import jakarta.persistence.TypedQuery;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.CollectionUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Paged selects over one logical table. Rows are always read in id order through the (tableName, id) index, so
+ * offsets are stable and the last id of a page is a keyset cursor for the next one. Where predicates are pushed into
+ * the SQL where {@link JsonPushdown} supports it, elsewhere the table is scanned in id-ordered chunks and filtered in
+ * memory, so only one chunk and the matches are held at a time. Streamed selects
+ * fetch keyset pages on demand and detach each page once it has been handed out, so heap use does not grow with the
+ * table even while the surrounding persistence context stays open.
+ */
+class GenericEntityQueryOperationsImpl implements GenericEntityQueryOperations {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private final JsonPushdown jsonPushdown;
+    private final int scanChunkSize;
+
+    GenericEntityQueryOperationsImpl(JsonPushdown jsonPushdown, @Value("${orchestrator.db.scan-chunk-size:1000}") int scanChunkSize) {
+        this.jsonPushdown = jsonPushdown;
+        this.scanChunkSize = Math.max(1, scanChunkSize);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<GenericEntity> findPage(String tableName, Map<String, Object> where, Long afterId, int offset, Integer limit) {
+        if (CollectionUtils.isEmpty(where)) {
+            return page(tableName, afterId, offset, limit);
+        }
+        if (jsonPushdown.isSupported()) {
+            return pushedDownPage(tableName, where, afterId, offset, limit);
+        }
+        return scannedPage(tableName, where, afterId, offset, limit);
+    }
+
+    @Override
+    public Iterable<GenericEntity> streamPages(String tableName, Map<String, Object> where, Long afterId, int offset, Integer limit, int fetchSize) {
+        return new KeysetPages((cursor, skip, pageLimit) -> findPage(tableName, where, cursor, skip, pageLimit),
+                fetched -> fetched.forEach(entityManager::detach), afterId, offset, limit, fetchSize);
+    }
+
+    private List<GenericEntity> page(String tableName, Long afterId, int offset, Integer limit) {
+        TypedQuery<GenericEntity> query = entityManager.createQuery(
+                "select e from GenericEntity e where e.tableName = :tableName and e.id > :afterId order by e.id", GenericEntity.class)
+                .setParameter("tableName", tableName)
+                .setParameter("afterId", afterId != null ? afterId : Long.MIN_VALUE)
+                .setFirstResult(offset);
+        if (limit != null) {
+            query.setMaxResults(limit).setHint(HibernateHints.HINT_FETCH_SIZE, limit);
+        }
+        return query.getResultList();
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<GenericEntity> pushedDownPage(String tableName, Map<String, Object> where, Long afterId, int offset, Integer limit) {
+        StringBuilder sql = new StringBuilder("select * from generic_entity where id > ?");
+        List<Object> parameters = new ArrayList<>(List.of(afterId != null ? afterId : Long.MIN_VALUE));
+        jsonPushdown.appendFilter(sql, parameters, tableName, where);
+        sql.append(" order by id");
+
+        Query query = entityManager.createNativeQuery(sql.toString(), GenericEntity.class).setFirstResult(offset);
+        for (int i = 0; i < parameters.size(); i++) {
+            query.setParameter(i + 1, parameters.get(i));
+        }
+        if (limit != null) {
+            query.setMaxResults(limit).setHint(HibernateHints.HINT_FETCH_SIZE, limit);
+        }
+        return query.getResultList();
+    }
+
+    private List<GenericEntity> scannedPage(String tableName, Map<String, Object> where, Long afterId, int offset, Integer limit) {
+        List<GenericEntity> matches = new ArrayList<>();
+        int skipped = 0;
+        Long cursor = afterId;
+        while (true) {
+            List<GenericEntity> chunk = page(tableName, cursor, 0, scanChunkSize);
+            for (GenericEntity entity : chunk) {
+                if (!DataPredicates.matches(entity.getData(), where)) {
+                    entityManager.detach(entity);
+                } else if (skipped < offset) {
+                    skipped++;
+                    entityManager.detach(entity);
+                } else {
+                    matches.add(entity);
+                    if (limit != null && matches.size() >= limit) {
+                        return matches;
+                    }
+                }
+            }
+            if (chunk.size() < scanChunkSize) {
+                return matches;
+            }
+            cursor = chunk.get(chunk.size() - 1).getId();
+        }
+    }
+}
@@ -7,6 +7,6 @@ import org.springframework.stereotype.Repository;
 import java.util.List;
 
 @Repository
-public interface GenericEntityRepository extends JpaRepository<GenericEntity, Long> {
+public interface GenericEntityRepository extends JpaRepository<GenericEntity, Long>, GenericEntityBulkOperations, GenericEntityQueryOperations {
     List<GenericEntity> findByTableName(String tableName);
 }
\ No newline at end of file
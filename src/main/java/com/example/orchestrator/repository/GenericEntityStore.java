@@ -0,0 +1,31 @@
+package com.example.orchestrator.repository;
+
+import com.example.orchestrator.model.GenericEntity;
+
+import java.util.List;
+import java.util.Map;
+
+// Storage engine behind db steps; "jpa" goes through the repository and persistence context, "jdbc" talks SQL directly
+public interface GenericEntityStore {
+
+    String getEngine();
+
+    List<GenericEntity> findPage(String tableName, Map<String, Object> where, Long afterId, int offset, Integer limit);
+
+    Iterable<GenericEntity> streamPages(String tableName, Map<String, Object> where, Long afterId, int offset, Integer limit, int fetchSize);
+
+    GenericEntity insert(String tableName, Map<String, Object> data);
+
+    int insertAll(String tableName, Iterable<Map<String, Object>> rows, int batchSize);
+
+    // Replaces the data of the rows whose keyPath field equals that of data, or inserts data when there is none
+    int upsert(String tableName, String keyPath, Map<String, Object> data);
+
+    // Sets the top-level fields of data on every matching row
+    int update(String tableName, Map<String, Object> where, Map<String, Object> data);
+
+    int delete(String tableName, Map<String, Object> where);
+
+    // One row per group holding the groupBy fields and the named aggregates, a single row without groupBy
+    List<Map<String, Object>> aggregate(String tableName, Map<String, Object> where, List<String> groupBy, List<Aggregation> aggregations);
+}
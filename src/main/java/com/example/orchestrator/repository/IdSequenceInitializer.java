@@ -0,0 +1,62 @@
+package com.example.orchestrator.repository;
+
+import com.example.orchestrator.model.GenericEntity;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.ContextRefreshedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+// Moves the id sequence past the ids already stored in generic_entity and the dedicated tables, e.g. the IDENTITY ids of
+// a database created before ids came from the sequence, for which ddl-auto=update creates the sequence starting at 1.
+// A fresh sequence is moved off its start value too: Hibernate's pooled optimizer handles the initial value differently
+// from every other, and the JDBC engine only mirrors the regular blocks.
+@Slf4j
+@Component
+public class IdSequenceInitializer {
+
+    private final JsonPushdown jsonPushdown;
+    private final TableRouter tableRouter;
+    private final JdbcTemplate jdbcTemplate;
+
+    public IdSequenceInitializer(JsonPushdown jsonPushdown, TableRouter tableRouter, JdbcTemplate jdbcTemplate) {
+        this.jsonPushdown = jsonPushdown;
+        this.tableRouter = tableRouter;
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    // Runs once the dedicated tables exist, whose ids come from the same sequence
+    @Order(2)
+    @EventListener(ContextRefreshedEvent.class)
+    public void initialize() {
+        long maxId = maxId(TableRouter.SHARED_TABLE);
+        for (String physicalTable : tableRouter.dedicatedTables().values()) {
+            maxId = Math.max(maxId, maxId(physicalTable));
+        }
+        // The first block a sequence value v hands out is v - ID_ALLOCATION_SIZE + 1 to v
+        long next = maxId + GenericEntity.ID_ALLOCATION_SIZE;
+        boolean moved;
+        if (jsonPushdown.isPostgres()) {
+            // One statement, so a node that already draws from the sequence is never moved back
+            moved = !jdbcTemplate.queryForList("select setval('" + GenericEntity.ID_SEQUENCE + "', ?, false) from " + GenericEntity.ID_SEQUENCE
+                    + " where (case when is_called then last_value + " + GenericEntity.ID_ALLOCATION_SIZE + " else last_value end) < ?",
+                    Long.class, next, next).isEmpty();
+        } else {
+            Long current = jdbcTemplate.queryForObject("select base_value from information_schema.sequences where lower(sequence_name) = ?",
+                    Long.class, GenericEntity.ID_SEQUENCE);
+            moved = current != null && current < next;
+            if (moved) {
+                jdbcTemplate.execute("alter sequence " + GenericEntity.ID_SEQUENCE + " restart with " + next);
+            }
+        }
+        if (moved) {
+            log.info("Moved {} to {}, past the largest stored id {}", GenericEntity.ID_SEQUENCE, next, maxId);
+        }
+    }
+
+    private long maxId(String physicalTable) {
+        Long maxId = jdbcTemplate.queryForObject("select max(id) from " + physicalTable, Long.class);
+        return maxId != null ? maxId : 0;
+    }
+}
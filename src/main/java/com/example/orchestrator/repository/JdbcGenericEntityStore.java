@@ -0,0 +1,343 @@
+package com.example.orchestrator.repository;
+
+import com.example.orchestrator.model.GenericEntity;
+import com.example.orchestrator.util.DataCodec;
+import com.example.orchestrator.util.DataColumnConverter;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.support.JdbcUtils;
+import org.springframework.jdbc.support.MetaDataAccessException;
+import org.springframework.jdbc.support.incrementer.DataFieldMaxValueIncrementer;
+import org.springframework.jdbc.support.incrementer.H2SequenceMaxValueIncrementer;
+import org.springframework.jdbc.support.incrementer.PostgresSequenceMaxValueIncrementer;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.util.CollectionUtils;
+
+import java.sql.DatabaseMetaData;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.UnaryOperator;
+
+/**
+ * Plain JDBC implementation of the generic entity table. Rows are mapped straight into detached GenericEntity
+ * values whose data stays lazy, with no persistence context, dirty checking or entity lifecycle. Statements use
+ * fixed SQL text per physical table, so the driver's prepared statement cache serves them. Ids come from the same
+ * pooled sequence Hibernate uses, allocated in the same blocks. {@link IdSequenceInitializer} moves the sequence off
+ * its start value before the first insert, the one value Hibernate's optimizer treats specially, so the blocks of the
+ * two engines never overlap.
+ */
+@Component
+public class JdbcGenericEntityStore implements GenericEntityStore {
+
+    private static final String SELECT = "select id, table_name, data, data_bin from %s where id > ?";
+    private static final String INSERT = "insert into %s (id, table_name, data, data_bin) values (?, ?, ?, ?)";
+    private static final String UPDATE_BY_ID = "update %s set data = ?, data_bin = ? where id = ?";
+    private static final String DELETE_BY_ID = "delete from %s where id = ?";
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final JdbcTemplate jdbcTemplate;
+    private final DataColumnConverter.Text textConverter;
+    private final DataColumnConverter.Binary binaryConverter;
+    private final JsonPushdown jsonPushdown;
+    private final TableRouter tableRouter;
+    private final int scanChunkSize;
+    private final RowMapper<GenericEntity> rowMapper;
+    private final ReentrantLock[] keyLocks = new ReentrantLock[64];
+    private volatile DataFieldMaxValueIncrementer sequence;
+    private long nextId;
+    private long maxId = -1;
+
+    public JdbcGenericEntityStore(JdbcTemplate jdbcTemplate, DataCodec dataCodec, JsonPushdown jsonPushdown, TableRouter tableRouter,
+                                  @Value("${orchestrator.db.scan-chunk-size:1000}") int scanChunkSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.textConverter = new DataColumnConverter.Text(dataCodec);
+        this.binaryConverter = new DataColumnConverter.Binary(dataCodec);
+        this.jsonPushdown = jsonPushdown;
+        this.tableRouter = tableRouter;
+        this.scanChunkSize = Math.max(1, scanChunkSize);
+        for (int i = 0; i < keyLocks.length; i++) {
+            keyLocks[i] = new ReentrantLock();
+        }
+        this.rowMapper = (resultSet, rowNum) -> {
+            GenericEntity entity = new GenericEntity();
+            entity.setId(resultSet.getLong(1));
+            entity.setTableName(resultSet.getString(2));
+            byte[] binary = resultSet.getBytes(4);
+            entity.setData(binary != null ? binaryConverter.convertToEntityAttribute(binary) : textConverter.convertToEntityAttribute(resultSet.getString(3)));
+            return entity;
+        };
+    }
+
+    @Override
+    public String getEngine() {
+        return "jdbc";
+    }
+
+    @Override
+    public List<GenericEntity> findPage(String tableName, Map<String, Object> where, Long afterId, int offset, Integer limit) {
+        if (CollectionUtils.isEmpty(where)) {
+            return page(tableName, null, afterId, offset, limit);
+        }
+        if (jsonPushdown.isSupported()) {
+            return page(tableName, where, afterId, offset, limit);
+        }
+        List<GenericEntity> matches = new ArrayList<>();
+        int skipped = 0;
+        Long cursor = afterId;
+        while (true) {
+            List<GenericEntity> chunk = page(tableName, null, cursor, 0, scanChunkSize);
+            for (GenericEntity entity : chunk) {
+                if (!DataPredicates.matches(entity.getData(), where)) {
+                    continue;
+                }
+                if (skipped < offset) {
+                    skipped++;
+                } else {
+                    matches.add(entity);
+                    if (limit != null && matches.size() >= limit) {
+                        return matches;
+                    }
+                }
+            }
+            if (chunk.size() < scanChunkSize) {
+                return matches;
+            }
+            cursor = chunk.get(chunk.size() - 1).getId();
+        }
+    }
+
+    @Override
+    public Iterable<GenericEntity> streamPages(String tableName, Map<String, Object> where, Long afterId, int offset, Integer limit, int fetchSize) {
+        return new KeysetPages((cursor, skip, pageLimit) -> findPage(tableName, where, cursor, skip, pageLimit),
+                fetched -> { }, afterId, offset, limit, fetchSize);
+    }
+
+    private List<GenericEntity> page(String tableName, Map<String, Object> where, Long afterId, int offset, Integer limit) {
+        StringBuilder sql = new StringBuilder(SELECT.formatted(tableRouter.physicalTable(tableName)));
+        List<Object> parameters = new ArrayList<>(List.of(afterId != null ? afterId : Long.MIN_VALUE));
+        if (where != null) {
+            jsonPushdown.appendFilter(sql, parameters, tableName, where);
+        } else {
+            sql.append(" and table_name = ?");
+            parameters.add(tableName);
+        }
+        sql.append(" order by id limit ? offset ?");
+        parameters.add(limit != null ? limit : Integer.MAX_VALUE);
+        parameters.add(offset);
+        return jdbcTemplate.query(sql.toString(), rowMapper, parameters.toArray());
+    }
+
+    @Override
+    public GenericEntity insert(String tableName, Map<String, Object> data) {
+        GenericEntity entity = new GenericEntity(tableName, data);
+        entity.setId(allocateId());
+        jdbcTemplate.update(INSERT.formatted(tableRouter.physicalTable(tableName)), entity.getId(), tableName, textConverter.convertToDatabaseColumn(data), binaryConverter.convertToDatabaseColumn(data));
+        return entity;
+    }
+
+    @Override
+    @Transactional
+    public int insertAll(String tableName, Iterable<Map<String, Object>> rows, int batchSize) {
+        String insert = INSERT.formatted(tableRouter.physicalTable(tableName));
+        List<Object[]> batch = new ArrayList<>(batchSize);
+        int count = 0;
+        for (Map<String, Object> data : rows) {
+            batch.add(new Object[]{allocateId(), tableName, textConverter.convertToDatabaseColumn(data), binaryConverter.convertToDatabaseColumn(data)});
+            if (batch.size() == batchSize) {
+                jdbcTemplate.batchUpdate(insert, batch);
+                count += batch.size();
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) {
+            jdbcTemplate.batchUpdate(insert, batch);
+            count += batch.size();
+        }
+        return count;
+    }
+
+    // The key is not backed by a unique index, so upserts of the same key are serialized with a lock held until the
+    // transaction ends. With pushdown one MERGE statement (an update, then an insert before PostgreSQL 15), otherwise
+    // the matches are found by a scan and rewritten in one batch.
+    @Override
+    @Transactional
+    public int upsert(String tableName, String keyPath, Map<String, Object> data) {
+        Object key = DataPredicates.valueAt(data, keyPath);
+        if (key == null || key instanceof Map || key instanceof List) {
+            throw new IllegalArgumentException("Upsert key '" + keyPath + "' must be a scalar field of the data.");
+        }
+        lockKey(tableName + ":" + keyPath + "=" + key);
+        Map<String, Object> where = Map.of(keyPath, key);
+        String physicalTable = tableRouter.physicalTable(tableName);
+        if (jsonPushdown.isSupported()) {
+            String document = textConverter.convertToDatabaseColumn(data);
+            List<Object> parameters = new ArrayList<>();
+            if (!jsonPushdown.supportsMerge()) {
+                parameters.add(document);
+                String condition = jsonPushdown.condition(parameters, tableName, where);
+                int updated = jdbcTemplate.update("update " + physicalTable + " set data = ? where " + condition, parameters.toArray());
+                if (updated > 0) {
+                    return updated;
+                }
+                insert(tableName, data);
+                return 1;
+            }
+            String condition = jsonPushdown.condition(parameters, tableName, where);
+            parameters.addAll(List.of(document, allocateId(), tableName, document));
+            return jdbcTemplate.update("merge into " + physicalTable + " using (select 1) as source on " + condition
+                    + " when matched then update set data = ? when not matched then insert (id, table_name, data, data_bin) values (?, ?, ?, null)",
+                    parameters.toArray());
+        }
+        List<GenericEntity> matches = findPage(tableName, where, null, 0, null);
+        if (matches.isEmpty()) {
+            insert(tableName, data);
+            return 1;
+        }
+        return rewrite(physicalTable, matches, existing -> data);
+    }
+
+    // A transaction-scoped advisory lock on PostgreSQL, which holds across nodes; elsewhere a lock in this process only
+    private void lockKey(String lockName) {
+        if (jsonPushdown.isPostgres()) {
+            jdbcTemplate.query("select pg_advisory_xact_lock(hashtext(?))", resultSet -> {}, lockName);
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            throw new IllegalStateException("Upsert requires an active transaction");
+        }
+        ReentrantLock lock = keyLocks[Math.floorMod(lockName.hashCode(), keyLocks.length)];
+        lock.lock();
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                lock.unlock();
+            }
+        });
+    }
+
+    @Override
+    @Transactional
+    public int update(String tableName, Map<String, Object> where, Map<String, Object> data) {
+        String physicalTable = tableRouter.physicalTable(tableName);
+        if (jsonPushdown.isSupported()) {
+            String merged = jsonPushdown.jsonbColumn() + " || cast(? as jsonb)";
+            List<Object> parameters = new ArrayList<>(List.of(textConverter.convertToDatabaseColumn(data)));
+            String condition = jsonPushdown.condition(parameters, tableName, where != null ? where : Map.of());
+            return jdbcTemplate.update("update " + physicalTable + " set data = " + (jsonPushdown.isJsonbColumn() ? merged : "cast(" + merged + " as text)")
+                    + " where " + condition, parameters.toArray());
+        }
+        return rewrite(physicalTable, findPage(tableName, where, null, 0, null), existing -> {
+            Map<String, Object> merged = new LinkedHashMap<>(existing);
+            merged.putAll(data);
+            return merged;
+        });
+    }
+
+    @Override
+    @Transactional
+    public int delete(String tableName, Map<String, Object> where) {
+        String physicalTable = tableRouter.physicalTable(tableName);
+        if (jsonPushdown.isSupported()) {
+            List<Object> parameters = new ArrayList<>();
+            String condition = jsonPushdown.condition(parameters, tableName, where != null ? where : Map.of());
+            return jdbcTemplate.update("delete from " + physicalTable + " where " + condition, parameters.toArray());
+        }
+        List<Object[]> ids = findPage(tableName, where, null, 0, null).stream().map(entity -> new Object[]{entity.getId()}).toList();
+        if (!ids.isEmpty()) {
+            jdbcTemplate.batchUpdate(DELETE_BY_ID.formatted(physicalTable), ids);
+        }
+        return ids.size();
+    }
+
+    // With pushdown one grouped SQL query, otherwise a streamed scan that keeps only the running aggregates
+    @Override
+    public List<Map<String, Object>> aggregate(String tableName, Map<String, Object> where, List<String> groupBy, List<Aggregation> aggregations) {
+        if (!jsonPushdown.isSupported()) {
+            Aggregator aggregator = new Aggregator(groupBy, aggregations);
+            for (GenericEntity entity : streamPages(tableName, where, null, 0, null, scanChunkSize)) {
+                aggregator.add(entity.getData());
+            }
+            return aggregator.results();
+        }
+        List<String> groupExpressions = groupBy.stream().map(field -> JsonPushdown.jsonPath(jsonPushdown.jsonbColumn(), field.split("\\."))).toList();
+        List<String> columns = new ArrayList<>();
+        groupExpressions.forEach(expression -> columns.add("cast(" + expression + " as text)"));
+        aggregations.forEach(aggregation -> columns.add(jsonPushdown.aggregate(aggregation)));
+        List<Object> parameters = new ArrayList<>();
+        StringBuilder sql = new StringBuilder("select ").append(String.join(", ", columns))
+                .append(" from ").append(tableRouter.physicalTable(tableName))
+                .append(" where ").append(jsonPushdown.condition(parameters, tableName, where != null ? where : Map.of()));
+        if (!groupExpressions.isEmpty()) {
+            sql.append(" group by ").append(String.join(", ", groupExpressions));
+        }
+        return jdbcTemplate.query(sql.toString(), (resultSet, rowNum) -> {
+            Map<String, Object> row = new LinkedHashMap<>();
+            for (int i = 0; i < groupBy.size(); i++) {
+                row.put(groupBy.get(i), groupValue(resultSet.getString(i + 1)));
+            }
+            for (int i = 0; i < aggregations.size(); i++) {
+                row.put(aggregations.get(i).name(), Aggregator.number(resultSet.getObject(groupBy.size() + i + 1)));
+            }
+            return row;
+        }, parameters.toArray());
+    }
+
+    // Group values come back as jsonb text so numbers, booleans and strings keep their JSON type
+    private Object groupValue(String json) {
+        if (json == null) {
+            return null;
+        }
+        try {
+            return objectMapper.readValue(json, Object.class);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Unreadable group value of aggregate query: " + json, e);
+        }
+    }
+
+    private int rewrite(String physicalTable, List<GenericEntity> matches, UnaryOperator<Map<String, Object>> change) {
+        List<Object[]> batch = new ArrayList<>(matches.size());
+        for (GenericEntity entity : matches) {
+            Map<String, Object> data = change.apply(entity.getData());
+            batch.add(new Object[]{textConverter.convertToDatabaseColumn(data), binaryConverter.convertToDatabaseColumn(data), entity.getId()});
+        }
+        if (!batch.isEmpty()) {
+            jdbcTemplate.batchUpdate(UPDATE_BY_ID.formatted(physicalTable), batch);
+        }
+        return batch.size();
+    }
+
+    // Same block semantics as Hibernate's pooled optimizer: a sequence value v hands out the ids v - 49 to v
+    private synchronized long allocateId() {
+        if (nextId > maxId) {
+            maxId = sequence().nextLongValue();
+            nextId = Math.max(1, maxId - GenericEntity.ID_ALLOCATION_SIZE + 1);
+        }
+        return nextId++;
+    }
+
+    private DataFieldMaxValueIncrementer sequence() {
+        DataFieldMaxValueIncrementer result = sequence;
+        if (result == null) {
+            String product;
+            try {
+                product = JdbcUtils.extractDatabaseMetaData(jdbcTemplate.getDataSource(), DatabaseMetaData::getDatabaseProductName);
+            } catch (MetaDataAccessException e) {
+                throw new IllegalStateException("Failed to detect the database of the JDBC db engine", e);
+            }
+            result = "PostgreSQL".equalsIgnoreCase(product)
+                    ? new PostgresSequenceMaxValueIncrementer(jdbcTemplate.getDataSource(), GenericEntity.ID_SEQUENCE)
+                    : new H2SequenceMaxValueIncrementer(jdbcTemplate.getDataSource(), GenericEntity.ID_SEQUENCE);
+            sequence = result;
+        }
+        return result;
+    }
+}
@@ -0,0 +1,102 @@
+package com.example.orchestrator.repository;
+
+import com.example.orchestrator.model.GenericEntity;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+import java.util.function.IntSupplier;
+
+// Logical tables routed to a dedicated physical table are not mapped by Hibernate and go to the JDBC engine, and so do
+// the set-based upsert, update, delete and aggregate, which run as single statements instead of load-modify-save
+@Component
+public class JpaGenericEntityStore implements GenericEntityStore {
+
+    private final GenericEntityRepository genericEntityRepository;
+    private final TableRouter tableRouter;
+    private final JdbcGenericEntityStore jdbcStore;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    public JpaGenericEntityStore(GenericEntityRepository genericEntityRepository, TableRouter tableRouter, JdbcGenericEntityStore jdbcStore) {
+        this.genericEntityRepository = genericEntityRepository;
+        this.tableRouter = tableRouter;
+        this.jdbcStore = jdbcStore;
+    }
+
+    @Override
+    public String getEngine() {
+        return "jpa";
+    }
+
+    @Override
+    public List<GenericEntity> findPage(String tableName, Map<String, Object> where, Long afterId, int offset, Integer limit) {
+        if (tableRouter.isDedicated(tableName)) {
+            return jdbcStore.findPage(tableName, where, afterId, offset, limit);
+        }
+        return genericEntityRepository.findPage(tableName, where, afterId, offset, limit);
+    }
+
+    @Override
+    public Iterable<GenericEntity> streamPages(String tableName, Map<String, Object> where, Long afterId, int offset, Integer limit, int fetchSize) {
+        if (tableRouter.isDedicated(tableName)) {
+            return jdbcStore.streamPages(tableName, where, afterId, offset, limit, fetchSize);
+        }
+        return genericEntityRepository.streamPages(tableName, where, afterId, offset, limit, fetchSize);
+    }
+
+    @Override
+    public GenericEntity insert(String tableName, Map<String, Object> data) {
+        if (tableRouter.isDedicated(tableName)) {
+            return jdbcStore.insert(tableName, data);
+        }
+        return genericEntityRepository.save(new GenericEntity(tableName, data));
+    }
+
+    @Override
+    public int insertAll(String tableName, Iterable<Map<String, Object>> rows, int batchSize) {
+        if (tableRouter.isDedicated(tableName)) {
+            return jdbcStore.insertAll(tableName, rows, batchSize);
+        }
+        return genericEntityRepository.insertAll(tableName, rows, batchSize);
+    }
+
+    @Override
+    public int upsert(String tableName, String keyPath, Map<String, Object> data) {
+        return bypassingPersistenceContext(() -> jdbcStore.upsert(tableName, keyPath, data));
+    }
+
+    @Override
+    public int update(String tableName, Map<String, Object> where, Map<String, Object> data) {
+        return bypassingPersistenceContext(() -> jdbcStore.update(tableName, where, data));
+    }
+
+    @Override
+    public int delete(String tableName, Map<String, Object> where) {
+        return bypassingPersistenceContext(() -> jdbcStore.delete(tableName, where));
+    }
+
+    @Override
+    public List<Map<String, Object>> aggregate(String tableName, Map<String, Object> where, List<String> groupBy, List<Aggregation> aggregations) {
+        flushPendingWrites();
+        return jdbcStore.aggregate(tableName, where, groupBy, aggregations);
+    }
+
+    // Managed entities the statement may have changed are dropped
+    private int bypassingPersistenceContext(IntSupplier statement) {
+        flushPendingWrites();
+        int affected = statement.getAsInt();
+        entityManager.clear();
+        return affected;
+    }
+
+    // Pending inserts reach the database before a statement that runs outside the persistence context
+    private void flushPendingWrites() {
+        if (entityManager.isJoinedToTransaction()) {
+            entityManager.flush();
+        }
+    }
+}
@@ -0,0 +1,161 @@
+package com.example.orchestrator.repository;
+
+import com.example.orchestrator.util.DataCodec;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.support.JdbcUtils;
+import org.springframework.jdbc.support.MetaDataAccessException;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.DatabaseMetaData;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Translates select predicates into PostgreSQL JSON operators. Scalar values compare the field as text with
+ * {@code ->>}, object and array values become a {@code @>} containment test, which a GIN index serves. When the
+ * data column has been converted to jsonb the table name and field paths are inlined as literals, so the partial
+ * per-table indexes created by {@link JsonbSchemaInitializer} match the query. Other databases and binary codecs
+ * get no pushdown and filter in memory with {@link DataPredicates}.
+ */
+@Component
+public class JsonPushdown {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final DataSource dataSource;
+    private final boolean binaryCodec;
+    private final boolean jsonbEnabled;
+    private volatile Boolean postgres;
+    private volatile Integer majorVersion;
+
+    public JsonPushdown(DataSource dataSource, DataCodec dataCodec, @Value("${orchestrator.db.jsonb.enabled:false}") boolean jsonbEnabled) {
+        this.dataSource = dataSource;
+        this.binaryCodec = dataCodec.isBinary();
+        this.jsonbEnabled = jsonbEnabled;
+    }
+
+    public boolean isSupported() {
+        return !binaryCodec && isPostgres();
+    }
+
+    public boolean isJsonbColumn() {
+        return jsonbEnabled && isSupported();
+    }
+
+    // Appends the table condition and one condition per predicate, collecting positional parameters
+    public void appendFilter(StringBuilder sql, List<Object> parameters, String tableName, Map<String, Object> where) {
+        sql.append(" and ").append(condition(parameters, tableName, where));
+    }
+
+    public String condition(List<Object> parameters, String tableName, Map<String, Object> where) {
+        boolean jsonb = isJsonbColumn();
+        StringBuilder condition = new StringBuilder();
+        if (jsonb) {
+            condition.append("table_name = ").append(literal(tableName));
+        } else {
+            condition.append("table_name = ?");
+            parameters.add(tableName);
+        }
+        String column = jsonbColumn();
+        for (Map.Entry<String, Object> predicate : where.entrySet()) {
+            String[] path = predicate.getKey().split("\\.");
+            Object value = predicate.getValue();
+            if (value instanceof Map || value instanceof List) {
+                condition.append(" and ").append(column).append(" @> cast(? as jsonb)");
+                parameters.add(containment(path, value));
+            } else {
+                condition.append(" and ").append(textPath(column, path)).append(" = ?");
+                parameters.add(String.valueOf(value));
+            }
+        }
+        return condition.toString();
+    }
+
+    // The data column as a jsonb expression
+    public String jsonbColumn() {
+        return isJsonbColumn() ? "data" : "cast(data as jsonb)";
+    }
+
+    // Aggregate expression with the semantics of Aggregator: sum, min and max only see numeric fields
+    public String aggregate(Aggregation aggregation) {
+        if (aggregation.field() == null) {
+            return "count(*)";
+        }
+        String[] path = aggregation.field().split("\\.");
+        String value = jsonPath(jsonbColumn(), path);
+        if (aggregation.function().equals("count")) {
+            return "count(case when jsonb_typeof(" + value + ") <> 'null' then 1 end)";
+        }
+        return aggregation.function() + "(case when jsonb_typeof(" + value + ") = 'number' then cast(" + textPath(jsonbColumn(), path) + " as numeric) end)";
+    }
+
+    // The field as jsonb, e.g. data->'customer'->'tier'
+    static String jsonPath(String column, String[] path) {
+        StringBuilder expression = new StringBuilder(column);
+        for (String segment : path) {
+            expression.append("->").append(literal(segment));
+        }
+        return expression.toString();
+    }
+
+    // Expression also used by the per-field indexes, e.g. data->'customer'->>'tier'
+    static String textPath(String column, String[] path) {
+        StringBuilder expression = new StringBuilder(column);
+        for (int i = 0; i < path.length; i++) {
+            expression.append(i == path.length - 1 ? "->>" : "->").append(literal(path[i]));
+        }
+        return expression.toString();
+    }
+
+    static String literal(String value) {
+        return "'" + value.replace("'", "''") + "'";
+    }
+
+    private String containment(String[] path, Object value) {
+        Object document = value;
+        for (int i = path.length - 1; i >= 0; i--) {
+            Map<String, Object> parent = new LinkedHashMap<>();
+            parent.put(path[i], document);
+            document = parent;
+        }
+        try {
+            return objectMapper.writeValueAsString(document);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Where value of '" + String.join(".", path) + "' cannot be written as JSON", e);
+        }
+    }
+
+    // MERGE is available from PostgreSQL 15 on
+    public boolean supportsMerge() {
+        return isSupported() && databaseMajorVersion() >= 15;
+    }
+
+    private int databaseMajorVersion() {
+        Integer result = majorVersion;
+        if (result == null) {
+            try {
+                result = JdbcUtils.extractDatabaseMetaData(dataSource, DatabaseMetaData::getDatabaseMajorVersion);
+            } catch (MetaDataAccessException e) {
+                throw new IllegalStateException("Failed to detect the database version", e);
+            }
+            majorVersion = result;
+        }
+        return result;
+    }
+
+    public boolean isPostgres() {
+        Boolean result = postgres;
+        if (result == null) {
+            try {
+                result = "PostgreSQL".equalsIgnoreCase(JdbcUtils.extractDatabaseMetaData(dataSource, DatabaseMetaData::getDatabaseProductName));
+            } catch (MetaDataAccessException e) {
+                throw new IllegalStateException("Failed to detect the database product", e);
+            }
+            postgres = result;
+        }
+        return result;
+    }
+}
@@ -0,0 +1,84 @@
+package com.example.orchestrator.repository;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.event.ContextRefreshedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+// Converts the data column of generic_entity and the dedicated tables to jsonb and creates the indexes declared under
+// orchestrator.db.jsonb.indexes.<logical table>=gin,<field path>,... once the JPA schema exists,
+// in the physical table the logical table is routed to.
+@Slf4j
+@Component
+public class JsonbSchemaInitializer {
+
+    private final JsonPushdown jsonPushdown;
+    private final TableRouter tableRouter;
+    private final JdbcTemplate jdbcTemplate;
+    private final Environment environment;
+
+    public JsonbSchemaInitializer(JsonPushdown jsonPushdown, TableRouter tableRouter, JdbcTemplate jdbcTemplate, Environment environment) {
+        this.jsonPushdown = jsonPushdown;
+        this.tableRouter = tableRouter;
+        this.jdbcTemplate = jdbcTemplate;
+        this.environment = environment;
+    }
+
+    @Order(1)
+    @EventListener(ContextRefreshedEvent.class)
+    public void initialize() {
+        if (!jsonPushdown.isJsonbColumn()) {
+            return;
+        }
+        // Dedicated tables created before jsonb was enabled have a text data column as well
+        convertDataColumn(TableRouter.SHARED_TABLE);
+        tableRouter.dedicatedTables().values().forEach(this::convertDataColumn);
+
+        Map<String, String> indexes = Binder.get(environment)
+                .bind("orchestrator.db.jsonb.indexes", Bindable.mapOf(String.class, String.class))
+                .orElse(Map.of());
+        indexes.forEach((tableName, declaration) -> {
+            for (String entry : declaration.split(",")) {
+                String index = entry.trim();
+                if (!index.isEmpty()) {
+                    jdbcTemplate.execute(indexDdl(tableRouter.physicalTable(tableName), tableName, index));
+                }
+            }
+        });
+        log.info("jsonb storage active for generic_entity and {} dedicated tables with indexes on {} logical tables", tableRouter.dedicatedTables().size(), indexes.size());
+    }
+
+    private void convertDataColumn(String physicalTable) {
+        String type = jdbcTemplate.queryForObject(
+                "select data_type from information_schema.columns where table_name = ? and column_name = 'data'", String.class, physicalTable);
+        if (!"jsonb".equals(type)) {
+            log.info("Converting {}.data from {} to jsonb", physicalTable, type);
+            jdbcTemplate.execute("alter table " + physicalTable + " alter column data type jsonb using data::jsonb");
+        }
+    }
+
+    // Partial indexes, one per logical table; "gin" indexes the whole document for @> containment
+    static String indexDdl(String physicalTable, String tableName, String index) {
+        String name = indexName(tableName, index);
+        String table = " where table_name = " + JsonPushdown.literal(tableName);
+        if ("gin".equalsIgnoreCase(index)) {
+            return "create index if not exists " + name + " on " + physicalTable + " using gin (data jsonb_path_ops)" + table;
+        }
+        return "create index if not exists " + name + " on " + physicalTable + " ((" + JsonPushdown.textPath("data", index.split("\\.")) + "), id)" + table;
+    }
+
+    private static String indexName(String tableName, String index) {
+        String name = ("ge_" + tableName + "_" + index).toLowerCase().replaceAll("[^a-z0-9_]", "_");
+        if (name.length() > 63) {
+            name = name.substring(0, 54) + "_" + Integer.toHexString(name.hashCode());
+        }
+        return name;
+    }
+}
@@ -0,0 +1,70 @@
+package com.example.orchestrator.repository;
+
+import com.example.orchestrator.model.GenericEntity;
+
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.function.Consumer;
+
+// Iterates a select page by page, fetching the next keyset page only when the previous one has been consumed
+final class KeysetPages implements Iterable<GenericEntity> {
+
+    @FunctionalInterface
+    interface PageFetcher {
+        List<GenericEntity> fetch(Long afterId, int offset, int limit);
+    }
+
+    private final PageFetcher fetcher;
+    private final Consumer<List<GenericEntity>> onPageConsumed;
+    private final Long afterId;
+    private final int offset;
+    private final Integer limit;
+    private final int pageSize;
+
+    KeysetPages(PageFetcher fetcher, Consumer<List<GenericEntity>> onPageConsumed, Long afterId, int offset, Integer limit, int pageSize) {
+        this.fetcher = fetcher;
+        this.onPageConsumed = onPageConsumed;
+        this.afterId = afterId;
+        this.offset = offset;
+        this.limit = limit;
+        this.pageSize = Math.max(1, pageSize);
+    }
+
+    @Override
+    public Iterator<GenericEntity> iterator() {
+        return new Iterator<>() {
+            private Iterator<GenericEntity> page = Collections.emptyIterator();
+            private List<GenericEntity> fetched = List.of();
+            private Long cursor = afterId;
+            private int skip = offset;
+            private int remaining = limit != null ? limit : Integer.MAX_VALUE;
+            private boolean exhausted;
+
+            @Override
+            public boolean hasNext() {
+                while (!page.hasNext() && !exhausted && remaining > 0) {
+                    onPageConsumed.accept(fetched);
+                    fetched = fetcher.fetch(cursor, skip, Math.min(pageSize, remaining));
+                    skip = 0;
+                    exhausted = fetched.size() < Math.min(pageSize, remaining);
+                    if (!fetched.isEmpty()) {
+                        cursor = fetched.get(fetched.size() - 1).getId();
+                    }
+                    page = fetched.iterator();
+                }
+                return page.hasNext() && remaining > 0;
+            }
+
+            @Override
+            public GenericEntity next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                remaining--;
+                return page.next();
+            }
+        };
+    }
+}
@@ -0,0 +1,63 @@
+package com.example.orchestrator.repository;
+
+import com.example.orchestrator.model.JobStatus;
+import com.example.orchestrator.model.OrchestrationJob;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+@Repository
+public interface OrchestrationJobRepository extends JpaRepository<OrchestrationJob, String> {
+
+    // Includes the owner's own leased jobs, so a node restarted with the same node-id takes them back without waiting for the lease
+    @Query("select j from OrchestrationJob j where j.status in :statuses"
+            + " and (j.owner is null or j.owner = :owner or j.leaseUntil is null or j.leaseUntil < :now) order by j.createdAt")
+    List<OrchestrationJob> findClaimable(@Param("statuses") Collection<JobStatus> statuses, @Param("owner") String owner, @Param("now") Instant now);
+
+    // Takes the job over unless another node holds an unexpired lease on it; 1 when claimed, 0 otherwise
+    @Modifying
+    @Transactional
+    @Query("update OrchestrationJob j set j.owner = :owner, j.leaseUntil = :leaseUntil where j.id = :id and j.status in :statuses"
+            + " and (j.owner is null or j.owner = :owner or j.leaseUntil is null or j.leaseUntil < :now)")
+    int claim(@Param("id") String id, @Param("statuses") Collection<JobStatus> statuses, @Param("owner") String owner,
+              @Param("leaseUntil") Instant leaseUntil, @Param("now") Instant now);
+
+    @Modifying
+    @Transactional
+    @Query("update OrchestrationJob j set j.leaseUntil = :leaseUntil where j.owner = :owner and j.id in :ids")
+    int renewLeases(@Param("ids") Collection<String> ids, @Param("owner") String owner, @Param("leaseUntil") Instant leaseUntil);
+
+    @Modifying
+    @Transactional
+    @Query("update OrchestrationJob j set j.owner = null, j.leaseUntil = null where j.id = :id and j.owner = :owner")
+    int release(@Param("id") String id, @Param("owner") String owner);
+
+    // The writes of a running job only apply while this node still owns it; 0 means another node claimed it meanwhile
+    @Modifying
+    @Transactional
+    @Query("update OrchestrationJob j set j.status = :status, j.attempts = :attempts, j.leaseUntil = :leaseUntil, j.updatedAt = :now"
+            + " where j.id = :id and j.owner = :owner")
+    int markRunning(@Param("id") String id, @Param("owner") String owner, @Param("status") JobStatus status,
+                    @Param("attempts") int attempts, @Param("leaseUntil") Instant leaseUntil, @Param("now") Instant now);
+
+    @Modifying
+    @Transactional
+    @Query("update OrchestrationJob j set j.checkpoint = :checkpoint, j.leaseUntil = :leaseUntil, j.updatedAt = :now"
+            + " where j.id = :id and j.owner = :owner")
+    int saveCheckpoint(@Param("id") String id, @Param("owner") String owner, @Param("checkpoint") Map<String, Object> checkpoint,
+                       @Param("leaseUntil") Instant leaseUntil, @Param("now") Instant now);
+
+    @Modifying
+    @Transactional
+    @Query("update OrchestrationJob j set j.status = :status, j.result = :result, j.updatedAt = :now where j.id = :id and j.owner = :owner")
+    int finish(@Param("id") String id, @Param("owner") String owner, @Param("status") JobStatus status,
+               @Param("result") Map<String, Object> result, @Param("now") Instant now);
+}
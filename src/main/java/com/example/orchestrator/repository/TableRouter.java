@@ -0,0 +1,92 @@
+package com.example.orchestrator.repository;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.event.ContextRefreshedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.regex.Pattern;
+
+/**
+ * Maps logical tables to physical ones. Every logical table lives in generic_entity unless it is listed under
+ * orchestrator.db.partitions.&lt;logical table&gt;=&lt;physical table&gt;, which gives it a dedicated table with the same
+ * columns, its own indexes and its own vacuum cycle. Dedicated tables are created at startup and share the id
+ * sequence of generic_entity. Hibernate maps generic_entity only, so dedicated tables are served by the JDBC engine.
+ * Rows a logical table still has in generic_entity, e.g. from before it was routed, are moved to its dedicated table at
+ * startup, since reads and writes no longer look for them there.
+ */
+@Slf4j
+@Component
+public class TableRouter {
+
+    public static final String SHARED_TABLE = "generic_entity";
+    private static final Pattern IDENTIFIER = Pattern.compile("[a-z_][a-z0-9_]{0,62}");
+
+    private final JdbcTemplate jdbcTemplate;
+    private final JsonPushdown jsonPushdown;
+    private final TransactionTemplate transactionTemplate;
+    private final Map<String, String> dedicatedTables;
+
+    public TableRouter(JdbcTemplate jdbcTemplate, JsonPushdown jsonPushdown, PlatformTransactionManager transactionManager, Environment environment) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.jsonPushdown = jsonPushdown;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.dedicatedTables = new TreeMap<>(Binder.get(environment)
+                .bind("orchestrator.db.partitions", Bindable.mapOf(String.class, String.class))
+                .orElse(Map.of()));
+        dedicatedTables.forEach((tableName, physicalTable) -> {
+            if (!IDENTIFIER.matcher(physicalTable).matches() || physicalTable.equals(SHARED_TABLE)) {
+                throw new IllegalArgumentException("Invalid physical table for logical table '" + tableName + "': " + physicalTable);
+            }
+        });
+    }
+
+    public String physicalTable(String tableName) {
+        return dedicatedTables.getOrDefault(tableName, SHARED_TABLE);
+    }
+
+    public boolean isDedicated(String tableName) {
+        return dedicatedTables.containsKey(tableName);
+    }
+
+    Map<String, String> dedicatedTables() {
+        return dedicatedTables;
+    }
+
+    // Runs before the jsonb initializer, which indexes the dedicated tables as well
+    @Order(0)
+    @EventListener(ContextRefreshedEvent.class)
+    public void createDedicatedTables() {
+        boolean postgres = jsonPushdown.isPostgres();
+        String dataType = jsonPushdown.isJsonbColumn() ? "jsonb" : "text";
+        String binaryType = postgres ? "bytea" : "blob";
+        dedicatedTables.forEach((tableName, physicalTable) -> {
+            jdbcTemplate.execute("create table if not exists " + physicalTable + " (id bigint not null primary key, table_name varchar(255),"
+                    + " data " + dataType + ", data_bin " + binaryType + ")");
+            moveSharedRows(tableName, physicalTable, postgres ? "cast(data as " + dataType + ")" : "data", postgres);
+            log.info("Logical table '{}' is stored in dedicated table {}", tableName, physicalTable);
+        });
+    }
+
+    // On PostgreSQL rows another starting node already moved are skipped instead of failing on their id
+    private void moveSharedRows(String tableName, String physicalTable, String data, boolean postgres) {
+        Integer moved = transactionTemplate.execute(status -> {
+            int copied = jdbcTemplate.update("insert into " + physicalTable + " (id, table_name, data, data_bin) select id, table_name, " + data
+                    + ", data_bin from " + SHARED_TABLE + " where table_name = ?" + (postgres ? " on conflict (id) do nothing" : ""), tableName);
+            jdbcTemplate.update("delete from " + SHARED_TABLE + " where table_name = ?", tableName);
+            return copied;
+        });
+        if (moved != null && moved > 0) {
+            log.warn("Moved {} rows of logical table '{}' from {} to dedicated table {}", moved, tableName, SHARED_TABLE, physicalTable);
+        }
+    }
+}
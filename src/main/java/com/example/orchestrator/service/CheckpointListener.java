@@ -0,0 +1,6 @@
+package com.example.orchestrator.service;
+
+@FunctionalInterface
+public interface CheckpointListener {
+    void onCheckpoint(OrchestrationCheckpoint checkpoint);
+}
@@ -0,0 +1,7 @@
+package com.example.orchestrator.service;
+
+public class DeadlineExceededException extends RuntimeException {
+    public DeadlineExceededException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,30 @@
+package com.example.orchestrator.service;
+
+import java.time.Instant;
+
+public record ExecutionOptions(
+        OrchestrationCheckpoint resumeFrom,   // Nullable, start from the first step
+        CheckpointListener checkpointListener, // Nullable, no checkpointing
+        int depth,                            // Nesting level, 0 for a top-level orchestration
+        Instant deadline                      // Nullable, no deadline
+) {
+    private static final ExecutionOptions DEFAULTS = new ExecutionOptions(null, null);
+
+    public ExecutionOptions(OrchestrationCheckpoint resumeFrom, CheckpointListener checkpointListener) {
+        this(resumeFrom, checkpointListener, 0, null);
+    }
+
+    public static ExecutionOptions defaults() {
+        return DEFAULTS;
+    }
+
+    // Options for an orchestration started by a step of this one: one level deeper, sharing the tighter of both deadlines
+    public ExecutionOptions nested(Instant stepDeadline) {
+        Instant nestedDeadline = deadline == null || (stepDeadline != null && stepDeadline.isBefore(deadline)) ? stepDeadline : deadline;
+        return new ExecutionOptions(null, null, depth + 1, nestedDeadline);
+    }
+
+    public boolean isExpired() {
+        return deadline != null && !Instant.now().isBefore(deadline);
+    }
+}
@@ -0,0 +1,7 @@
+package com.example.orchestrator.service;
+
+public class JobLeaseLostException extends RuntimeException {
+    public JobLeaseLostException(String message) {
+        super(message);
+    }
+}
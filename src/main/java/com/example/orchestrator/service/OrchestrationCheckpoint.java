@@ -0,0 +1,13 @@
+package com.example.orchestrator.service;
+
+import com.example.orchestrator.model.StepExecutionResult;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.util.List;
+import java.util.Map;
+
+public record OrchestrationCheckpoint(
+        @JsonProperty("completedSteps") int completedSteps,      // Number of leading steps that already ran
+        @JsonProperty("outputs") Map<String, Object> outputs,    // Step outputs stored in the context so far
+        @JsonProperty("trace") List<StepExecutionResult> trace
+) {}
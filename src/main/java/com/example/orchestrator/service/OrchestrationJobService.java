@@ -0,0 +1,228 @@
+package com.example.orchestrator.service;
+
+import com.example.orchestrator.model.JobStatus;
+import com.example.orchestrator.model.OrchestrationJob;
+import com.example.orchestrator.repository.OrchestrationJobRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@Slf4j
+@Service
+public class OrchestrationJobService {
+
+    private static final List<JobStatus> UNFINISHED = List.of(JobStatus.QUEUED, JobStatus.RUNNING);
+
+    private final OrchestratorService orchestratorService;
+    private final OrchestrationJobRepository jobRepository;
+    private final ObjectMapper objectMapper;
+    private final ThreadPoolExecutor workerPool;
+    private final String nodeId;
+    private final long leaseMillis;
+    private final long recoveryIntervalMillis;
+    // Jobs queued or running on this node; their leases are renewed until they finish
+    private final Set<String> localJobs = ConcurrentHashMap.newKeySet();
+    private final ScheduledExecutorService leaseScheduler;
+    private final TransactionTemplate checkpointTransaction;
+
+    public OrchestrationJobService(OrchestratorService orchestratorService,
+                                   OrchestrationJobRepository jobRepository,
+                                   ObjectMapper objectMapper,
+                                   PlatformTransactionManager transactionManager,
+                                   @Value("${orchestrator.jobs.workers:4}") int workers,
+                                   @Value("${orchestrator.jobs.queue-capacity:100}") int queueCapacity,
+                                   @Value("${orchestrator.jobs.node-id:}") String nodeId,
+                                   @Value("${orchestrator.jobs.lease-ms:60000}") long leaseMillis,
+                                   @Value("${orchestrator.jobs.recovery-interval-ms:30000}") long recoveryIntervalMillis) {
+        this.orchestratorService = orchestratorService;
+        this.jobRepository = jobRepository;
+        this.objectMapper = objectMapper;
+        this.nodeId = nodeId == null || nodeId.isBlank() ? UUID.randomUUID().toString() : nodeId;
+        this.leaseMillis = leaseMillis;
+        this.recoveryIntervalMillis = recoveryIntervalMillis;
+        // Checkpoints commit on their own, not with the orchestration's transaction when the spec is transactional
+        this.checkpointTransaction = new TransactionTemplate(transactionManager);
+        this.checkpointTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.leaseScheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "orchestration-job-lease");
+            thread.setDaemon(true);
+            return thread;
+        });
+        AtomicInteger threadCounter = new AtomicInteger();
+        this.workerPool = new ThreadPoolExecutor(workers, workers, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "orchestration-job-" + threadCounter.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    public OrchestrationJob submit(String product, Map<String, Object> requestParams) {
+        OrchestrationJob newJob = new OrchestrationJob(UUID.randomUUID().toString(), product, requestParams);
+        newJob.setOwner(nodeId);
+        newJob.setLeaseUntil(leaseDeadline());
+        // Registered before it is stored, so recovery never takes a job of this node that is about to be queued here
+        localJobs.add(newJob.getId());
+        OrchestrationJob job;
+        try {
+            job = jobRepository.save(newJob);
+        } catch (RuntimeException e) {
+            localJobs.remove(newJob.getId());
+            throw e;
+        }
+        try {
+            workerPool.execute(() -> run(job.getId()));
+        } catch (RejectedExecutionException e) {
+            localJobs.remove(job.getId());
+            jobRepository.delete(job);
+            log.warn("Rejected orchestration job for product {}: job queue is full", product);
+            throw new JobRejectedException("Job queue is full, retry later.");
+        }
+        log.info("Submitted orchestration job {} for product {}", job.getId(), product);
+        return job;
+    }
+
+    public Optional<OrchestrationJob> findJob(String jobId) {
+        return jobRepository.findById(jobId);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void startLeaseMaintenance() {
+        leaseScheduler.scheduleWithFixedDelay(this::recoverUnfinishedJobs, 0, recoveryIntervalMillis, TimeUnit.MILLISECONDS);
+        long renewalMillis = Math.max(1, leaseMillis / 3);
+        leaseScheduler.scheduleWithFixedDelay(this::renewLeases, renewalMillis, renewalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    // Unfinished jobs whose lease expired, because their node stopped or died, are claimed and resumed from their checkpoint,
+    // as are jobs still leased to this node id that are not running here, left by a previous process with the same node-id.
+    // The claim is a conditional update, so of several nodes recovering at once only one takes each job.
+    void recoverUnfinishedJobs() {
+        try {
+            List<OrchestrationJob> claimable = jobRepository.findClaimable(UNFINISHED, nodeId, Instant.now());
+            int recovered = 0;
+            for (OrchestrationJob job : claimable) {
+                if (localJobs.contains(job.getId())
+                        || jobRepository.claim(job.getId(), UNFINISHED, nodeId, leaseDeadline(), Instant.now()) == 0) {
+                    continue;
+                }
+                localJobs.add(job.getId());
+                try {
+                    workerPool.execute(() -> run(job.getId()));
+                    recovered++;
+                } catch (RejectedExecutionException e) {
+                    // The rest is picked up by a later round, here or on another node
+                    localJobs.remove(job.getId());
+                    jobRepository.release(job.getId(), nodeId);
+                    break;
+                }
+            }
+            if (recovered > 0) {
+                log.info("Recovered {} unfinished orchestration jobs", recovered);
+            }
+        } catch (RuntimeException e) {
+            log.error("Recovering unfinished orchestration jobs failed: {}", e.getMessage(), e);
+        }
+    }
+
+    void renewLeases() {
+        try {
+            if (!localJobs.isEmpty()) {
+                jobRepository.renewLeases(List.copyOf(localJobs), nodeId, leaseDeadline());
+            }
+        } catch (RuntimeException e) {
+            log.error("Renewing orchestration job leases failed: {}", e.getMessage(), e);
+        }
+    }
+
+    private Instant leaseDeadline() {
+        return Instant.now().plusMillis(leaseMillis);
+    }
+
+    void run(String jobId) {
+        try {
+            runClaimed(jobId);
+        } finally {
+            localJobs.remove(jobId);
+        }
+    }
+
+    private void runClaimed(String jobId) {
+        OrchestrationJob job = jobRepository.findById(jobId).orElse(null);
+        if (job == null || job.getStatus() == JobStatus.SUCCEEDED || job.getStatus() == JobStatus.FAILED) {
+            return;
+        }
+        if (!nodeId.equals(job.getOwner())) {
+            log.warn("Skipping orchestration job {}: it is claimed by node {}", jobId, job.getOwner());
+            return;
+        }
+        job.setStatus(JobStatus.RUNNING);
+        job.setAttempts(job.getAttempts() + 1);
+        job.setLeaseUntil(leaseDeadline());
+        // Conditional on the owner, so a node that lost its lease never writes over the job's new owner
+        if (jobRepository.markRunning(jobId, nodeId, JobStatus.RUNNING, job.getAttempts(), job.getLeaseUntil(), Instant.now()) == 0) {
+            log.warn("Skipping orchestration job {}: it was claimed by another node", jobId);
+            return;
+        }
+        log.info("Running orchestration job {} for product {} (attempt {})", jobId, job.getProduct(), job.getAttempts());
+
+        OrchestrationCheckpoint resumeFrom = job.getCheckpoint() == null ? null
+                : objectMapper.convertValue(job.getCheckpoint(), OrchestrationCheckpoint.class);
+        CheckpointListener checkpointListener = checkpoint -> {
+            job.setCheckpoint(objectMapper.convertValue(checkpoint, Map.class));
+            job.setLeaseUntil(leaseDeadline());
+            Integer saved = checkpointTransaction.execute(status ->
+                    jobRepository.saveCheckpoint(jobId, nodeId, job.getCheckpoint(), job.getLeaseUntil(), Instant.now()));
+            if (saved == null || saved == 0) {
+                throw new JobLeaseLostException("Orchestration job " + jobId + " was claimed by another node, stopping this run.");
+            }
+        };
+
+        try {
+            Map<String, Object> result = orchestratorService.executeOrchestration(job.getProduct(), job.getRequest(),
+                    new ExecutionOptions(resumeFrom, checkpointListener));
+            job.setResult(result);
+            job.setStatus("success".equals(result.get("status")) ? JobStatus.SUCCEEDED : JobStatus.FAILED);
+        } catch (Exception e) {
+            log.error("Orchestration job {} failed: {}", jobId, e.getMessage(), e);
+            job.setResult(Map.of("status", "error", "error", Map.of("message", String.valueOf(e.getMessage()))));
+            job.setStatus(JobStatus.FAILED);
+        }
+        if (jobRepository.finish(jobId, nodeId, job.getStatus(), job.getResult(), Instant.now()) == 0) {
+            log.warn("Discarding the result of orchestration job {}: it was claimed by another node", jobId);
+            return;
+        }
+        log.info("Orchestration job {} finished with status {}", jobId, job.getStatus());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        // Running jobs are not interrupted; whatever is still unfinished when the JVM exits is resumed from its checkpoint
+        // once its lease expires
+        leaseScheduler.shutdownNow();
+        workerPool.shutdown();
+    }
+}
@@ -0,0 +1,78 @@
+package com.example.orchestrator.service;
+
+import com.example.orchestrator.model.Specification;
+import com.example.orchestrator.model.Step;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Optionally runs a whole orchestration in one transaction, so all of its db steps share a single connection and
+ * commit together. Enabled per spec with "transactional" or for every spec with
+ * orchestrator.db.transaction-per-orchestration. The transaction commits when the orchestration succeeds and rolls
+ * back otherwise; sub-orchestrations join it. Write-behind inserts are not part of it.
+ * <p>
+ * A failed db write or sub-orchestration marks the shared transaction rollback-only, so a transactional orchestration
+ * cannot recover from a failed step: foreach steps with onError "continue" are rejected.
+ */
+@Slf4j
+@Component
+public class OrchestrationTransactions {
+
+    private final TransactionTemplate transactionTemplate; // Null without a transaction manager
+    private final boolean enabledByDefault;
+
+    @Autowired
+    public OrchestrationTransactions(ObjectProvider<PlatformTransactionManager> transactionManager,
+                                     @Value("${orchestrator.db.transaction-per-orchestration:false}") boolean enabledByDefault) {
+        this(transactionManager.getIfUnique(), enabledByDefault);
+    }
+
+    OrchestrationTransactions(PlatformTransactionManager transactionManager, boolean enabledByDefault) {
+        this.transactionTemplate = transactionManager != null ? new TransactionTemplate(transactionManager) : null;
+        this.enabledByDefault = enabledByDefault;
+    }
+
+    public boolean isEnabled(Specification specification) {
+        boolean requested = specification.transactional() != null ? specification.transactional() : enabledByDefault;
+        if (requested && transactionTemplate == null) {
+            throw new IllegalStateException("Specification '" + specification.name() + "' is transactional but no transaction manager is configured.");
+        }
+        return requested;
+    }
+
+    public Map<String, Object> execute(Specification specification, Supplier<Map<String, Object>> orchestration) {
+        if (!isEnabled(specification)) {
+            return orchestration.get();
+        }
+        if (specification.steps() != null) {
+            specification.steps().forEach(step -> rejectContinueOnError(specification, step));
+        }
+        return transactionTemplate.execute(status -> {
+            Map<String, Object> result = orchestration.get();
+            if (!"success".equals(result.get("status"))) {
+                log.info("Rolling back the transaction of specification '{}' after an unsuccessful orchestration", specification.name());
+                status.setRollbackOnly();
+            }
+            return result;
+        });
+    }
+
+    static void rejectContinueOnError(Specification specification, Step step) {
+        if (step == null) {
+            return;
+        }
+        if ("foreach".equals(step.type()) && "continue".equalsIgnoreCase(step.onError())) {
+            throw new IllegalArgumentException("Foreach step '" + step.id() + "' of transactional specification '" + specification.name()
+                    + "' cannot use onError 'continue': a failed element marks the shared transaction rollback-only.");
+        }
+        rejectContinueOnError(specification, step.step());
+    }
+}
@@ -3,5 +3,9 @@ package com.example.orchestrator.service;
 import java.util.Map;
 
 public interface OrchestratorService {
-    Map<String, Object> executeOrchestration(String product, Map<String, Object> requestParams);
-}
\ No newline at end of file
+    default Map<String, Object> executeOrchestration(String product, Map<String, Object> requestParams) {
+        return executeOrchestration(product, requestParams, ExecutionOptions.defaults());
+    }
+
+    Map<String, Object> executeOrchestration(String product, Map<String, Object> requestParams, ExecutionOptions options);
+}
@@ -1,37 +1,93 @@
 package com.example.orchestrator.service;
 
 import com.example.orchestrator.action.ActionExecutor;
+import com.example.orchestrator.concurrency.Bulkhead;
+import com.example.orchestrator.concurrency.BulkheadFullException;
+import com.example.orchestrator.concurrency.BulkheadRegistry;
+import com.example.orchestrator.expression.ExpressionCompiler;
+import com.example.orchestrator.expression.ExpressionException;
+import com.example.orchestrator.memory.MemoryBudget;
+import com.example.orchestrator.memory.MemoryBudgetExceededException;
+import com.example.orchestrator.memory.SpillManager;
 import com.example.orchestrator.model.Specification;
 import com.example.orchestrator.model.Step;
 import com.example.orchestrator.model.StepExecutionResult;
 import com.example.orchestrator.util.ExecutionContext;
+import com.example.orchestrator.util.VariableNotFoundException;
 import com.example.orchestrator.validation.InputValidator;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
 import org.springframework.retry.support.RetryTemplate;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.RestClientException;
 
+import java.io.IOException;
+import java.lang.reflect.Array;
+import java.time.Instant;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Optional;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 @Slf4j
 @Service
 public class OrchestratorServiceImpl implements OrchestratorService {
 
+    private static final String RETURN_STEP_TYPE = "return";
+    private static final String FOREACH_STEP_TYPE = "foreach";
+    private static final String ORCHESTRATE_STEP_TYPE = "orchestrate";
+
     private final SpecLoaderService specLoaderService;
     private final List<ActionExecutor> actionExecutors;
     private final InputValidator inputValidator;
     private final RetryTemplate retryTemplate;
     private final OutputFormatter outputFormatter;
+    private final BulkheadRegistry bulkheadRegistry;
+    private final ExpressionCompiler expressionCompiler;
+    private final ExecutorService stepExecutorService;
+    private final SpillManager spillManager;
+    private final OrchestrationTransactions orchestrationTransactions;
+    private final int maxDepth;
 
-    public OrchestratorServiceImpl(SpecLoaderService specLoaderService, List<ActionExecutor> actionExecutors, InputValidator inputValidator, RetryTemplate retryTemplate, OutputFormatter outputFormatter) {
+    public OrchestratorServiceImpl(SpecLoaderService specLoaderService, List<ActionExecutor> actionExecutors, InputValidator inputValidator, RetryTemplate retryTemplate, OutputFormatter outputFormatter, BulkheadRegistry bulkheadRegistry, ExpressionCompiler expressionCompiler, ExecutorService stepExecutorService,
+                                   SpillManager spillManager, OrchestrationTransactions orchestrationTransactions, @Value("${orchestrator.orchestrate.max-depth:8}") int maxDepth) {
         this.specLoaderService = specLoaderService;
         this.actionExecutors = actionExecutors;
         this.inputValidator = inputValidator;
         this.retryTemplate = retryTemplate;
         this.outputFormatter = outputFormatter;
+        this.bulkheadRegistry = bulkheadRegistry;
+        this.expressionCompiler = expressionCompiler;
+        this.stepExecutorService = stepExecutorService;
+        this.spillManager = spillManager;
+        this.orchestrationTransactions = orchestrationTransactions;
+        this.maxDepth = maxDepth;
+    }
+
+    private boolean shouldRun(Step step, ExecutionContext context) {
+        if (step.when() != null && !expressionCompiler.compile(step.when()).test(context.getMap())) {
+            return false;
+        }
+        return step.skipIf() == null || !expressionCompiler.compile(step.skipIf()).test(context.getMap());
+    }
+
+    private void checkpoint(ExecutionOptions options, int stepIndex, Map<String, Object> stepOutputs, List<StepExecutionResult> trace) {
+        if (options.checkpointListener() != null) {
+            options.checkpointListener().onCheckpoint(
+                    new OrchestrationCheckpoint(stepIndex + 1, new LinkedHashMap<>(stepOutputs), new ArrayList<>(trace)));
+        }
     }
 
     private ActionExecutor getExecutorForStep(String type) {
@@ -42,8 +98,12 @@ public class OrchestratorServiceImpl implements OrchestratorService {
     }
 
     @Override
-    public Map<String, Object> executeOrchestration(String product, Map<String, Object> requestParams) {
+    public Map<String, Object> executeOrchestration(String product, Map<String, Object> requestParams, ExecutionOptions options) {
         log.info("Received orchestration request for product: {}", product);
+        return runOrchestration(product, requestParams, options, true);
+    }
+
+    private Map<String, Object> runOrchestration(String product, Map<String, Object> requestParams, ExecutionOptions options, boolean topLevel) {
         try {
             Specification specification = specLoaderService.loadSpec(product);
             log.info("Loaded specification for product {}: {}", product, specification);
@@ -51,60 +111,319 @@ public class OrchestratorServiceImpl implements OrchestratorService {
             inputValidator.validate(requestParams, specification.input());
             log.info("Input parameters validated for product: {}", product);
 
-            ExecutionContext context = new ExecutionContext();
-            context.put("input", requestParams);
-            List<StepExecutionResult> trace = new ArrayList<>();
-
-            for (Step step : specification.steps()) {
-                log.info("Executing step: {} of type: {}", step.id(), step.type());
-                ActionExecutor executor = getExecutorForStep(step.type());
-
-                try {
-                    Object stepResult = retryTemplate.execute(contextWithRetry -> {
-                        log.debug("Attempting execution for step '{}', attempt {}", step.id(), contextWithRetry.getRetryCount() + 1);
-                        return executor.execute(step, context, requestParams);
-                    });
-
-                    log.info("Step '{}' executed successfully. Result: {}", step.id(), stepResult);
-                    Map<String, Object> outputMap = new LinkedHashMap<>();
-                    if (step.output() != null && !step.output().isEmpty()) {
-                        context.put(step.output(), stepResult);
-                        outputMap.put(step.output(), stepResult);
-                        log.info("Output of step '{}' stored in context under key: {}", step.id(), step.output());
-                    }
-                    trace.add(new StepExecutionResult(step.id(), "success", outputMap, null));
-
-                } catch (Exception e) {
-                    log.error("Step '{}' failed after retries: {}", step.id(), e.getMessage(), e);
-                    StepExecutionResult failedResult = new StepExecutionResult(step.id(), "error", null, e.getMessage());
-                    trace.add(failedResult);
-                    return createErrorResponse("Orchestration failed: " + e.getMessage(), step.id(), trace);
-                }
+            if (!topLevel) {
+                return orchestrationTransactions.execute(specification, () -> runSteps(product, specification, requestParams, options));
+            }
+            // Taken once the spec resolved, so product names without a specification never get a bulkhead. A full
+            // bulkhead is propagated to the caller so it can shed the request.
+            Bulkhead productBulkhead = bulkheadRegistry.forProduct(product);
+            productBulkhead.acquire();
+            try {
+                return orchestrationTransactions.execute(specification, () -> runSteps(product, specification, requestParams, options));
+            } finally {
+                productBulkhead.release();
             }
 
-            return createSuccessResponse(specification, context, trace);
-
+        } catch (BulkheadFullException e) {
+            throw e;
         } catch (SpecNotFoundException e) {
             log.error("Specification not found for product: {}", product, e);
-            return createErrorResponse(e.getMessage(), null, new ArrayList<>());
+            return createErrorResponse(e.getMessage(), null, new ArrayList<>(), e);
         } catch (InvalidInputException e) {
             log.error("Invalid input for product {}: {}", product, e.getMessage(), e);
-            return createErrorResponse("Invalid input: " + e.getMessage(), null, new ArrayList<>());
+            return createErrorResponse("Invalid input: " + e.getMessage(), null, new ArrayList<>(), e);
         } catch (IllegalArgumentException | UnsupportedOperationException e) {
             log.error("Orchestration failed: {}", e.getMessage(), e);
-            return createErrorResponse("Orchestration failed: " + e.getMessage(), null, new ArrayList<>());
+            return createErrorResponse("Orchestration failed: " + e.getMessage(), null, new ArrayList<>(), e);
         } catch (Exception e) {
             log.error("An unexpected error occurred during orchestration: {}", e.getMessage(), e);
-            return createErrorResponse("An unexpected error occurred: " + e.getMessage(), null, new ArrayList<>());
+            return createErrorResponse("An unexpected error occurred: " + e.getMessage(), null, new ArrayList<>(), e);
+        }
+    }
+
+    private Map<String, Object> runSteps(String product, Specification specification, Map<String, Object> requestParams, ExecutionOptions options) {
+        ExecutionContext context = new ExecutionContext();
+        context.put("input", requestParams);
+        List<StepExecutionResult> trace = new ArrayList<>();
+        Map<String, Object> stepOutputs = new LinkedHashMap<>();
+        MemoryBudget memoryBudget = spillManager.newBudget();
+        int firstStep = 0;
+
+        OrchestrationCheckpoint resumeFrom = options.resumeFrom();
+        // The db writes of the steps before a transactional checkpoint were never committed, so start over
+        if (resumeFrom != null && TransactionSynchronizationManager.isActualTransactionActive()) {
+            log.info("Restarting transactional orchestration for product {} from the first step instead of step {}", product, resumeFrom.completedSteps() + 1);
+            resumeFrom = null;
+        }
+        if (resumeFrom != null) {
+            firstStep = resumeFrom.completedSteps();
+            stepOutputs.putAll(resumeFrom.outputs());
+            stepOutputs.forEach(context::put);
+            trace.addAll(resumeFrom.trace());
+            log.info("Resuming orchestration for product {} after {} completed steps", product, firstStep);
+        }
+
+        List<Step> steps = specification.steps();
+        for (int stepIndex = firstStep; stepIndex < steps.size(); stepIndex++) {
+            Step step = steps.get(stepIndex);
+
+            try {
+                checkDeadline(options, step);
+                if (!shouldRun(step, context)) {
+                    log.info("Skipping step '{}': condition not met", step.id());
+                    trace.add(new StepExecutionResult(step.id(), "skipped", null, null));
+                    checkpoint(options, stepIndex, stepOutputs, trace);
+                    continue;
+                }
+                if (RETURN_STEP_TYPE.equals(step.type())) {
+                    Map<String, Object> output = step.data() != null
+                            ? outputFormatter.formatOutput(step.data(), context)
+                            : outputFormatter.formatOutput(specification.output(), context);
+                    trace.add(new StepExecutionResult(step.id(), "returned", null, null));
+                    log.info("Step '{}' ended the orchestration early", step.id());
+                    return createSuccessResponse(output, trace);
+                }
+            } catch (Exception e) {
+                log.error("Step '{}' failed: {}", step.id(), e.getMessage(), e);
+                trace.add(new StepExecutionResult(step.id(), "error", null, e.getMessage()));
+                return createErrorResponse("Orchestration failed: " + e.getMessage(), step.id(), trace, e);
+            }
+
+            log.info("Executing step: {} of type: {}", step.id(), step.type());
+            try {
+                Object stepResult = executeStep(step, context, requestParams, options);
+
+                log.info("Step '{}' executed successfully. Result: {}", step.id(), stepResult);
+                Map<String, Object> outputMap = new LinkedHashMap<>();
+                if (step.output() != null && !step.output().isEmpty()) {
+                    stepResult = spillManager.admit(memoryBudget, step.output(), stepResult);
+                    context.put(step.output(), stepResult);
+                    outputMap.put(step.output(), stepResult);
+                    stepOutputs.put(step.output(), stepResult);
+                    log.info("Output of step '{}' stored in context under key: {}", step.id(), step.output());
+                }
+                trace.add(new StepExecutionResult(step.id(), "success", outputMap, null));
+
+            } catch (BulkheadFullException e) {
+                log.warn("Step '{}' rejected: {}", step.id(), e.getMessage());
+                throw e;
+            } catch (Exception e) {
+                log.error("Step '{}' failed after retries: {}", step.id(), e.getMessage(), e);
+                StepExecutionResult failedResult = new StepExecutionResult(step.id(), "error", null, e.getMessage());
+                trace.add(failedResult);
+                return createErrorResponse("Orchestration failed: " + e.getMessage(), step.id(), trace, e);
+            }
+
+            checkpoint(options, stepIndex, stepOutputs, trace);
+        }
+
+        return createSuccessResponse(outputFormatter.formatOutput(specification.output(), context), trace);
+    }
+
+    private Object executeStep(Step step, ExecutionContext context, Map<String, Object> requestParams, ExecutionOptions options) {
+        if (FOREACH_STEP_TYPE.equals(step.type())) {
+            return executeForeach(step, context, requestParams, options);
+        }
+        if (ORCHESTRATE_STEP_TYPE.equals(step.type())) {
+            return executeSubOrchestration(step, context, options);
+        }
+        if (RETURN_STEP_TYPE.equals(step.type())) {
+            throw new IllegalArgumentException("A 'return' step can only be used at the top level of a specification.");
+        }
+
+        ActionExecutor executor = getExecutorForStep(step.type());
+        // Acquired once per step, outside the retries, so a full bulkhead sheds the request instead of being retried
+        Bulkhead executorBulkhead = bulkheadRegistry.forExecutor(executor.getType());
+        executorBulkhead.acquire();
+        try {
+            return retryTemplate.execute(contextWithRetry -> {
+                log.debug("Attempting execution for step '{}', attempt {}", step.id(), contextWithRetry.getRetryCount() + 1);
+                return executor.execute(step, context, requestParams);
+            });
+        } finally {
+            executorBulkhead.release();
+        }
+    }
+
+    // Runs the step template once per element, at most maxConcurrency at a time, and returns the results in element order
+    private Object executeForeach(Step step, ExecutionContext context, Map<String, Object> requestParams, ExecutionOptions options) {
+        if (step.step() == null) {
+            throw new IllegalArgumentException("Foreach step '" + step.id() + "' requires a 'step' template.");
+        }
+        boolean stopOnError;
+        if (step.onError() == null || "stop".equalsIgnoreCase(step.onError())) {
+            stopOnError = true;
+        } else if ("continue".equalsIgnoreCase(step.onError())) {
+            stopOnError = false;
+        } else {
+            throw new IllegalArgumentException("Unsupported onError mode for foreach step '" + step.id() + "': " + step.onError() + ". Supported modes are 'stop' and 'continue'.");
+        }
+        Iterable<?> items = resolveItems(step, context);
+        String itemVariable = step.as() != null ? step.as() : "item";
+        int maxConcurrency = step.maxConcurrency() != null ? Math.max(1, step.maxConcurrency()) : 1;
+        // The orchestration's transaction is bound to this thread, so its elements run here one at a time
+        boolean inTransaction = TransactionSynchronizationManager.isActualTransactionActive();
+        if (inTransaction && !stopOnError) {
+            // Reached by sub-orchestrations joining a transactional parent; top-level specs are checked up front
+            throw new IllegalArgumentException("Foreach step '" + step.id() + "' cannot use onError 'continue' inside a transactional orchestration: a failed element marks the shared transaction rollback-only.");
+        }
+
+        Semaphore permits = new Semaphore(maxConcurrency);
+        AtomicBoolean failed = new AtomicBoolean();
+        List<Future<Object>> futures = new ArrayList<>();
+        try {
+            int index = 0;
+            for (Object item : items) {
+                permits.acquire();
+                if (stopOnError && failed.get()) {
+                    permits.release();
+                    break;
+                }
+                Map<String, Object> variables = new HashMap<>();
+                if (item != null) {
+                    variables.put(itemVariable, item);
+                }
+                variables.put("index", index++);
+                ExecutionContext elementContext = context.child(variables);
+                FutureTask<Object> element = new FutureTask<>(() -> {
+                    try {
+                        checkDeadline(options, step.step());
+                        return shouldRun(step.step(), elementContext) ? executeStep(step.step(), elementContext, requestParams, options) : null;
+                    } catch (RuntimeException e) {
+                        failed.set(true);
+                        throw e;
+                    } finally {
+                        permits.release();
+                    }
+                });
+                futures.add(element);
+                if (inTransaction) {
+                    element.run();
+                } else {
+                    stepExecutorService.execute(element);
+                }
+            }
+
+            List<Object> results = new ArrayList<>(futures.size());
+            List<Map<String, Object>> errors = new ArrayList<>();
+            for (int i = 0; i < futures.size(); i++) {
+                try {
+                    results.add(futures.get(i).get());
+                } catch (ExecutionException e) {
+                    Throwable cause = e.getCause();
+                    if (cause instanceof BulkheadFullException bulkheadFull) {
+                        futures.forEach(future -> future.cancel(true));
+                        throw bulkheadFull;
+                    }
+                    if (stopOnError) {
+                        futures.forEach(future -> future.cancel(true));
+                        throw new IllegalStateException("Element " + i + " of foreach step '" + step.id() + "' failed: " + cause.getMessage(), cause);
+                    }
+                    log.warn("Element {} of foreach step '{}' failed: {}", i, step.id(), cause.getMessage());
+                    results.add(null);
+                    Map<String, Object> error = new LinkedHashMap<>();
+                    error.put("index", i);
+                    error.put("error", String.valueOf(cause.getMessage()));
+                    errors.add(error);
+                }
+            }
+            log.info("Foreach step '{}' processed {} elements with {} failures", step.id(), results.size(), errors.size());
+            if (stopOnError) {
+                return results;
+            }
+            Map<String, Object> result = new LinkedHashMap<>();
+            result.put("results", results);
+            result.put("errors", errors);
+            return result;
+        } catch (InterruptedException e) {
+            futures.forEach(future -> future.cancel(true));
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while running foreach step '" + step.id() + "'", e);
+        }
+    }
+
+    // Runs another product's spec in-process; inputs and output are passed as objects, not serialized
+    private Object executeSubOrchestration(Step step, ExecutionContext context, ExecutionOptions options) {
+        if (step.product() == null || step.product().isBlank()) {
+            throw new IllegalArgumentException("Orchestrate step '" + step.id() + "' requires a 'product'.");
+        }
+        if (options.depth() >= maxDepth) {
+            throw new IllegalStateException("Maximum orchestration depth of " + maxDepth + " exceeded by step '" + step.id() + "' calling product: " + step.product());
+        }
+        Map<String, Object> input = step.data() != null ? outputFormatter.formatOutput(step.data(), context) : new LinkedHashMap<>();
+        Instant stepDeadline = step.timeoutMs() != null ? Instant.now().plusMillis(step.timeoutMs()) : null;
+
+        // The top-level request already holds its product bulkhead and admission permit; taking the child product's
+        // permits too would let parents waiting for children exhaust them and deadlock
+        Map<String, Object> result = runOrchestration(step.product(), input, options.nested(stepDeadline), false);
+        if (!"success".equals(result.get("status"))) {
+            Object error = result.get("error");
+            Object message = error instanceof Map<?, ?> details ? details.get("message") : error;
+            String failure = "Sub-orchestration of product '" + step.product() + "' failed: " + message;
+            // Keep the nested classification so admission control sees downstream failures of the child
+            if (error instanceof Map<?, ?> details && Boolean.TRUE.equals(details.get("clientError"))) {
+                throw new IllegalArgumentException(failure);
+            }
+            throw new IllegalStateException(failure);
+        }
+        return result.get("output");
+    }
+
+    private void checkDeadline(ExecutionOptions options, Step step) {
+        if (options.isExpired()) {
+            throw new DeadlineExceededException("Deadline " + options.deadline() + " exceeded before step '" + step.id() + "'");
+        }
+    }
+
+    private Iterable<?> resolveItems(Step step, ExecutionContext context) {
+        if (step.items() == null || step.items().isBlank()) {
+            throw new IllegalArgumentException("Foreach step '" + step.id() + "' requires an 'items' expression.");
+        }
+        String source = step.items().trim();
+        if (source.startsWith("${") && source.endsWith("}")) {
+            source = source.substring(2, source.length() - 1);
+        }
+        Object items = expressionCompiler.compile(source).evaluate(context.getMap());
+        if (items instanceof Iterable<?> iterable) {
+            return iterable;
+        }
+        if (items != null && items.getClass().isArray()) {
+            Object[] elements = new Object[Array.getLength(items)];
+            for (int i = 0; i < elements.length; i++) {
+                elements[i] = Array.get(items, i);
+            }
+            return Arrays.asList(elements);
+        }
+        throw new IllegalArgumentException("Items of foreach step '" + step.id() + "' must be a collection but got: " + (items == null ? "null" : items.getClass().getSimpleName()));
+    }
+
+    // Client and validation errors say nothing about downstream health; timeouts, 5xx and everything else do
+    static boolean isClientError(Throwable error) {
+        for (Throwable current = error; current != null; current = current.getCause()) {
+            if (current instanceof HttpClientErrorException clientError) {
+                return clientError.getStatusCode().value() != 429;
+            }
+            if (current instanceof SpecNotFoundException || current instanceof InvalidInputException
+                    || current instanceof IllegalArgumentException || current instanceof UnsupportedOperationException
+                    || current instanceof ExpressionException || current instanceof VariableNotFoundException
+                    || current instanceof MemoryBudgetExceededException) {
+                return true;
+            }
+            if (current instanceof RestClientException || current instanceof DataAccessException || current instanceof IOException
+                    || current instanceof TimeoutException || current instanceof DeadlineExceededException) {
+                return false;
+            }
         }
+        return false;
     }
 
-    private Map<String, Object> createErrorResponse(String message, String stepId, List<StepExecutionResult> trace) {
+    private Map<String, Object> createErrorResponse(String message, String stepId, List<StepExecutionResult> trace, Throwable cause) {
         Map<String, Object> errorDetails = new LinkedHashMap<>();
         errorDetails.put("message", message);
         if (stepId != null) {
             errorDetails.put("step", stepId);
         }
+        errorDetails.put("clientError", isClientError(cause));
 
         Map<String, Object> response = new LinkedHashMap<>();
         response.put("status", "error");
@@ -113,10 +432,10 @@ public class OrchestratorServiceImpl implements OrchestratorService {
         return response;
     }
 
-    private Map<String, Object> createSuccessResponse(Specification specification, ExecutionContext context, List<StepExecutionResult> trace) {
+    private Map<String, Object> createSuccessResponse(Map<String, Object> output, List<StepExecutionResult> trace) {
         Map<String, Object> response = new LinkedHashMap<>();
         response.put("status", "success");
-        response.put("output", outputFormatter.formatOutput(specification.output(), context));
+        response.put("output", output);
         response.put("trace", trace);
         return response;
     }
@@ -4,6 +4,8 @@ import com.example.orchestrator.model.Output;
 import com.example.orchestrator.model.OutputParameter;
 import com.example.orchestrator.util.ExecutionContext;
 import com.example.orchestrator.util.VariableResolver;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
@@ -14,10 +16,12 @@ import java.util.Map;
 public class OutputFormatter {
 
     private final VariableResolver variableResolver;
+    private final ObjectMapper objectMapper;
 
     @Autowired
-    public OutputFormatter(VariableResolver variableResolver) {
+    public OutputFormatter(VariableResolver variableResolver, ObjectMapper objectMapper) {
         this.variableResolver = variableResolver;
+        this.objectMapper = objectMapper;
     }
 
     public Map<String, Object> formatOutput(Output outputSpec, ExecutionContext context) {
@@ -31,4 +35,10 @@ public class OutputFormatter {
         }
         return response;
     }
-}
\ No newline at end of file
+
+    // Formats the output of a 'return' step, whose data object is the output template
+    public Map<String, Object> formatOutput(JsonNode template, ExecutionContext context) {
+        Map<String, Object> templateMap = objectMapper.convertValue(template, Map.class);
+        return variableResolver.resolveVariables(templateMap, context.getMap());
+    }
+}
@@ -4,4 +4,6 @@ import com.example.orchestrator.model.Specification;
 
 public interface SpecLoaderService {
     Specification loadSpec(String product);
+
+    boolean exists(String product);
 }
\ No newline at end of file
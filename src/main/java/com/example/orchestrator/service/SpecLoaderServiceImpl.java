@@ -24,8 +24,7 @@ public class SpecLoaderServiceImpl implements SpecLoaderService {
 
     @Override
     public Specification loadSpec(String product) {
-        String resourcePath = specsDirectory + product + ".json";
-        Resource resource = resourceLoader.getResource(resourcePath);
+        Resource resource = resource(product);
 
         if (!resource.exists()) {
             throw new SpecNotFoundException("Specification for product '" + product + "' not found.");
@@ -37,4 +36,13 @@ public class SpecLoaderServiceImpl implements SpecLoaderService {
             throw new RuntimeException("Failed to parse specification for product '" + product + "'", e);
         }
     }
-}
\ No newline at end of file
+
+    @Override
+    public boolean exists(String product) {
+        return resource(product).exists();
+    }
+
+    private Resource resource(String product) {
+        return resourceLoader.getResource(specsDirectory + product + ".json");
+    }
+}
@@ -0,0 +1,41 @@
+package com.example.orchestrator.transform;
+
+import java.util.AbstractMap;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+// Exposes the current element under one name on top of the step scope without copying the scope per element
+final class ItemScope extends AbstractMap<String, Object> {
+
+    private final Map<String, Object> parent;
+    private final String name;
+    private Object value;
+
+    ItemScope(Map<String, Object> parent, String name) {
+        this.parent = parent;
+        this.name = name;
+    }
+
+    ItemScope with(Object value) {
+        this.value = value;
+        return this;
+    }
+
+    @Override
+    public Object get(Object key) {
+        return name.equals(key) ? value : parent.get(key);
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return name.equals(key) || parent.containsKey(key);
+    }
+
+    @Override
+    public Set<Entry<String, Object>> entrySet() {
+        Map<String, Object> copy = new HashMap<>(parent);
+        copy.put(name, value);
+        return copy.entrySet();
+    }
+}
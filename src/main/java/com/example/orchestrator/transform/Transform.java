@@ -0,0 +1,9 @@
+package com.example.orchestrator.transform;
+
+import java.util.List;
+import java.util.Map;
+
+@FunctionalInterface
+public interface Transform {
+    List<Object> apply(Map<String, Object> scope);
+}
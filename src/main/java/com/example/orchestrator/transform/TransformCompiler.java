@@ -0,0 +1,262 @@
+package com.example.orchestrator.transform;
+
+import com.example.orchestrator.expression.Expression;
+import com.example.orchestrator.expression.ExpressionCompiler;
+import com.fasterxml.jackson.databind.JsonNode;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Compiles the definition of a transform step into a pipeline of stages over a collection:
+ * <pre>
+ * {"source": "orders", "as": "item", "pipeline": [
+ *   {"filter": "item.total > 100"},
+ *   {"join": {"with": "customers", "on": "item.customerId", "key": "item.id", "as": "customer", "type": "left"}},
+ *   {"project": {"id": "item.id", "customer": "item.customer.name"}},
+ *   {"map": "item.id"},
+ *   {"groupBy": {"key": "item.status", "as": "items"}}
+ * ]}
+ * </pre>
+ * Every expression is evaluated with the current element bound to {@code as} on top of the step scope.
+ * Definitions are compiled once and cached by content, since specs are re-read on every request.
+ */
+@Component
+public class TransformCompiler {
+
+    private static final int MAX_CACHED_TRANSFORMS = 1_000;
+
+    private final ExpressionCompiler expressionCompiler;
+    private final Map<JsonNode, Transform> cache = new ConcurrentHashMap<>();
+
+    public TransformCompiler(ExpressionCompiler expressionCompiler) {
+        this.expressionCompiler = expressionCompiler;
+    }
+
+    public Transform compile(JsonNode definition) {
+        if (definition == null || !definition.isObject()) {
+            throw new IllegalArgumentException("Transform definition must be an object with 'source' and 'pipeline'.");
+        }
+        Transform cached = cache.get(definition);
+        if (cached != null) {
+            return cached;
+        }
+        Transform compiled = doCompile(definition);
+        if (cache.size() < MAX_CACHED_TRANSFORMS) {
+            cache.put(definition, compiled);
+        }
+        return compiled;
+    }
+
+    private Transform doCompile(JsonNode definition) {
+        Expression source = expression(definition, "source");
+        String itemVariable = definition.path("as").asText("item");
+        List<Stage> stages = new ArrayList<>();
+        for (JsonNode stage : definition.path("pipeline")) {
+            stages.add(stage(stage, itemVariable));
+        }
+
+        return scope -> {
+            Object value = source.evaluate(scope);
+            List<Object> rows = toList(value, "Transform source");
+            for (Stage stage : stages) {
+                rows = stage.apply(rows, scope);
+            }
+            return rows;
+        };
+    }
+
+    private Stage stage(JsonNode stage, String itemVariable) {
+        if (!stage.isObject() || stage.size() != 1) {
+            throw new IllegalArgumentException("Each transform stage must be an object with exactly one operation: " + stage);
+        }
+        String operation = stage.fieldNames().next();
+        JsonNode argument = stage.get(operation);
+        switch (operation) {
+            case "filter":
+                return filter(expressionCompiler.compile(argument.asText()), itemVariable);
+            case "map":
+                return map(expressionCompiler.compile(argument.asText()), itemVariable);
+            case "project":
+                return project(argument, itemVariable);
+            case "groupBy":
+                return groupBy(argument, itemVariable);
+            case "join":
+                return join(argument, itemVariable);
+            default:
+                throw new IllegalArgumentException("Unsupported transform operation: " + operation);
+        }
+    }
+
+    private Stage filter(Expression predicate, String itemVariable) {
+        return (rows, scope) -> {
+            ItemScope itemScope = new ItemScope(scope, itemVariable);
+            List<Object> result = new ArrayList<>();
+            for (Object row : rows) {
+                if (predicate.test(itemScope.with(row))) {
+                    result.add(row);
+                }
+            }
+            return result;
+        };
+    }
+
+    private Stage map(Expression mapper, String itemVariable) {
+        return (rows, scope) -> {
+            ItemScope itemScope = new ItemScope(scope, itemVariable);
+            List<Object> result = new ArrayList<>(rows.size());
+            for (Object row : rows) {
+                result.add(mapper.evaluate(itemScope.with(row)));
+            }
+            return result;
+        };
+    }
+
+    private Stage project(JsonNode fields, String itemVariable) {
+        if (!fields.isObject() || fields.isEmpty()) {
+            throw new IllegalArgumentException("Transform 'project' requires an object of field expressions.");
+        }
+        List<String> names = new ArrayList<>();
+        List<Expression> expressions = new ArrayList<>();
+        Iterator<Map.Entry<String, JsonNode>> iterator = fields.fields();
+        while (iterator.hasNext()) {
+            Map.Entry<String, JsonNode> field = iterator.next();
+            names.add(field.getKey());
+            expressions.add(expressionCompiler.compile(field.getValue().asText()));
+        }
+        return (rows, scope) -> {
+            ItemScope itemScope = new ItemScope(scope, itemVariable);
+            List<Object> result = new ArrayList<>(rows.size());
+            for (Object row : rows) {
+                itemScope.with(row);
+                Map<String, Object> projected = new LinkedHashMap<>();
+                for (int i = 0; i < names.size(); i++) {
+                    projected.put(names.get(i), expressions.get(i).evaluate(itemScope));
+                }
+                result.add(projected);
+            }
+            return result;
+        };
+    }
+
+    private Stage groupBy(JsonNode argument, String itemVariable) {
+        Expression key = expression(argument, "key");
+        String groupField = argument.path("as").asText("items");
+        return (rows, scope) -> {
+            ItemScope itemScope = new ItemScope(scope, itemVariable);
+            Map<Object, Map<String, Object>> groups = new LinkedHashMap<>();
+            for (Object row : rows) {
+                Object groupKey = key.evaluate(itemScope.with(row));
+                Map<String, Object> group = groups.computeIfAbsent(normalizeKey(groupKey), k -> {
+                    Map<String, Object> created = new LinkedHashMap<>();
+                    created.put("key", groupKey);
+                    created.put(groupField, new ArrayList<>());
+                    return created;
+                });
+                ((List<Object>) group.get(groupField)).add(row);
+            }
+            return new ArrayList<>(groups.values());
+        };
+    }
+
+    // Hash join: indexes the 'with' collection by 'key' once, then probes it with 'on' for every row
+    private Stage join(JsonNode argument, String itemVariable) {
+        Expression other = expression(argument, "with");
+        Expression leftKey = expression(argument, "on");
+        Expression rightKey = expression(argument, "key");
+        String joinedField = argument.path("as").asText("joined");
+        String type = argument.path("type").asText("inner");
+        if (!type.equals("inner") && !type.equals("left")) {
+            throw new IllegalArgumentException("Unsupported join type: " + type + ". Supported types are 'inner' and 'left'.");
+        }
+        boolean keepUnmatched = type.equals("left");
+
+        return (rows, scope) -> {
+            ItemScope itemScope = new ItemScope(scope, itemVariable);
+            Map<Object, List<Object>> index = new HashMap<>();
+            for (Object right : toList(other.evaluate(scope), "Join collection")) {
+                Object key = rightKey.evaluate(itemScope.with(right));
+                if (key != null) {
+                    index.computeIfAbsent(normalizeKey(key), k -> new ArrayList<>(1)).add(right);
+                }
+            }
+
+            List<Object> result = new ArrayList<>(rows.size());
+            for (Object row : rows) {
+                Object key = leftKey.evaluate(itemScope.with(row));
+                List<Object> matches = key == null ? null : index.get(normalizeKey(key));
+                if (matches == null) {
+                    if (keepUnmatched) {
+                        result.add(joined(row, joinedField, null, itemVariable));
+                    }
+                    continue;
+                }
+                for (Object match : matches) {
+                    result.add(joined(row, joinedField, match, itemVariable));
+                }
+            }
+            return result;
+        };
+    }
+
+    private static Map<String, Object> joined(Object row, String joinedField, Object match, String itemVariable) {
+        Map<String, Object> joined = new LinkedHashMap<>();
+        if (row instanceof Map<?, ?> map) {
+            map.forEach((key, value) -> joined.put(String.valueOf(key), value));
+        } else {
+            joined.put(itemVariable, row);
+        }
+        joined.put(joinedField, match);
+        return joined;
+    }
+
+    // Numbers parsed from JSON and from the database differ in boxed type, so 1, 1L and 1.0 must share a key
+    private static Object normalizeKey(Object key) {
+        if (key instanceof Number number) {
+            double value = number.doubleValue();
+            if (value == Math.rint(value) && Math.abs(value) < 0x1p53) {
+                return (long) value;
+            }
+            return value;
+        }
+        return key;
+    }
+
+    private Expression expression(JsonNode node, String field) {
+        JsonNode value = node.get(field);
+        if (value == null || !value.isTextual()) {
+            throw new IllegalArgumentException("Transform definition requires an expression in '" + field + "'.");
+        }
+        return expressionCompiler.compile(value.asText());
+    }
+
+    private static List<Object> toList(Object value, String description) {
+        if (value instanceof List<?> list) {
+            return (List<Object>) list;
+        }
+        if (value instanceof Collection<?> collection) {
+            return new ArrayList<>(collection);
+        }
+        if (value instanceof Iterable<?> iterable) {
+            List<Object> rows = new ArrayList<>();
+            iterable.forEach(rows::add);
+            return rows;
+        }
+        if (value == null) {
+            throw new IllegalArgumentException(description + " resolved to null.");
+        }
+        throw new IllegalArgumentException(description + " must be a collection but got: " + value.getClass().getSimpleName());
+    }
+
+    @FunctionalInterface
+    private interface Stage {
+        List<Object> apply(List<Object> rows, Map<String, Object> scope);
+    }
+}
@@ -0,0 +1,88 @@
+package com.example.orchestrator.util;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Map;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * Encoding of {@code GenericEntity.data}. The default "json" codec keeps the TEXT column; "smile" and "cbor" write a
+ * binary column instead, deflated when the encoded value exceeds the compression threshold. Binary values start with
+ * one header byte naming their format and compression, so rows stay readable after the codec configuration changes.
+ */
+@Component
+public class DataCodec {
+
+    private static final int SMILE = 1;
+    private static final int CBOR = 2;
+    private static final int DEFLATED = 0x10;
+
+    private final ObjectMapper jsonMapper = new ObjectMapper();
+    private final ObjectMapper smileMapper = new ObjectMapper(new SmileFactory());
+    private final ObjectMapper cborMapper = new ObjectMapper(new CBORFactory());
+    private final int format;
+    private final boolean compress;
+    private final int compressionThresholdBytes;
+
+    public DataCodec(@Value("${orchestrator.db.codec:json}") String codec,
+                     @Value("${orchestrator.db.compression:none}") String compression,
+                     @Value("${orchestrator.db.compression-threshold-bytes:1024}") int compressionThresholdBytes) {
+        this.format = switch (codec.toLowerCase()) {
+            case "json" -> 0;
+            case "smile" -> SMILE;
+            case "cbor" -> CBOR;
+            default -> throw new IllegalArgumentException("Unsupported orchestrator.db.codec: " + codec + ". Supported codecs are 'json', 'smile' and 'cbor'.");
+        };
+        this.compress = switch (compression.toLowerCase()) {
+            case "none" -> false;
+            case "deflate" -> true;
+            default -> throw new IllegalArgumentException("Unsupported orchestrator.db.compression: " + compression + ". Supported values are 'none' and 'deflate'.");
+        };
+        this.compressionThresholdBytes = compressionThresholdBytes;
+    }
+
+    // Whether data is written to the binary column rather than the TEXT one
+    public boolean isBinary() {
+        return format != 0;
+    }
+
+    public String encodeText(Map<String, Object> data) throws IOException {
+        return jsonMapper.writeValueAsString(data);
+    }
+
+    public byte[] encodeBinary(Map<String, Object> data) throws IOException {
+        byte[] encoded = (format == CBOR ? cborMapper : smileMapper).writeValueAsBytes(data);
+        ByteArrayOutputStream out = new ByteArrayOutputStream(encoded.length / 2 + 16);
+        if (compress && encoded.length > compressionThresholdBytes) {
+            out.write(format | DEFLATED);
+            try (DeflaterOutputStream deflater = new DeflaterOutputStream(out, new Deflater(Deflater.BEST_SPEED))) {
+                deflater.write(encoded);
+            }
+        } else {
+            out.write(format);
+            out.write(encoded);
+        }
+        return out.toByteArray();
+    }
+
+    public Map<String, Object> decodeBinary(byte[] value) throws IOException {
+        int header = value[0];
+        ObjectMapper mapper = (header & 0x0F) == CBOR ? cborMapper : smileMapper;
+        if ((header & DEFLATED) != 0) {
+            try (InputStream in = new InflaterInputStream(new ByteArrayInputStream(value, 1, value.length - 1))) {
+                return mapper.readValue(in, Map.class);
+            }
+        }
+        return mapper.readValue(value, 1, value.length - 1, Map.class);
+    }
+}
@@ -0,0 +1,83 @@
+package com.example.orchestrator.util;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+import org.hibernate.annotations.Immutable;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+/**
+ * Converters of the two GenericEntity data columns; each writes only when its column belongs to the configured codec.
+ * Reads are pass-throughs that wrap the column value without decoding it: TEXT rows become a {@link LazyJsonObject}
+ * that indexes fields on first access, binary rows a {@link LazyDecodedMap}. Unchanged values are written back as the
+ * bytes they were read from. The converters are immutable, so Hibernate neither copies nor compares loaded values.
+ */
+public final class DataColumnConverter {
+
+    private DataColumnConverter() {
+    }
+
+    @Converter
+    @Immutable
+    public static class Text implements AttributeConverter<Map<String, Object>, String> {
+
+        private final DataCodec dataCodec;
+
+        public Text(DataCodec dataCodec) {
+            this.dataCodec = dataCodec;
+        }
+
+        @Override
+        public String convertToDatabaseColumn(Map<String, Object> data) {
+            if (data == null || dataCodec.isBinary()) {
+                return null;
+            }
+            if (data instanceof LazyJsonObject raw) {
+                return raw.toString();
+            }
+            try {
+                return dataCodec.encodeText(data);
+            } catch (IOException e) {
+                throw new IllegalStateException("Failed to encode entity data as JSON", e);
+            }
+        }
+
+        @Override
+        public Map<String, Object> convertToEntityAttribute(String json) {
+            return json == null ? null : LazyJsonObject.wrap(json.getBytes(StandardCharsets.UTF_8));
+        }
+    }
+
+    @Converter
+    @Immutable
+    public static class Binary implements AttributeConverter<Map<String, Object>, byte[]> {
+
+        private final DataCodec dataCodec;
+
+        public Binary(DataCodec dataCodec) {
+            this.dataCodec = dataCodec;
+        }
+
+        @Override
+        public byte[] convertToDatabaseColumn(Map<String, Object> data) {
+            if (data == null || !dataCodec.isBinary()) {
+                return null;
+            }
+            if (data instanceof LazyDecodedMap raw) {
+                return raw.encoded();
+            }
+            try {
+                return dataCodec.encodeBinary(data);
+            } catch (IOException e) {
+                throw new IllegalStateException("Failed to encode entity data", e);
+            }
+        }
+
+        @Override
+        public Map<String, Object> convertToEntityAttribute(byte[] value) {
+            return value == null || value.length == 0 ? null : new LazyDecodedMap(value, dataCodec);
+        }
+    }
+}
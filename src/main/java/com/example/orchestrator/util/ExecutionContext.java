@@ -10,6 +10,17 @@ public class ExecutionContext {
         this.contextMap = new ConcurrentHashMap<>();
     }
 
+    private ExecutionContext(Map<String, Object> contextMap) {
+        this.contextMap = contextMap;
+    }
+
+    // Context for one element of a fan-out: sees everything in this context plus its own variables
+    public ExecutionContext child(Map<String, Object> variables) {
+        Map<String, Object> childMap = new ConcurrentHashMap<>(contextMap);
+        childMap.putAll(variables);
+        return new ExecutionContext(childMap);
+    }
+
     public void put(String key, Object value) {
         contextMap.put(key, value);
     }
@@ -0,0 +1,85 @@
+package com.example.orchestrator.util;
+
+import java.io.IOException;
+import java.util.AbstractMap;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+// Read-only entity data kept in its encoded binary form until a field is first read; writing it back reuses the bytes
+public final class LazyDecodedMap extends AbstractMap<String, Object> {
+
+    private final byte[] encoded;
+    private final DataCodec dataCodec;
+    private volatile Map<String, Object> decoded;
+
+    LazyDecodedMap(byte[] encoded, DataCodec dataCodec) {
+        this.encoded = encoded;
+        this.dataCodec = dataCodec;
+    }
+
+    byte[] encoded() {
+        return encoded;
+    }
+
+    public int encodedLength() {
+        return encoded.length;
+    }
+
+    public boolean isDecoded() {
+        return decoded != null;
+    }
+
+    private Map<String, Object> decoded() {
+        Map<String, Object> result = decoded;
+        if (result == null) {
+            synchronized (this) {
+                result = decoded;
+                if (result == null) {
+                    try {
+                        result = readOnly(dataCodec.decodeBinary(encoded));
+                    } catch (IOException e) {
+                        throw new IllegalStateException("Failed to decode binary entity data", e);
+                    }
+                    decoded = result;
+                }
+            }
+        }
+        return result;
+    }
+
+    // Nested objects and arrays are read-only as well, so the map can be shared, e.g. by the select cache
+    @SuppressWarnings("unchecked")
+    private static <T> T readOnly(T value) {
+        if (value instanceof Map<?, ?> map) {
+            ((Map<Object, Object>) map).replaceAll((key, nested) -> readOnly(nested));
+            return (T) Collections.unmodifiableMap(map);
+        }
+        if (value instanceof List<?> list) {
+            ((List<Object>) list).replaceAll(LazyDecodedMap::readOnly);
+            return (T) Collections.unmodifiableList(list);
+        }
+        return value;
+    }
+
+    @Override
+    public Object get(Object key) {
+        return decoded().get(key);
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return decoded().containsKey(key);
+    }
+
+    @Override
+    public int size() {
+        return decoded().size();
+    }
+
+    @Override
+    public Set<Entry<String, Object>> entrySet() {
+        return decoded().entrySet();
+    }
+}
@@ -0,0 +1,195 @@
+package com.example.orchestrator.util;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.json.JsonGeneratorImpl;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.SerializerProvider;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Entry point for JSON values that stay in their raw UTF-8 form. Objects and arrays are returned as
+ * {@link LazyJsonObject} and {@link LazyJsonArray}, which index their direct children on first access
+ * and materialize nested containers only when they are navigated into. Untouched parts are emitted by
+ * copying the original bytes.
+ */
+public final class LazyJson {
+
+    static final JsonFactory FACTORY = new JsonFactory();
+
+    private LazyJson() {
+    }
+
+    // Validates the document with a single tokenizing pass, so raw bytes are never emitted unless well-formed
+    public static Object parse(byte[] bytes) {
+        return parse(bytes, 0, bytes.length);
+    }
+
+    public static Object parse(byte[] bytes, int offset, int length) {
+        try (JsonParser parser = FACTORY.createParser(bytes, offset, length)) {
+            JsonToken token = parser.nextToken();
+            if (token == null) {
+                throw new IllegalArgumentException("Empty JSON document");
+            }
+            Object value = readValue(parser, bytes, offset);
+            if (parser.nextToken() != null) {
+                throw new IllegalArgumentException("Unexpected content after the JSON value");
+            }
+            return value;
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Invalid JSON: " + e.getMessage(), e);
+        }
+    }
+
+    // Reads the value at the current token: scalars are decoded, containers are skipped and returned as lazy slices
+    static Object readValue(JsonParser parser, byte[] bytes, int base) throws IOException {
+        JsonToken token = parser.currentToken();
+        switch (token) {
+            case START_OBJECT:
+            case START_ARRAY: {
+                int start = base + (int) parser.currentTokenLocation().getByteOffset();
+                parser.skipChildren();
+                int end = base + (int) parser.currentLocation().getByteOffset();
+                return token == JsonToken.START_OBJECT
+                        ? new LazyJsonObject(bytes, start, end - start)
+                        : new LazyJsonArray(bytes, start, end - start);
+            }
+            case VALUE_STRING:
+                return parser.getText();
+            case VALUE_NUMBER_INT:
+            case VALUE_NUMBER_FLOAT:
+                return parser.getNumberValue();
+            case VALUE_TRUE:
+                return Boolean.TRUE;
+            case VALUE_FALSE:
+                return Boolean.FALSE;
+            case VALUE_NULL:
+                return null;
+            default:
+                throw new IllegalArgumentException("Unexpected JSON token: " + token);
+        }
+    }
+
+    static String text(byte[] bytes, int offset, int length) {
+        return new String(bytes, offset, length, StandardCharsets.UTF_8);
+    }
+
+    // JSON output gets the original bytes; binary formats such as Smile and CBOR cannot embed raw JSON, so for them
+    // (and for token buffers) the slice is re-tokenized and copied token by token
+    static final class RawSerializer extends JsonSerializer<Object> {
+
+        @Override
+        public void serialize(Object value, JsonGenerator generator, SerializerProvider provider) throws IOException {
+            if (value instanceof LazyJsonObject object) {
+                write(generator, object.bytes, object.offset, object.length);
+            } else if (value instanceof LazyJsonArray array) {
+                write(generator, array.bytes, array.offset, array.length);
+            } else {
+                provider.defaultSerializeValue(value, generator);
+            }
+        }
+
+        private static void write(JsonGenerator generator, byte[] bytes, int offset, int length) throws IOException {
+            if (generator instanceof JsonGeneratorImpl) {
+                generator.writeRawValue(new RawUtf8(bytes, offset, length));
+                return;
+            }
+            try (JsonParser parser = FACTORY.createParser(bytes, offset, length)) {
+                parser.nextToken();
+                generator.copyCurrentStructure(parser);
+            }
+        }
+    }
+
+    // Lets byte-based generators copy the raw bytes straight into their output buffer
+    private record RawUtf8(byte[] bytes, int offset, int length) implements SerializableString {
+
+        @Override
+        public String getValue() {
+            return text(bytes, offset, length);
+        }
+
+        @Override
+        public int charLength() {
+            return getValue().length();
+        }
+
+        @Override
+        public char[] asQuotedChars() {
+            throw new UnsupportedOperationException("Raw JSON cannot be quoted");
+        }
+
+        @Override
+        public byte[] asUnquotedUTF8() {
+            byte[] copy = new byte[length];
+            System.arraycopy(bytes, offset, copy, 0, length);
+            return copy;
+        }
+
+        @Override
+        public byte[] asQuotedUTF8() {
+            throw new UnsupportedOperationException("Raw JSON cannot be quoted");
+        }
+
+        @Override
+        public int appendQuotedUTF8(byte[] buffer, int position) {
+            throw new UnsupportedOperationException("Raw JSON cannot be quoted");
+        }
+
+        @Override
+        public int appendQuoted(char[] buffer, int position) {
+            throw new UnsupportedOperationException("Raw JSON cannot be quoted");
+        }
+
+        @Override
+        public int appendUnquotedUTF8(byte[] buffer, int position) {
+            if (position + length > buffer.length) {
+                return -1;
+            }
+            System.arraycopy(bytes, offset, buffer, position, length);
+            return length;
+        }
+
+        @Override
+        public int appendUnquoted(char[] buffer, int position) {
+            String value = getValue();
+            if (position + value.length() > buffer.length) {
+                return -1;
+            }
+            value.getChars(0, value.length(), buffer, position);
+            return value.length();
+        }
+
+        @Override
+        public int writeQuotedUTF8(OutputStream out) {
+            throw new UnsupportedOperationException("Raw JSON cannot be quoted");
+        }
+
+        @Override
+        public int writeUnquotedUTF8(OutputStream out) throws IOException {
+            out.write(bytes, offset, length);
+            return length;
+        }
+
+        @Override
+        public int putQuotedUTF8(ByteBuffer buffer) {
+            throw new UnsupportedOperationException("Raw JSON cannot be quoted");
+        }
+
+        @Override
+        public int putUnquotedUTF8(ByteBuffer buffer) {
+            if (buffer.remaining() < length) {
+                return -1;
+            }
+            buffer.put(bytes, offset, length);
+            return length;
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package com.example.orchestrator.util;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+
+import java.io.IOException;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.RandomAccess;
+
+// Read-only JSON array over a slice of raw UTF-8 bytes; see LazyJsonObject
+@JsonSerialize(using = LazyJson.RawSerializer.class)
+public final class LazyJsonArray extends AbstractList<Object> implements RandomAccess {
+
+    final byte[] bytes;
+    final int offset;
+    final int length;
+    private volatile List<Object> elements;
+
+    LazyJsonArray(byte[] bytes, int offset, int length) {
+        this.bytes = bytes;
+        this.offset = offset;
+        this.length = length;
+    }
+
+    public int rawLength() {
+        return length;
+    }
+
+    // Streams the raw value, e.g. to transcode it without materializing it
+    public JsonParser rawParser() throws IOException {
+        return LazyJson.FACTORY.createParser(bytes, offset, length);
+    }
+
+    public boolean isIndexed() {
+        return elements != null;
+    }
+
+    private List<Object> elements() {
+        List<Object> result = elements;
+        if (result == null) {
+            synchronized (this) {
+                result = elements;
+                if (result == null) {
+                    result = index();
+                    elements = result;
+                }
+            }
+        }
+        return result;
+    }
+
+    private List<Object> index() {
+        List<Object> index = new ArrayList<>();
+        try (JsonParser parser = LazyJson.FACTORY.createParser(bytes, offset, length)) {
+            parser.nextToken();
+            while (parser.nextToken() != JsonToken.END_ARRAY) {
+                index.add(LazyJson.readValue(parser, bytes, offset));
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to index JSON array", e);
+        }
+        return index;
+    }
+
+    @Override
+    public Object get(int index) {
+        return elements().get(index);
+    }
+
+    @Override
+    public int size() {
+        return elements().size();
+    }
+
+    @Override
+    public String toString() {
+        return LazyJson.text(bytes, offset, length);
+    }
+}
@@ -0,0 +1,141 @@
+package com.example.orchestrator.util;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+
+import java.io.IOException;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * A read-only JSON object backed by a slice of raw UTF-8 bytes. The first lookup indexes the direct
+ * fields in one pass; nested objects and arrays stay unparsed slices until they are read themselves.
+ * Serialization copies the original bytes.
+ */
+@JsonSerialize(using = LazyJson.RawSerializer.class)
+public final class LazyJsonObject extends AbstractMap<String, Object> {
+
+    final byte[] bytes;
+    final int offset;
+    final int length;
+    private volatile Map<String, Object> fields;
+
+    LazyJsonObject(byte[] bytes, int offset, int length) {
+        this.bytes = bytes;
+        this.offset = offset;
+        this.length = length;
+    }
+
+    public static LazyJsonObject of(byte[] bytes) {
+        if (LazyJson.parse(bytes) instanceof LazyJsonObject object) {
+            return object;
+        }
+        throw new IllegalArgumentException("Expected a JSON object");
+    }
+
+    // Skips the validating pass of of(); only for bytes this application serialized itself, such as stored entity data
+    public static LazyJsonObject wrap(byte[] bytes) {
+        int start = 0;
+        while (start < bytes.length && Character.isWhitespace(bytes[start])) {
+            start++;
+        }
+        if (start == bytes.length || bytes[start] != '{') {
+            throw new IllegalArgumentException("Expected a JSON object");
+        }
+        return new LazyJsonObject(bytes, 0, bytes.length);
+    }
+
+    public int rawLength() {
+        return length;
+    }
+
+    // Streams the raw value, e.g. to transcode it without materializing it
+    public JsonParser rawParser() throws IOException {
+        return LazyJson.FACTORY.createParser(bytes, offset, length);
+    }
+
+    public boolean isIndexed() {
+        return fields != null;
+    }
+
+    private Map<String, Object> fields() {
+        Map<String, Object> result = fields;
+        if (result == null) {
+            synchronized (this) {
+                result = fields;
+                if (result == null) {
+                    result = index();
+                    fields = result;
+                }
+            }
+        }
+        return result;
+    }
+
+    private Map<String, Object> index() {
+        Map<String, Object> index = new LinkedHashMap<>();
+        try (JsonParser parser = LazyJson.FACTORY.createParser(bytes, offset, length)) {
+            parser.nextToken();
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String name = parser.currentName();
+                parser.nextToken();
+                index.put(name, LazyJson.readValue(parser, bytes, offset));
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to index JSON object", e);
+        }
+        return index;
+    }
+
+    @Override
+    public Object get(Object key) {
+        return fields().get(key);
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return fields().containsKey(key);
+    }
+
+    @Override
+    public int size() {
+        return fields().size();
+    }
+
+    @Override
+    public Set<Entry<String, Object>> entrySet() {
+        Map<String, Object> index = fields();
+        return new AbstractSet<>() {
+            @Override
+            public Iterator<Entry<String, Object>> iterator() {
+                Iterator<Entry<String, Object>> iterator = index.entrySet().iterator();
+                return new Iterator<>() {
+                    @Override
+                    public boolean hasNext() {
+                        return iterator.hasNext();
+                    }
+
+                    @Override
+                    public Entry<String, Object> next() {
+                        return new SimpleImmutableEntry<>(iterator.next());
+                    }
+                };
+            }
+
+            @Override
+            public int size() {
+                return index.size();
+            }
+        };
+    }
+
+    @Override
+    public String toString() {
+        return LazyJson.text(bytes, offset, length);
+    }
+}
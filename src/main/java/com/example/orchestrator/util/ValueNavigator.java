@@ -0,0 +1,55 @@
+package com.example.orchestrator.util;
+
+import com.example.orchestrator.model.GenericEntity;
+
+import java.util.List;
+import java.util.Map;
+
+// Walks one level into a context value: map keys, list indexes and the fields of stored entities
+public final class ValueNavigator {
+
+    private ValueNavigator() {
+    }
+
+    public static boolean isNavigable(Object value) {
+        return value instanceof Map || value instanceof List || value instanceof GenericEntity;
+    }
+
+    public static Object child(Object value, String key) {
+        if (value instanceof Map<?, ?> map) {
+            return map.get(key);
+        }
+        if (value instanceof List<?> list) {
+            if ("last".equals(key)) {
+                return list.isEmpty() ? null : list.get(list.size() - 1);
+            }
+            int index = parseIndex(key);
+            return index >= 0 && index < list.size() ? list.get(index) : null;
+        }
+        if (value instanceof GenericEntity entity) {
+            switch (key) {
+                case "id":
+                    return entity.getId();
+                case "tableName":
+                    return entity.getTableName();
+                case "data":
+                    return entity.getData();
+                default:
+                    return null;
+            }
+        }
+        return null;
+    }
+
+    private static int parseIndex(String key) {
+        if (key.isEmpty() || key.length() > 9) {
+            return -1;
+        }
+        for (int i = 0; i < key.length(); i++) {
+            if (!Character.isDigit(key.charAt(i))) {
+                return -1;
+            }
+        }
+        return Integer.parseInt(key);
+    }
+}
@@ -61,8 +61,8 @@ public class VariableResolver {
         String[] parts = key.split("\\.");
         Object value = context;
         for (String part : parts) {
-            if (value instanceof Map) {
-                value = ((Map<?, ?>) value).get(part);
+            if (ValueNavigator.isNavigable(value)) {
+                value = ValueNavigator.child(value, part);
             } else {
                 throw new VariableNotFoundException("Variable '" + key + "' not found in context.");
             }
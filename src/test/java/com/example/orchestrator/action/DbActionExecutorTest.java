@@ -1,10 +1,17 @@
 package com.example.orchestrator.action;
 
 import com.example.orchestrator.JsonOrchestratorApplication;
+import com.example.orchestrator.model.DbQuery;
 import com.example.orchestrator.model.GenericEntity;
 import com.example.orchestrator.model.Step;
 import com.example.orchestrator.repository.GenericEntityRepository;
+import com.example.orchestrator.repository.JdbcGenericEntityStore;
+import com.example.orchestrator.repository.JpaGenericEntityStore;
+import com.example.orchestrator.repository.JsonPushdown;
+import com.example.orchestrator.repository.TableRouter;
+import com.example.orchestrator.util.DataCodec;
 import com.example.orchestrator.util.ExecutionContext;
+import com.example.orchestrator.util.LazyJsonObject;
 import com.example.orchestrator.util.VariableResolver;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
@@ -14,22 +21,34 @@ import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
 import org.springframework.context.annotation.ComponentScan;
 import org.springframework.context.annotation.FilterType;
 import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.math.BigDecimal;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.when;
 
-@DataJpaTest
-@Import({DbActionExecutor.class, VariableResolver.class})
+@DataJpaTest(properties = {"orchestrator.db.partitions.hot_events=ge_hot_events", "orchestrator.db.cache.tables.countries.ttl-seconds=60"})
+@Import({DbActionExecutor.class, SelectCache.class, WriteBehindWriter.class, VariableResolver.class, DataCodec.class, JpaGenericEntityStore.class, JdbcGenericEntityStore.class, JsonPushdown.class, TableRouter.class})
 @ActiveProfiles("test")
 class DbActionExecutorTest {
 
@@ -42,6 +61,15 @@ class DbActionExecutorTest {
     @Autowired
     private VariableResolver variableResolver;
 
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private JdbcGenericEntityStore jdbcStore;
+
     private ObjectMapper objectMapper = new ObjectMapper();
 
     @BeforeEach
@@ -150,4 +178,364 @@ class DbActionExecutorTest {
         assertEquals(tableName, result.get(0).getTableName());
         assertEquals(data, result.get(0).getData());
     }
-}
\ No newline at end of file
+
+    @Test
+    void execute_bulkInsertOperation_shouldInsertEveryItemThroughTemplate() throws Exception {
+        // Given
+        String tableName = "bulk_table";
+        List<Map<String, Object>> products = List.of(Map.of("sku", "A1", "price", 10), Map.of("sku", "B2", "price", 20), Map.of("sku", "C3", "price", 30));
+        Step step = new Step("step1", "db", null, null, null, "bulkInsert", tableName,
+                objectMapper.readTree("{\"sku\": \"${product.sku}\", \"source\": \"${input.source}\"}"), "inserted",
+                null, null, "${products}", "product", null, null, null, null, null, null, null, null, null, null);
+        ExecutionContext context = new ExecutionContext();
+        context.put("products", products);
+        context.put("input", Map.of("source", "import"));
+
+        // When
+        @SuppressWarnings("unchecked")
+        Map<String, Object> result = (Map<String, Object>) dbActionExecutor.execute(step, context, new HashMap<>());
+
+        // Then
+        assertEquals(3, result.get("inserted"));
+        List<GenericEntity> entities = genericEntityRepository.findByTableName(tableName);
+        assertEquals(3, entities.size());
+        assertEquals(Map.of("sku", "B2", "source", "import"), entities.get(1).getData());
+    }
+
+    @Test
+    void execute_selectOperationWithQuery_shouldFilterOnDataFieldsAndPage() {
+        // Given
+        String tableName = "orders";
+        for (int i = 0; i < 10; i++) {
+            genericEntityRepository.save(new GenericEntity(tableName, Map.of("status", i % 2 == 0 ? "open" : "closed", "customer", Map.of("tier", i < 6 ? "gold" : "silver"), "n", i)));
+        }
+        genericEntityRepository.save(new GenericEntity("other_table", Map.of("status", "open")));
+        ExecutionContext context = new ExecutionContext();
+        context.put("input", Map.of("status", "open"));
+        Step step = new Step("step1", "db", null, null, null, "select", tableName, null, "page",
+                null, null, null, null, null, null, null, null, null, null,
+                new DbQuery(Map.of("status", "${input.status}", "customer.tier", "gold"), 2, 1, null, null, null), null, null, null);
+
+        // When
+        @SuppressWarnings("unchecked")
+        List<GenericEntity> result = (List<GenericEntity>) dbActionExecutor.execute(step, context, new HashMap<>());
+
+        // Then
+        assertEquals(List.of(2, 4), result.stream().map(entity -> entity.getData().get("n")).toList());
+    }
+
+    @Test
+    void execute_selectOperationWithKeysetCursor_shouldContinueAfterLastRowOfPreviousPage() {
+        // Given
+        String tableName = "events";
+        for (int i = 0; i < 5; i++) {
+            genericEntityRepository.save(new GenericEntity(tableName, Map.of("n", i)));
+        }
+        ExecutionContext context = new ExecutionContext();
+        Step firstPage = new Step("first", "db", null, null, null, "select", tableName, null, "page",
+                null, null, null, null, null, null, null, null, null, null, new DbQuery(null, 3, null, null, null, null), null, null, null);
+        Step nextPage = new Step("next", "db", null, null, null, "select", tableName, null, "next",
+                null, null, null, null, null, null, null, null, null, null, new DbQuery(null, 3, null, "${page.last.id}", null, null), null, null, null);
+
+        // When
+        context.put("page", dbActionExecutor.execute(firstPage, context, new HashMap<>()));
+        @SuppressWarnings("unchecked")
+        List<GenericEntity> result = (List<GenericEntity>) dbActionExecutor.execute(nextPage, context, new HashMap<>());
+
+        // Then
+        assertEquals(List.of(3, 4), result.stream().map(entity -> entity.getData().get("n")).toList());
+    }
+
+    @Test
+    void execute_streamedSelectOperation_shouldFetchRowsLazilyPageByPage() throws Exception {
+        // Given
+        String tableName = "readings";
+        for (int i = 0; i < 10; i++) {
+            genericEntityRepository.save(new GenericEntity(tableName, Map.of("n", i)));
+        }
+        Step step = new Step("step1", "db", null, null, null, "select", tableName, null, "rows",
+                null, null, null, null, null, null, null, null, null, null, new DbQuery(null, 5, 1, null, true, 2), null, null, null);
+
+        // When
+        Object result = dbActionExecutor.execute(step, new ExecutionContext(), new HashMap<>());
+
+        // Then
+        assertFalse(result instanceof List);
+        List<Object> values = new ArrayList<>();
+        for (GenericEntity entity : (Iterable<GenericEntity>) result) {
+            values.add(entity.getData().get("n"));
+        }
+        assertEquals(List.of(1, 2, 3, 4, 5), values);
+        assertEquals(5, objectMapper.readTree(objectMapper.writeValueAsString(result)).size());
+    }
+
+    @Test
+    void execute_selectOperation_shouldLoadDataWithoutParsingIt() throws Exception {
+        // Given
+        String tableName = "catalog";
+        genericEntityRepository.saveAndFlush(new GenericEntity(tableName, Map.of("sku", "A1", "details", Map.of("color", "red"))));
+        entityManager.clear();
+        Step step = new Step("step1", "db", null, null, null, "select", tableName, null, null);
+
+        // When
+        @SuppressWarnings("unchecked")
+        List<GenericEntity> result = (List<GenericEntity>) dbActionExecutor.execute(step, new ExecutionContext(), new HashMap<>());
+
+        // Then
+        LazyJsonObject data = (LazyJsonObject) result.get(0).getData();
+        assertFalse(data.isIndexed());
+        assertEquals(objectMapper.readTree("{\"sku\":\"A1\",\"details\":{\"color\":\"red\"}}"), objectMapper.readTree(objectMapper.writeValueAsString(data)));
+        assertFalse(data.isIndexed());
+        assertEquals("red", ((Map<?, ?>) data.get("details")).get("color"));
+    }
+
+    @Test
+    void execute_jdbcEngine_shouldShareTheTableAndIdSequenceWithJpa() throws Exception {
+        // Given
+        String tableName = "mixed";
+        genericEntityRepository.saveAndFlush(new GenericEntity(tableName, Map.of("n", 0, "via", "jpa")));
+        Step insert = new Step("insert", "db", null, null, null, "insert", tableName, objectMapper.readTree("{\"n\": 1, \"via\": \"jdbc\"}"), null,
+                null, null, null, null, null, null, null, null, null, null, null, "jdbc", null, null);
+        Step bulkInsert = new Step("bulk", "db", null, null, null, "bulkInsert", tableName, null, null,
+                null, null, "${rows}", null, null, null, null, null, null, null, null, "jdbc", null, null);
+        Step select = new Step("select", "db", null, null, null, "select", tableName, null, null,
+                null, null, null, null, null, null, null, null, null, null, new DbQuery(Map.of("via", "jdbc"), null, 1, null, null, null), "jdbc", null, null);
+        ExecutionContext context = new ExecutionContext();
+        context.put("rows", List.of(Map.of("n", 2, "via", "jdbc"), Map.of("n", 3, "via", "jdbc")));
+
+        // When
+        dbActionExecutor.execute(insert, context, new HashMap<>());
+        dbActionExecutor.execute(bulkInsert, context, new HashMap<>());
+        genericEntityRepository.saveAndFlush(new GenericEntity(tableName, Map.of("n", 4, "via", "jpa")));
+        @SuppressWarnings("unchecked")
+        List<GenericEntity> selected = (List<GenericEntity>) dbActionExecutor.execute(select, context, new HashMap<>());
+
+        // Then
+        assertEquals(List.of(2, 3), selected.stream().map(entity -> entity.getData().get("n")).toList());
+        List<GenericEntity> all = genericEntityRepository.findByTableName(tableName);
+        assertEquals(5, all.size());
+        assertEquals(5, all.stream().map(GenericEntity::getId).distinct().count());
+    }
+
+    @Test
+    void execute_unknownEngine_shouldThrowException() {
+        Step step = new Step("step1", "db", null, null, null, "select", "any", null, null,
+                null, null, null, null, null, null, null, null, null, null, null, "mongo", null, null);
+
+        assertThrows(IllegalArgumentException.class, () -> dbActionExecutor.execute(step, new ExecutionContext(), new HashMap<>()));
+    }
+
+    @Test
+    void execute_selectOperationWithContainmentPredicate_shouldMatchArrayAndObjectValues() {
+        // Given
+        String tableName = "products";
+        genericEntityRepository.save(new GenericEntity(tableName, Map.of("sku", "A1", "tags", List.of("new", "sale"), "specs", Map.of("ram", 16, "ssd", 512))));
+        genericEntityRepository.save(new GenericEntity(tableName, Map.of("sku", "B2", "tags", List.of("new"), "specs", Map.of("ram", 16))));
+        genericEntityRepository.save(new GenericEntity(tableName, Map.of("sku", "C3", "tags", List.of("sale"), "specs", Map.of("ram", 8))));
+        Step step = new Step("step1", "db", null, null, null, "select", tableName, null, null,
+                null, null, null, null, null, null, null, null, null, null,
+                new DbQuery(Map.of("tags", List.of("sale"), "specs", Map.of("ram", 16)), null, null, null, null, null), null, null, null);
+
+        // When
+        @SuppressWarnings("unchecked")
+        List<GenericEntity> result = (List<GenericEntity>) dbActionExecutor.execute(step, new ExecutionContext(), new HashMap<>());
+
+        // Then
+        assertEquals(List.of("A1"), result.stream().map(entity -> entity.getData().get("sku")).toList());
+    }
+
+    @Test
+    void execute_dedicatedTable_shouldRouteInsertsAndSelectsToItsPhysicalTable() throws Exception {
+        // Given
+        String tableName = "hot_events";
+        Step insert = new Step("insert", "db", null, null, null, "insert", tableName, objectMapper.readTree("{\"kind\": \"click\"}"), null);
+        Step bulkInsert = new Step("bulk", "db", null, null, null, "bulkInsert", tableName, null, null,
+                null, null, "${rows}", null, null, null, null, null, null, null, null, null, null, null);
+        Step select = new Step("select", "db", null, null, null, "select", tableName, null, null,
+                null, null, null, null, null, null, null, null, null, null, new DbQuery(Map.of("kind", "view"), null, null, null, null, null), null, null, null);
+        ExecutionContext context = new ExecutionContext();
+        context.put("rows", List.of(Map.of("kind", "view"), Map.of("kind", "view")));
+
+        // When
+        dbActionExecutor.execute(insert, context, new HashMap<>());
+        dbActionExecutor.execute(bulkInsert, context, new HashMap<>());
+        @SuppressWarnings("unchecked")
+        List<GenericEntity> selected = (List<GenericEntity>) dbActionExecutor.execute(select, context, new HashMap<>());
+
+        // Then
+        assertEquals(2, selected.size());
+        assertEquals(3, jdbcTemplate.queryForObject("select count(*) from ge_hot_events", Integer.class));
+        assertTrue(genericEntityRepository.findByTableName(tableName).isEmpty());
+    }
+
+    @Test
+    void execute_selectOperationOnCachedTable_shouldServeRepeatedSelectsUntilTheTableIsWritten() throws Exception {
+        // Given
+        String tableName = "countries";
+        genericEntityRepository.saveAndFlush(new GenericEntity(tableName, Map.of("code", "NL")));
+        Step select = new Step("select", "db", null, null, null, "select", tableName, null, null);
+        Step insert = new Step("insert", "db", null, null, null, "insert", tableName, objectMapper.readTree("{\"code\": \"BE\"}"), null);
+        ExecutionContext context = new ExecutionContext();
+
+        // When
+        @SuppressWarnings("unchecked")
+        List<GenericEntity> first = (List<GenericEntity>) dbActionExecutor.execute(select, context, new HashMap<>());
+        jdbcTemplate.update("delete from generic_entity where table_name = 'countries'");
+        @SuppressWarnings("unchecked")
+        List<GenericEntity> cached = (List<GenericEntity>) dbActionExecutor.execute(select, context, new HashMap<>());
+        dbActionExecutor.execute(insert, context, new HashMap<>());
+        genericEntityRepository.flush();
+        @SuppressWarnings("unchecked")
+        List<GenericEntity> afterWrite = (List<GenericEntity>) dbActionExecutor.execute(select, context, new HashMap<>());
+
+        // Then
+        assertEquals(List.of(Map.of("code", "NL")), cached.stream().map(GenericEntity::getData).toList());
+        assertNotSame(first.get(0), cached.get(0));
+        assertEquals(List.of("BE"), afterWrite.stream().map(entity -> entity.getData().get("code")).toList());
+    }
+
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    void upsert_concurrentlyForTheSameKey_shouldInsertOnlyOneRow() throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<Integer>> upserts = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                int qty = i;
+                upserts.add(pool.submit(() -> {
+                    start.await();
+                    return jdbcStore.upsert("inventory", "sku", Map.of("sku", "K1", "qty", qty));
+                }));
+            }
+            start.countDown();
+            for (Future<Integer> upsert : upserts) {
+                assertEquals(1, upsert.get(10, TimeUnit.SECONDS));
+            }
+
+            assertEquals(1, jdbcStore.findPage("inventory", Map.of("sku", "K1"), null, 0, null).size());
+        } finally {
+            pool.shutdownNow();
+            genericEntityRepository.deleteAll();
+        }
+    }
+
+    @Test
+    void execute_upsertUpdateAndDeleteOperations_shouldChangeMatchingRowsAndReturnAffectedCounts() throws Exception {
+        // Given
+        String tableName = "inventory";
+        genericEntityRepository.save(new GenericEntity(tableName, Map.of("sku", "A1", "qty", 1)));
+        genericEntityRepository.save(new GenericEntity(tableName, Map.of("sku", "B2", "qty", 2)));
+        genericEntityRepository.save(new GenericEntity("other_table", Map.of("sku", "A1", "qty", 1)));
+        ExecutionContext context = new ExecutionContext();
+        context.put("input", Map.of("sku", "B2"));
+        Step upsertExisting = new Step("upsert1", "db", null, null, null, "upsert", tableName, objectMapper.readTree("{\"sku\": \"A1\", \"qty\": 5}"), null,
+                null, null, null, null, null, null, null, null, null, null, null, null, null, "sku");
+        Step upsertNew = new Step("upsert2", "db", null, null, null, "upsert", tableName, objectMapper.readTree("{\"sku\": \"C3\", \"qty\": 1}"), null,
+                null, null, null, null, null, null, null, null, null, null, null, null, null, "sku");
+        Step update = new Step("update", "db", null, null, null, "update", tableName, objectMapper.readTree("{\"qty\": 7, \"note\": \"restocked\"}"), null,
+                null, null, null, null, null, null, null, null, null, null, new DbQuery(Map.of("sku", "${input.sku}"), null, null, null, null, null), null, null, null);
+        Step delete = new Step("delete", "db", null, null, null, "delete", tableName, null, null,
+                null, null, null, null, null, null, null, null, null, null, new DbQuery(Map.of("sku", "C3"), null, null, null, null, null), null, null, null);
+
+        // When
+        Map<?, ?> upsertedExisting = (Map<?, ?>) dbActionExecutor.execute(upsertExisting, context, new HashMap<>());
+        Map<?, ?> upsertedNew = (Map<?, ?>) dbActionExecutor.execute(upsertNew, context, new HashMap<>());
+        Map<?, ?> updated = (Map<?, ?>) dbActionExecutor.execute(update, context, new HashMap<>());
+        int rowsBeforeDelete = genericEntityRepository.findByTableName(tableName).size();
+        Map<?, ?> deleted = (Map<?, ?>) dbActionExecutor.execute(delete, context, new HashMap<>());
+
+        // Then
+        assertEquals(1, upsertedExisting.get("affected"));
+        assertEquals(1, upsertedNew.get("affected"));
+        assertEquals(1, updated.get("affected"));
+        assertEquals(1, deleted.get("affected"));
+        assertEquals(3, rowsBeforeDelete);
+        assertEquals(List.of(Map.of("sku", "A1", "qty", 5), Map.of("sku", "B2", "qty", 7, "note", "restocked")),
+                genericEntityRepository.findByTableName(tableName).stream().map(GenericEntity::getData).toList());
+        assertEquals(Map.of("sku", "A1", "qty", 1), genericEntityRepository.findByTableName("other_table").get(0).getData());
+    }
+
+    @Test
+    void execute_writeOperationsWithoutKeyOrWhere_shouldThrowException() throws Exception {
+        // Given
+        Step upsert = new Step("upsert", "db", null, null, null, "upsert", "inventory", objectMapper.readTree("{\"sku\": \"A1\"}"), null);
+        Step upsertWithoutKeyValue = new Step("upsert", "db", null, null, null, "upsert", "inventory", objectMapper.readTree("{\"qty\": 1}"), null,
+                null, null, null, null, null, null, null, null, null, null, null, null, null, "sku");
+        Step delete = new Step("delete", "db", null, null, null, "delete", "inventory", null, null);
+        ExecutionContext context = new ExecutionContext();
+
+        // When & Then
+        assertThrows(IllegalArgumentException.class, () -> dbActionExecutor.execute(upsert, context, new HashMap<>()));
+        assertThrows(IllegalArgumentException.class, () -> dbActionExecutor.execute(upsertWithoutKeyValue, context, new HashMap<>()));
+        assertThrows(IllegalArgumentException.class, () -> dbActionExecutor.execute(delete, context, new HashMap<>()));
+    }
+
+    @Test
+    void execute_upsertOnDedicatedTable_shouldWriteItsPhysicalTable() throws Exception {
+        // Given
+        String tableName = "hot_events";
+        Step upsert = new Step("upsert", "db", null, null, null, "upsert", tableName, objectMapper.readTree("{\"session\": {\"id\": \"s1\"}, \"clicks\": 1}"), null,
+                null, null, null, null, null, null, null, null, null, null, null, "jdbc", null, "session.id");
+        ExecutionContext context = new ExecutionContext();
+
+        // When
+        dbActionExecutor.execute(upsert, context, new HashMap<>());
+        dbActionExecutor.execute(upsert, context, new HashMap<>());
+
+        // Then
+        assertEquals(1, jdbcTemplate.queryForObject("select count(*) from ge_hot_events", Integer.class));
+    }
+
+    @Test
+    void execute_aggregateOperation_shouldCountSumAndGroupMatchingRows() {
+        // Given
+        String tableName = "sales";
+        genericEntityRepository.save(new GenericEntity(tableName, Map.of("region", "eu", "amount", 10, "paid", true)));
+        genericEntityRepository.save(new GenericEntity(tableName, Map.of("region", "us", "amount", 2.5, "paid", true)));
+        genericEntityRepository.save(new GenericEntity(tableName, Map.of("region", "eu", "amount", 5, "paid", true)));
+        genericEntityRepository.save(new GenericEntity(tableName, Map.of("region", "eu", "amount", "n/a", "paid", false)));
+        genericEntityRepository.save(new GenericEntity("other_table", Map.of("region", "eu", "amount", 100)));
+        Map<String, String> aggregates = new LinkedHashMap<>();
+        aggregates.put("orders", "count");
+        aggregates.put("total", "sum(amount)");
+        aggregates.put("smallest", "min(amount)");
+        aggregates.put("largest", "MAX( amount )");
+        Step grouped = new Step("grouped", "db", null, null, null, "aggregate", tableName, null, null,
+                null, null, null, null, null, null, null, null, null, null,
+                new DbQuery(null, null, null, null, null, null, List.of("region"), aggregates), null, null, null);
+        Step paid = new Step("paid", "db", null, null, null, "aggregate", tableName, null, null,
+                null, null, null, null, null, null, null, null, null, null,
+                new DbQuery(Map.of("paid", true), null, null, null, null, null, null, Map.of("total", "sum(amount)", "withAmount", "count(amount)")), null, null, null);
+        Step none = new Step("none", "db", null, null, null, "aggregate", "empty_table", null, null,
+                null, null, null, null, null, null, null, null, null, null,
+                new DbQuery(null, null, null, null, null, null, null, Map.of("rows", "count(*)", "total", "sum(amount)")), null, null, null);
+        ExecutionContext context = new ExecutionContext();
+
+        // When
+        Object groups = dbActionExecutor.execute(grouped, context, new HashMap<>());
+        Object paidTotals = dbActionExecutor.execute(paid, context, new HashMap<>());
+        Object emptyTotals = dbActionExecutor.execute(none, context, new HashMap<>());
+
+        // Then
+        assertEquals(List.of(
+                Map.of("region", "eu", "orders", 3L, "total", 15L, "smallest", 5L, "largest", 10L),
+                Map.of("region", "us", "orders", 1L, "total", new BigDecimal("2.5"), "smallest", new BigDecimal("2.5"), "largest", new BigDecimal("2.5"))), groups);
+        assertEquals(Map.of("total", new BigDecimal("17.5"), "withAmount", 3L), paidTotals);
+        Map<String, Object> expectedEmpty = new HashMap<>();
+        expectedEmpty.put("rows", 0L);
+        expectedEmpty.put("total", null);
+        assertEquals(expectedEmpty, emptyTotals);
+    }
+
+    @Test
+    void execute_aggregateOperationWithUnknownFunction_shouldThrowException() {
+        // Given
+        Step step = new Step("step1", "db", null, null, null, "aggregate", "sales", null, null,
+                null, null, null, null, null, null, null, null, null, null,
+                new DbQuery(null, null, null, null, null, null, null, Map.of("mean", "avg(amount)")), null, null, null);
+
+        // When & Then
+        assertThrows(IllegalArgumentException.class, () -> dbActionExecutor.execute(step, new ExecutionContext(), new HashMap<>()));
+    }
+}
@@ -38,6 +38,8 @@ class HttpActionExecutorTest {
     @InjectMocks
     private HttpActionExecutor httpActionExecutor;
 
+    private static final ObjectMapper JSON = new ObjectMapper();
+
     @BeforeEach
     void setUp() {
         // Mockito will inject mocks automatically
@@ -69,7 +71,7 @@ class HttpActionExecutorTest {
         when(requestHeadersUriSpec.uri(testUrl)).thenReturn(requestHeadersSpec);
         when(requestHeadersSpec.headers(any())).thenReturn(requestHeadersSpec);
         when(requestHeadersSpec.retrieve()).thenReturn(responseSpec);
-        when(responseSpec.body(eq(Map.class))).thenReturn(expectedResponseMap);
+        when(responseSpec.body(eq(byte[].class))).thenReturn(JSON.writeValueAsBytes(expectedResponseMap));
 
         Object result = httpActionExecutor.execute(step, context, requestParams);
 
@@ -110,7 +112,7 @@ class HttpActionExecutorTest {
         when(requestBodySpec.headers(any())).thenReturn(requestBodySpec);
         when(requestBodySpec.body(eq(requestBodyMap))).thenReturn(requestBodySpec);
         when(requestBodySpec.retrieve()).thenReturn(responseSpec);
-        when(responseSpec.body(eq(Map.class))).thenReturn(expectedResponseMap);
+        when(responseSpec.body(eq(byte[].class))).thenReturn(JSON.writeValueAsBytes(expectedResponseMap));
 
         Object result = httpActionExecutor.execute(step, context, requestParams);
 
@@ -203,7 +205,7 @@ class HttpActionExecutorTest {
         when(requestHeadersUriSpec.uri(expectedUrl)).thenReturn(requestHeadersSpec);
         when(requestHeadersSpec.headers(any())).thenReturn(requestHeadersSpec);
         when(requestHeadersSpec.retrieve()).thenReturn(responseSpec);
-        when(responseSpec.body(eq(Map.class))).thenReturn(expectedResponseMap);
+        when(responseSpec.body(eq(byte[].class))).thenReturn(JSON.writeValueAsBytes(expectedResponseMap));
 
         Step step = new Step(null, "http", "GET", templateUrl, null, null, null, null, null);
 
@@ -233,7 +235,7 @@ class HttpActionExecutorTest {
         when(requestHeadersUriSpec.uri(expectedUrl)).thenReturn(requestHeadersSpec);
         when(requestHeadersSpec.headers(any())).thenReturn(requestHeadersSpec);
         when(requestHeadersSpec.retrieve()).thenReturn(responseSpec);
-        when(responseSpec.body(eq(Map.class))).thenReturn(expectedResponseMap);
+        when(responseSpec.body(eq(byte[].class))).thenReturn(JSON.writeValueAsBytes(expectedResponseMap));
 
         Step step = new Step(null, "http", "GET", templateUrl, null, null, null, null, null);
 
@@ -263,7 +265,7 @@ class HttpActionExecutorTest {
         when(requestHeadersUriSpec.uri(expectedUrl)).thenReturn(requestHeadersSpec);
         when(requestHeadersSpec.headers(any())).thenReturn(requestHeadersSpec);
         when(requestHeadersSpec.retrieve()).thenReturn(responseSpec);
-        when(responseSpec.body(eq(Map.class))).thenReturn(expectedResponseMap);
+        when(responseSpec.body(eq(byte[].class))).thenReturn(JSON.writeValueAsBytes(expectedResponseMap));
 
         Step step = new Step(null, "http", "GET", templateUrl, null, null, null, null, null);
 
@@ -295,7 +297,7 @@ class HttpActionExecutorTest {
         when(requestHeadersUriSpec.uri(testUrl)).thenReturn(requestHeadersSpec);
         when(requestHeadersSpec.headers(any())).thenReturn(requestHeadersSpec);
         when(requestHeadersSpec.retrieve()).thenReturn(responseSpec);
-        when(responseSpec.body(eq(Map.class))).thenReturn(expectedResponseMap);
+        when(responseSpec.body(eq(byte[].class))).thenReturn(JSON.writeValueAsBytes(expectedResponseMap));
 
         Step step = new Step(null, "http", "GET", testUrl, headers, null, null, null, null);
 
@@ -327,7 +329,7 @@ class HttpActionExecutorTest {
         when(requestHeadersUriSpec.uri(testUrl)).thenReturn(requestHeadersSpec);
         when(requestHeadersSpec.headers(any())).thenReturn(requestHeadersSpec);
         when(requestHeadersSpec.retrieve()).thenReturn(responseSpec);
-        when(responseSpec.body(eq(Map.class))).thenReturn(expectedResponseMap);
+        when(responseSpec.body(eq(byte[].class))).thenReturn(JSON.writeValueAsBytes(expectedResponseMap));
 
         Step step = new Step(null, "http", "GET", testUrl, headers, null, null, null, null);
 
@@ -359,7 +361,7 @@ class HttpActionExecutorTest {
         when(requestHeadersUriSpec.uri(testUrl)).thenReturn(requestHeadersSpec);
         when(requestHeadersSpec.headers(any())).thenReturn(requestHeadersSpec);
         when(requestHeadersSpec.retrieve()).thenReturn(responseSpec);
-        when(responseSpec.body(eq(Map.class))).thenReturn(expectedResponseMap);
+        when(responseSpec.body(eq(byte[].class))).thenReturn(JSON.writeValueAsBytes(expectedResponseMap));
 
         Step step = new Step(null, "http", "GET", testUrl, headers, null, null, null, null);
 
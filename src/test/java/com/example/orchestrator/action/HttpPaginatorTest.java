@@ -0,0 +1,121 @@
+package com.example.orchestrator.action;
+
+import com.example.orchestrator.model.Pagination;
+import com.example.orchestrator.model.Step;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.client.MockRestServiceServer;
+import org.springframework.web.client.RestClient;
+
+import java.math.BigDecimal;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.requestTo;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withSuccess;
+
+class HttpPaginatorTest {
+
+    private MockRestServiceServer server;
+    private ExecutorService executorService;
+    private HttpPaginator paginator;
+
+    @BeforeEach
+    void setUp() {
+        RestClient.Builder builder = RestClient.builder();
+        server = MockRestServiceServer.bindTo(builder).build();
+        executorService = Executors.newCachedThreadPool();
+        paginator = new HttpPaginator(builder.build(), executorService, 100, 3);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executorService.shutdownNow();
+    }
+
+    private Step step(Pagination pagination) {
+        return new Step("orders", "http", "GET", "http://example.com/orders", null, null, null, null, "orders",
+                null, null, null, null, null, null, null, null, null, pagination, null, null, null, null);
+    }
+
+    @Test
+    void paginate_shouldFollowCursorAndSumField() {
+        server.expect(requestTo("http://example.com/orders?size=2"))
+                .andRespond(withSuccess("{\"data\": [{\"total\": 1.5}, {\"total\": 2}], \"meta\": {\"cursor\": \"abc\"}}", MediaType.APPLICATION_JSON));
+        server.expect(requestTo("http://example.com/orders?size=2&cursor=abc"))
+                .andRespond(withSuccess("{\"data\": [{\"total\": 3}], \"meta\": {}}", MediaType.APPLICATION_JSON));
+
+        Map<String, Object> result = paginator.paginate(
+                step(new Pagination("data", "meta.cursor", "cursor", null, true, "sum", "total", null)),
+                "http://example.com/orders?size=2", Collections.emptyMap());
+
+        assertEquals(new BigDecimal("6.5"), result.get("sum"));
+        assertEquals(3L, result.get("count"));
+        assertEquals(2, result.get("pages"));
+        assertEquals(false, result.get("truncated"));
+        server.verify();
+    }
+
+    @Test
+    void paginate_shouldFlagResultsCutOffAtMaxPages() {
+        server.expect(requestTo("http://example.com/orders"))
+                .andRespond(withSuccess("{\"data\": [{\"total\": 1}], \"next\": \"/orders?page=2\"}", MediaType.APPLICATION_JSON));
+
+        Map<String, Object> result = paginator.paginate(
+                step(new Pagination("data", "next", null, 1, true, "count", null, null)),
+                "http://example.com/orders", Collections.emptyMap());
+
+        assertEquals(1L, result.get("count"));
+        assertEquals(1, result.get("pages"));
+        assertEquals(true, result.get("truncated"));
+        server.verify();
+    }
+
+    @Test
+    void paginate_shouldNameTheFieldAndValueThatCannotBeSummed() {
+        server.expect(requestTo("http://example.com/orders"))
+                .andRespond(withSuccess("{\"data\": [{\"amount\": {\"value\": 2}}, {\"amount\": {\"value\": \"n/a\"}}]}", MediaType.APPLICATION_JSON));
+
+        IllegalArgumentException error = assertThrows(IllegalArgumentException.class, () -> paginator.paginate(
+                step(new Pagination("data", "next", null, null, false, "sum", "amount.value", null)),
+                "http://example.com/orders", Collections.emptyMap()));
+
+        assertEquals("Cannot sum field 'amount.value' of item 1: 'n/a' is not a number.", error.getMessage());
+    }
+
+    @Test
+    void paginate_shouldFollowLinkHeaderAndStopOnceFirstItemsAreCollected() {
+        HttpHeaders headers = new HttpHeaders();
+        headers.add(HttpHeaders.LINK, "</orders?page=2>; rel=\"next\"");
+        server.expect(requestTo("http://example.com/orders"))
+                .andRespond(withSuccess("[1, 2]", MediaType.APPLICATION_JSON).headers(headers));
+        server.expect(requestTo("http://example.com/orders?page=2"))
+                .andRespond(withSuccess("[3, 4]", MediaType.APPLICATION_JSON).headers(headers));
+
+        Map<String, Object> result = paginator.paginate(
+                step(new Pagination(null, null, null, null, false, "first", null, 3)),
+                "http://example.com/orders", Collections.emptyMap());
+
+        assertEquals(List.of(1, 2, 3), result.get("items"));
+        assertEquals(2, result.get("pages"));
+        assertEquals(false, result.get("truncated"));
+        server.verify();
+    }
+
+    @Test
+    void paginate_shouldFailWhenCollectExceedsBufferCap() {
+        server.expect(requestTo("http://example.com/orders"))
+                .andRespond(withSuccess("{\"items\": [1, 2, 3, 4]}", MediaType.APPLICATION_JSON));
+
+        assertThrows(IllegalStateException.class, () -> paginator.paginate(
+                step(new Pagination("items", "next", null, null, false, null, null, null)),
+                "http://example.com/orders", Collections.emptyMap()));
+    }
+}
@@ -0,0 +1,151 @@
+package com.example.orchestrator.action;
+
+import com.example.orchestrator.model.GenericEntity;
+import com.example.orchestrator.util.DataCodec;
+import com.example.orchestrator.util.DataColumnConverter;
+import com.example.orchestrator.util.LazyDecodedMap;
+import com.example.orchestrator.util.LazyJson;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SelectCacheTest {
+
+    private final AtomicLong clock = new AtomicLong();
+    private final AtomicInteger loads = new AtomicInteger();
+    private final List<String> published = new ArrayList<>();
+    private SelectCache cache;
+
+    @BeforeEach
+    void setUp() {
+        MockEnvironment environment = new MockEnvironment()
+                .withProperty("orchestrator.db.cache.tables.default.max-entries", "2")
+                .withProperty("orchestrator.db.cache.tables.countries.ttl-seconds", "10");
+        cache = new SelectCache(environment, List.of(published::add), clock::get);
+    }
+
+    private List<GenericEntity> load() {
+        loads.incrementAndGet();
+        return List.of(new GenericEntity("countries", Map.of("code", "NL")));
+    }
+
+    @Test
+    void get_shouldHitUntilTheTtlExpires() {
+        cache.get("countries", "all", this::load);
+        cache.get("countries", "all", this::load);
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(11));
+        cache.get("countries", "all", this::load);
+
+        assertEquals(2, loads.get());
+        Map<?, ?> stats = (Map<?, ?>) cache.getStats().get("countries");
+        assertEquals(1L, stats.get("hits"));
+        assertEquals(2L, stats.get("misses"));
+        assertTrue((Long) stats.get("estimatedBytes") > 0);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void get_shouldNotLetCallersModifyTheCachedRows() {
+        Map<String, Object> nested = new HashMap<>(Map.of("name", "Europe"));
+        List<GenericEntity> loaded = List.of(new GenericEntity("countries", new HashMap<>(Map.of("code", "NL", "region", nested))));
+        cache.get("countries", "all", () -> loaded);
+        loaded.get(0).getData().put("code", "BE");
+        nested.put("name", "Asia");
+
+        GenericEntity hit = cache.get("countries", "all", this::load).get(0);
+        hit.getData().put("code", "DE");
+        ((Map<String, Object>) hit.getData().get("region")).put("name", "Africa");
+        hit.setData(Map.of());
+
+        GenericEntity next = cache.get("countries", "all", this::load).get(0);
+        assertEquals(Map.of("code", "NL", "region", Map.of("name", "Europe")), next.getData());
+        assertNotSame(hit, next);
+        assertEquals(0, loads.get());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void get_shouldShareLazilyDecodedDataWithoutDecodingIt() {
+        DataColumnConverter.Binary converter = new DataColumnConverter.Binary(new DataCodec("cbor", "none", 1024));
+        LazyDecodedMap binary = (LazyDecodedMap) converter.convertToEntityAttribute(converter.convertToDatabaseColumn(Map.of("code", "NL")));
+        Object json = LazyJson.parse("{\"code\": \"BE\"}".getBytes(StandardCharsets.UTF_8));
+        List<GenericEntity> loaded = List.of(new GenericEntity("countries", binary), new GenericEntity("countries", (Map<String, Object>) json));
+
+        cache.get("countries", "all", () -> loaded);
+        List<GenericEntity> hit = cache.get("countries", "all", this::load);
+
+        assertSame(binary, hit.get(0).getData());
+        assertSame(json, hit.get(1).getData());
+        assertFalse(binary.isDecoded());
+    }
+
+    @Test
+    void get_shouldEvictTheLeastRecentlyUsedQuery() {
+        cache.get("countries", "a", this::load);
+        cache.get("countries", "b", this::load);
+        cache.get("countries", "a", this::load);
+        cache.get("countries", "c", this::load);
+        cache.get("countries", "a", this::load);
+        cache.get("countries", "b", this::load);
+
+        assertEquals(4, loads.get());
+        assertEquals(2L, ((Map<?, ?>) cache.getStats().get("countries")).get("evictions"));
+    }
+
+    @Test
+    void invalidate_shouldDropEntriesAndNotifyListenersWhileEvictStaysLocal() {
+        cache.get("countries", "all", this::load);
+        cache.invalidate("countries");
+        cache.get("countries", "all", this::load);
+        cache.evict("countries");
+        cache.get("countries", "all", this::load);
+
+        assertEquals(3, loads.get());
+        assertEquals(List.of("countries"), published);
+    }
+
+    @Test
+    void get_shouldNotCacheTablesWithoutTtl() {
+        cache.get("orders", "all", this::load);
+        cache.get("orders", "all", this::load);
+
+        assertEquals(2, loads.get());
+        assertFalse(cache.getStats().containsKey("orders"));
+    }
+
+    @Test
+    void invalidate_insideTransaction_shouldBypassTheTableUntilTheTransactionCompletes() {
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            cache.invalidate("countries");
+            cache.get("countries", "all", this::load);
+            cache.get("countries", "all", this::load);
+            assertEquals(2, loads.get());
+
+            TransactionSynchronizationUtils.invokeAfterCompletion(TransactionSynchronizationManager.getSynchronizations(),
+                    TransactionSynchronization.STATUS_COMMITTED);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        cache.get("countries", "all", this::load);
+        cache.get("countries", "all", this::load);
+
+        assertEquals(3, loads.get());
+        assertEquals(List.of("countries", "countries"), published);
+        assertNull(TransactionSynchronizationManager.getResource(cache));
+    }
+}
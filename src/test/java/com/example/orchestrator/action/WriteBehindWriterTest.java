@@ -0,0 +1,197 @@
+package com.example.orchestrator.action;
+
+import com.example.orchestrator.model.GenericEntity;
+import com.example.orchestrator.repository.Aggregation;
+import com.example.orchestrator.repository.GenericEntityStore;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class WriteBehindWriterTest {
+
+    private final SelectCache selectCache = new SelectCache(new MockEnvironment(), List.of());
+    private final RecordingStore store = new RecordingStore();
+
+    private WriteBehindWriter writer(int capacity, long lingerMillis, String durability, long enqueueTimeoutMillis) {
+        return writer(capacity, lingerMillis, durability, enqueueTimeoutMillis, 5000, 5000);
+    }
+
+    private WriteBehindWriter writer(int capacity, long lingerMillis, String durability, long enqueueTimeoutMillis,
+                                     long commitTimeoutMillis, long shutdownTimeoutMillis) {
+        WriteBehindWriter writer = new WriteBehindWriter(selectCache, capacity, 100, lingerMillis, durability,
+                enqueueTimeoutMillis, commitTimeoutMillis, shutdownTimeoutMillis);
+        writer.start();
+        return writer;
+    }
+
+    @Test
+    void enqueue_shouldGroupConcurrentRowsIntoOneBatchAndDrainOnShutdown() {
+        WriteBehindWriter writer = writer(100, 500, "buffered", 1000);
+
+        for (int i = 0; i < 3; i++) {
+            assertTrue(writer.enqueue(store, "events", Map.of("n", i)));
+        }
+        writer.stop();
+
+        assertEquals(List.of(List.of(Map.of("n", 0), Map.of("n", 1), Map.of("n", 2))), store.batches);
+        assertEquals(3L, writer.getStats().get("written"));
+        assertEquals(1L, writer.getStats().get("batches"));
+        assertFalse(writer.enqueue(store, "events", Map.of("n", 3)));
+    }
+
+    @Test
+    void enqueue_withCommitDurability_shouldReturnOnlyAfterTheBatchCommitted() {
+        WriteBehindWriter writer = writer(100, 0, "commit", 1000);
+
+        assertTrue(writer.enqueue(store, "events", Map.of("n", 1)));
+        assertEquals(1, store.batches.size());
+
+        store.failure = new IllegalStateException("disk full");
+        RuntimeException error = assertThrows(RuntimeException.class, () -> writer.enqueue(store, "events", Map.of("n", 2)));
+        assertTrue(error.getMessage().contains("disk full"));
+        assertEquals(1L, writer.getStats().get("failed"));
+        writer.stop();
+    }
+
+    @Test
+    void enqueue_shouldHandTheRowBackWhenTheQueueStaysFull() throws Exception {
+        WriteBehindWriter writer = writer(1, 0, "buffered", 20);
+        store.blocker = new CountDownLatch(1);
+
+        assertTrue(writer.enqueue(store, "events", Map.of("n", 1)));
+        assertTrue(store.entered.await(5, TimeUnit.SECONDS));
+        assertTrue(writer.enqueue(store, "events", Map.of("n", 2)));
+        assertFalse(writer.enqueue(store, "events", Map.of("n", 3)));
+        assertEquals(1L, writer.getStats().get("inlineWrites"));
+
+        store.blocker.countDown();
+        writer.stop();
+        assertEquals(2, store.batches.stream().mapToInt(List::size).sum());
+    }
+
+    @Test
+    void enqueue_beforeStartOrAfterStop_shouldHandTheRowBack() {
+        WriteBehindWriter writer = new WriteBehindWriter(selectCache, 10, 100, 0, "buffered", 1000, 5000, 5000);
+
+        assertFalse(writer.isRunning());
+        assertFalse(writer.enqueue(store, "events", Map.of("n", 1)));
+        writer.start();
+        assertTrue(writer.isRunning());
+        writer.stop();
+        assertFalse(writer.enqueue(store, "events", Map.of("n", 2)));
+        assertEquals(2L, writer.getStats().get("inlineWrites"));
+        assertTrue(store.batches.isEmpty());
+    }
+
+    @Test
+    void enqueue_withCommitDurability_shouldGiveUpAfterTheCommitTimeout() {
+        WriteBehindWriter writer = writer(10, 0, "commit", 1000, 50, 5000);
+        store.blocker = new CountDownLatch(1);
+
+        RuntimeException error = assertThrows(RuntimeException.class, () -> writer.enqueue(store, "events", Map.of("n", 1)));
+        assertTrue(error.getMessage().contains("did not commit within 50 ms"));
+
+        store.blocker.countDown();
+        writer.stop();
+    }
+
+    @Test
+    void stop_shouldFailRowsStillQueuedAfterTheShutdownTimeout() throws Exception {
+        WriteBehindWriter writer = writer(10, 0, "buffered", 1000, 5000, 50);
+        store.blocker = new CountDownLatch(1);
+
+        assertTrue(writer.enqueue(store, "events", Map.of("n", 1)));
+        assertTrue(store.entered.await(5, TimeUnit.SECONDS));
+        assertTrue(writer.enqueue(store, "events", Map.of("n", 2)));
+        writer.stop();
+        assertFalse(writer.isRunning());
+
+        store.blocker.countDown();
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while ((long) writer.getStats().get("failed") == 0 && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(1L, writer.getStats().get("failed"));
+        assertEquals(List.of(List.of(Map.of("n", 1))), store.batches);
+        assertEquals(0, writer.getStats().get("queued"));
+    }
+
+    @Test
+    void constructor_shouldRejectUnknownDurability() {
+        assertThrows(IllegalArgumentException.class, () -> writer(1, 0, "fsync", 0));
+    }
+
+    private static final class RecordingStore implements GenericEntityStore {
+        final List<List<Map<String, Object>>> batches = new CopyOnWriteArrayList<>();
+        final CountDownLatch entered = new CountDownLatch(1);
+        volatile CountDownLatch blocker;
+        volatile RuntimeException failure;
+
+        @Override
+        public String getEngine() {
+            return "recording";
+        }
+
+        @Override
+        public List<GenericEntity> findPage(String tableName, Map<String, Object> where, Long afterId, int offset, Integer limit) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Iterable<GenericEntity> streamPages(String tableName, Map<String, Object> where, Long afterId, int offset, Integer limit, int fetchSize) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public GenericEntity insert(String tableName, Map<String, Object> data) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public int upsert(String tableName, String keyPath, Map<String, Object> data) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public int update(String tableName, Map<String, Object> where, Map<String, Object> data) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public int delete(String tableName, Map<String, Object> where) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public List<Map<String, Object>> aggregate(String tableName, Map<String, Object> where, List<String> groupBy, List<Aggregation> aggregations) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public int insertAll(String tableName, Iterable<Map<String, Object>> rows, int batchSize) {
+            entered.countDown();
+            try {
+                if (blocker != null) {
+                    blocker.await(5, TimeUnit.SECONDS);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            if (failure != null) {
+                throw failure;
+            }
+            List<Map<String, Object>> batch = new ArrayList<>();
+            rows.forEach(batch::add);
+            batches.add(batch);
+            return batch.size();
+        }
+    }
+}
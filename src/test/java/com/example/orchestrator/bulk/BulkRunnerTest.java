@@ -0,0 +1,121 @@
+package com.example.orchestrator.bulk;
+
+import com.example.orchestrator.service.OrchestratorService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class BulkRunnerTest {
+
+    @Mock
+    private OrchestratorService orchestratorService;
+
+    @TempDir
+    Path tempDir;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private Path input;
+    private Path output;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        input = tempDir.resolve("input.ndjson");
+        output = tempDir.resolve("output.ndjson");
+        Files.writeString(input, """
+                {"product": "testProduct", "id": 1}
+
+                {"id": 2}
+                {"product": "testProduct", "id": 3}
+                """, StandardCharsets.UTF_8);
+
+        lenient().when(orchestratorService.executeOrchestration(anyString(), any(Map.class)))
+                .thenAnswer(invocation -> Map.of("status", "success", "output", Map.of("id", invocation.getArgument(1, Map.class).get("id"))));
+    }
+
+    private BulkRunner runner(String defaultProduct, boolean resume) {
+        return new BulkRunner(orchestratorService, objectMapper, null, input.toString(), output.toString(),
+                defaultProduct, 4, resume, 1, 10, false);
+    }
+
+    @Test
+    void process_shouldWriteOneResultPerRecordInInputOrder() throws Exception {
+        BulkRunSummary summary = runner("fallbackProduct", false).process(input, output);
+
+        assertEquals(3, summary.processed());
+        assertEquals(3, summary.succeeded());
+        assertEquals(0, summary.failed());
+
+        List<String> lines = Files.readAllLines(output);
+        assertEquals(3, lines.size());
+        for (int i = 0; i < lines.size(); i++) {
+            Map<String, Object> line = objectMapper.readValue(lines.get(i), Map.class);
+            Map<String, Object> result = (Map<String, Object>) line.get("result");
+            assertEquals(List.of(1, 2, 3).get(i), ((Map<String, Object>) result.get("output")).get("id"));
+        }
+        verify(orchestratorService, times(1)).executeOrchestration(eq("fallbackProduct"), any(Map.class));
+        verify(orchestratorService, times(2)).executeOrchestration(eq("testProduct"), any(Map.class));
+    }
+
+    @Test
+    void process_shouldReportRecordsWithoutProductAsErrors() throws Exception {
+        BulkRunSummary summary = runner("", false).process(input, output);
+
+        assertEquals(3, summary.processed());
+        assertEquals(1, summary.failed());
+        Map<String, Object> second = objectMapper.readValue(Files.readAllLines(output).get(1), Map.class);
+        assertEquals("error", second.get("status"));
+    }
+
+    @Test
+    void process_shouldResumeFromCheckpoint() throws Exception {
+        runner("fallbackProduct", true).process(input, output);
+        clearInvocations(orchestratorService);
+
+        long secondRecordEnd = Files.readString(input).indexOf("{\"product\": \"testProduct\", \"id\": 3}");
+        String firstTwoLines = String.join("\n", Files.readAllLines(output).subList(0, 2)) + "\n";
+        Files.writeString(output, firstTwoLines + "{\"partial\":");
+        new BulkCheckpoint(secondRecordEnd, firstTwoLines.getBytes(StandardCharsets.UTF_8).length, 2)
+                .write(tempDir.resolve("output.ndjson.checkpoint"));
+
+        BulkRunSummary summary = runner("fallbackProduct", true).process(input, output);
+
+        assertEquals(1, summary.processed());
+        verify(orchestratorService, times(1)).executeOrchestration(anyString(), any(Map.class));
+        List<String> lines = Files.readAllLines(output);
+        assertEquals(3, lines.size());
+        assertTrue(lines.get(2).contains("\"id\":3"));
+        assertEquals(3, BulkCheckpoint.read(tempDir.resolve("output.ndjson.checkpoint")).processed());
+    }
+
+    @Test
+    void reader_shouldReturnRecordsSpanningMappedWindows() throws Exception {
+        try (NdjsonReader reader = new NdjsonReader(input, 0, 8)) {
+            int records = 0;
+            NdjsonRecord record;
+            while ((record = reader.next()) != null) {
+                Map<String, Object> parsed = objectMapper.readValue(record.bytes(), 0, record.length(), Map.class);
+                assertNotNull(parsed.get("id"));
+                records++;
+            }
+            assertEquals(3, records);
+            assertEquals(reader.size(), reader.position());
+        }
+    }
+}
@@ -0,0 +1,127 @@
+package com.example.orchestrator.concurrency;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AdmissionControllerTest {
+
+    private AdmissionController admissionController(String algorithm, int initialLimit) {
+        return new AdmissionController(true, algorithm, initialLimit, 1, 100, 0.2, 100, 0.5);
+    }
+
+    @Test
+    void acquire_shouldRejectOverflowWithRetryAfter() {
+        AdmissionController controller = admissionController("aimd", 2);
+
+        controller.acquire("productA");
+        controller.acquire("productA");
+        AdmissionRejectedException exception = assertThrows(AdmissionRejectedException.class, () -> controller.acquire("productA"));
+
+        assertTrue(exception.getRetryAfterSeconds() >= 1);
+        Map<String, Object> stats = (Map<String, Object>) controller.getStats().get("productA");
+        assertEquals(2, stats.get("inFlight"));
+        assertEquals(1L, stats.get("rejected"));
+    }
+
+    @Test
+    void acquire_shouldTrackLimitsPerProduct() {
+        AdmissionController controller = admissionController("aimd", 1);
+
+        controller.acquire("productA");
+
+        assertThrows(AdmissionRejectedException.class, () -> controller.acquire("productA"));
+        assertNotNull(controller.acquire("productB"));
+    }
+
+    @Test
+    void release_shouldFreeCapacity() {
+        AdmissionController controller = admissionController("gradient", 1);
+
+        AdmissionController.Permit permit = controller.acquire("productA");
+        permit.release(AdmissionController.Outcome.IGNORED);
+
+        assertNotNull(controller.acquire("productA"));
+    }
+
+    @Test
+    void release_shouldShrinkLimitWhenDownstreamCallsFail() {
+        AdmissionController controller = admissionController("aimd", 10);
+
+        controller.acquire("productA").release(AdmissionController.Outcome.IGNORED);
+        assertEquals(10, ((Map<String, Object>) controller.getStats().get("productA")).get("limit"));
+
+        for (int i = 0; i < 3; i++) {
+            controller.acquire("productA").release(AdmissionController.Outcome.DROPPED);
+        }
+
+        Map<String, Object> stats = (Map<String, Object>) controller.getStats().get("productA");
+        assertEquals(1, stats.get("limit"));
+        assertEquals(3L, stats.get("dropped"));
+        assertEquals(0, stats.get("inFlight"));
+        controller.acquire("productA");
+        assertThrows(AdmissionRejectedException.class, () -> controller.acquire("productA"));
+    }
+
+    @Test
+    void gradient_shouldShrinkLimitWhenDownstreamCallsFail() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(new GradientLimitAlgorithm(0.5), 20, 1, 100);
+
+        for (int i = 0; i < 5; i++) {
+            limiter.tryAcquire();
+            limiter.onDropped();
+        }
+
+        assertTrue(limiter.getLimit() < 10, "limit should drop from 20 but was " + limiter.getLimit());
+        assertEquals(0, limiter.getInFlight());
+    }
+
+    @Test
+    void disabled_shouldAdmitEverything() {
+        AdmissionController controller = new AdmissionController(false, "aimd", 1, 1, 1, 0.2, 100, 0.5);
+
+        for (int i = 0; i < 10; i++) {
+            controller.acquire("productA");
+        }
+        assertTrue(controller.getStats().isEmpty());
+    }
+
+    @Test
+    void aimd_shouldBackOffOnSlowResponsesAndGrowOnFastOnes() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(
+                new AimdLimitAlgorithm(TimeUnit.MILLISECONDS.toNanos(100), 0.5), 10, 1, 100);
+
+        limiter.tryAcquire();
+        limiter.onSuccess(TimeUnit.MILLISECONDS.toNanos(500));
+        assertEquals(5, limiter.getLimit());
+
+        for (int i = 0; i < 5; i++) {
+            limiter.tryAcquire();
+        }
+        limiter.onSuccess(TimeUnit.MILLISECONDS.toNanos(10));
+        assertEquals(6, limiter.getLimit());
+    }
+
+    @Test
+    void gradient_shouldShrinkLimitWhenLatencyRises() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(new GradientLimitAlgorithm(0.5), 20, 1, 100);
+        for (int i = 0; i < 20; i++) {
+            limiter.tryAcquire();
+        }
+        for (int i = 0; i < 10; i++) {
+            limiter.onSuccess(TimeUnit.MILLISECONDS.toNanos(10));
+            limiter.tryAcquire();
+        }
+        int steadyLimit = limiter.getLimit();
+
+        for (int i = 0; i < 10; i++) {
+            limiter.onSuccess(TimeUnit.MILLISECONDS.toNanos(200));
+            limiter.tryAcquire();
+        }
+
+        assertTrue(limiter.getLimit() < steadyLimit, "limit should drop from " + steadyLimit + " but was " + limiter.getLimit());
+    }
+}
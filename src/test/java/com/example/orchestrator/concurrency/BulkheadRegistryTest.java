@@ -0,0 +1,81 @@
+package com.example.orchestrator.concurrency;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BulkheadRegistryTest {
+
+    @Test
+    void forExecutor_shouldApplySpecificThenDefaultConfiguration() {
+        MockEnvironment environment = new MockEnvironment()
+                .withProperty("orchestrator.bulkhead.executors.default.max-concurrent", "7")
+                .withProperty("orchestrator.bulkhead.executors.db.max-concurrent", "2");
+        BulkheadRegistry registry = new BulkheadRegistry(environment);
+
+        assertEquals(2, registry.forExecutor("db").snapshot().get("maxConcurrent"));
+        assertEquals(7, registry.forExecutor("http").snapshot().get("maxConcurrent"));
+        assertSame(registry.forExecutor("db"), registry.forExecutor("db"));
+    }
+
+    @Test
+    void acquire_shouldRejectWhenWaitingQueueIsFull() {
+        Bulkhead bulkhead = new Bulkhead("executors:db", 1, 0, 1000);
+
+        bulkhead.acquire();
+        assertThrows(BulkheadFullException.class, bulkhead::acquire);
+
+        Map<String, Object> stats = bulkhead.snapshot();
+        assertEquals(1, stats.get("active"));
+        assertEquals(1L, stats.get("rejectedQueueFull"));
+        bulkhead.release();
+        assertEquals(0, bulkhead.snapshot().get("active"));
+    }
+
+    @Test
+    void acquire_shouldTimeOutWaitingForPermit() {
+        Bulkhead bulkhead = new Bulkhead("executors:db", 1, 1, 10);
+
+        bulkhead.acquire();
+        assertThrows(BulkheadFullException.class, bulkhead::acquire);
+        assertEquals(1L, bulkhead.snapshot().get("rejectedTimeout"));
+    }
+
+    @Test
+    void slowExecutorShouldNotConsumeOtherExecutorsCapacity() throws Exception {
+        BulkheadRegistry registry = new BulkheadRegistry(new MockEnvironment()
+                .withProperty("orchestrator.bulkhead.executors.db.max-concurrent", "1")
+                .withProperty("orchestrator.bulkhead.executors.db.max-waiting", "0"));
+        CountDownLatch dbEntered = new CountDownLatch(1);
+        CountDownLatch releaseDb = new CountDownLatch(1);
+
+        Thread slowDb = new Thread(() -> {
+            Bulkhead db = registry.forExecutor("db");
+            db.acquire();
+            dbEntered.countDown();
+            try {
+                releaseDb.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                db.release();
+            }
+        });
+        slowDb.start();
+        assertTrue(dbEntered.await(5, TimeUnit.SECONDS));
+
+        assertThrows(BulkheadFullException.class, () -> registry.forExecutor("db").acquire());
+        registry.forExecutor("http").acquire();
+        registry.forExecutor("http").release();
+
+        releaseDb.countDown();
+        slowDb.join();
+        Map<String, Object> executors = (Map<String, Object>) registry.getStats().get("executors");
+        assertEquals(1L, ((Map<String, Object>) executors.get("db")).get("rejectedQueueFull"));
+    }
+}
@@ -1,7 +1,9 @@
 package com.example.orchestrator.controller;
 
+import com.example.orchestrator.concurrency.AdmissionController;
+import com.example.orchestrator.concurrency.AdmissionRejectedException;
 import com.example.orchestrator.service.OrchestratorService;
-import com.example.orchestrator.service.SpecNotFoundException;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import com.example.orchestrator.JsonOrchestratorApplication;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -18,8 +20,12 @@ import java.util.Map;
 
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -33,6 +39,17 @@ public class OrchestratorControllerTest {
     @MockBean
     private OrchestratorService orchestratorService;
 
+    @MockBean
+    private AdmissionController admissionController;
+
+    private AdmissionController.Permit permit;
+
+    @BeforeEach
+    void setUp() {
+        permit = mock(AdmissionController.Permit.class);
+        when(admissionController.acquire(any())).thenReturn(permit);
+    }
+
     @Test
     void orchestrate_shouldReturnSuccessResponse() throws Exception {
         String product = "testProduct";
@@ -51,6 +68,25 @@ public class OrchestratorControllerTest {
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.status").value("success"))
                 .andExpect(jsonPath("$.message").value("Orchestration for product testProduct started"));
+        verify(permit).release(AdmissionController.Outcome.SUCCESS);
+    }
+
+    @Test
+    void orchestrate_shouldReportDownstreamFailuresAsDroppedAndClientErrorsAsIgnored() throws Exception {
+        when(orchestratorService.executeOrchestration(eq("testProduct"), any(Map.class)))
+                .thenReturn(Map.of("status", "error", "error", Map.of("message", "503 Service Unavailable", "clientError", false)))
+                .thenReturn(Map.of("status", "error", "error", Map.of("message", "Invalid input: id is required", "clientError", true)));
+
+        for (int i = 0; i < 2; i++) {
+            mockMvc.perform(post("/api/orchestrate")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content("{\"product\":\"testProduct\"}"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.status").value("error"));
+        }
+
+        verify(permit).release(AdmissionController.Outcome.DROPPED);
+        verify(permit).release(AdmissionController.Outcome.IGNORED);
     }
 
     @Test
@@ -60,14 +96,27 @@ public class OrchestratorControllerTest {
         requestBody.put("product", product);
         requestBody.put("param1", "value1");
 
-        when(orchestratorService.executeOrchestration(eq(product), any(Map.class)))
-                .thenThrow(new SpecNotFoundException("Specification for product '" + product + "' not found."));
-
         mockMvc.perform(post("/api/orchestrate")
                         .contentType(MediaType.APPLICATION_JSON)
                         .content("{\"product\":\"nonExistentProduct\", \"param1\":\"value1\"}"))
                 .andExpect(status().isNotFound())
                 .andExpect(jsonPath("$.status").value("error"))
                 .andExpect(jsonPath("$.message").value("Specification for product 'nonExistentProduct' not found."));
+        verify(admissionController, never()).acquire(product);
+        verify(orchestratorService, never()).executeOrchestration(eq(product), any(Map.class));
+    }
+
+    @Test
+    void orchestrate_shouldShedLoadWhenAdmissionIsRejected() throws Exception {
+        when(admissionController.acquire("testProduct")).thenThrow(new AdmissionRejectedException("Too many concurrent orchestrations", 2));
+
+        mockMvc.perform(post("/api/orchestrate")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"product\":\"testProduct\"}"))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string("Retry-After", "2"))
+                .andExpect(jsonPath("$.status").value("error"));
+
+        verify(orchestratorService, never()).executeOrchestration(eq("testProduct"), any(Map.class));
     }
-}
\ No newline at end of file
+}
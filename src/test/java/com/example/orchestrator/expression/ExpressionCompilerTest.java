@@ -0,0 +1,88 @@
+package com.example.orchestrator.expression;
+
+import com.example.orchestrator.model.GenericEntity;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ExpressionCompilerTest {
+
+    private ExpressionCompiler compiler;
+    private Map<String, Object> scope;
+
+    @BeforeEach
+    void setUp() {
+        compiler = new ExpressionCompiler();
+        scope = new HashMap<>();
+        scope.put("input", Map.of("productId", "P123", "quantity", 3, "express", true));
+        scope.put("cacheCheck", Map.of("found", false, "items", List.of(Map.of("id", "a"), Map.of("id", "b"))));
+        scope.put("rows", List.of(new GenericEntity("products", Map.of("name", "Laptop"))));
+    }
+
+    @Test
+    void compile_shouldEvaluateComparisonsAndLogic() {
+        assertTrue(compiler.compile("input.quantity > 2 && input.express").test(scope));
+        assertTrue(compiler.compile("input.quantity == 3.0").test(scope));
+        assertFalse(compiler.compile("cacheCheck.found || input.quantity >= 10").test(scope));
+        assertTrue(compiler.compile("not cacheCheck.found and input.productId != 'P999'").test(scope));
+        assertTrue(compiler.compile("!(input.quantity < 3)").test(scope));
+    }
+
+    @Test
+    void compile_shouldNavigateListsAndEntities() {
+        assertEquals("b", compiler.compile("cacheCheck.items.1.id").evaluate(scope));
+        assertEquals("a", compiler.compile("cacheCheck.items[0].id").evaluate(scope));
+        assertEquals("Laptop", compiler.compile("rows.0.data.name").evaluate(scope));
+    }
+
+    @Test
+    void compile_shouldTreatMissingPathsAsNull() {
+        assertNull(compiler.compile("cacheCheck.missing.deeper").evaluate(scope));
+        assertFalse(compiler.compile("exists(cacheCheck.missing)").test(scope));
+        assertTrue(compiler.compile("exists(cacheCheck.items) && size(cacheCheck.items) == 2").test(scope));
+        assertTrue(compiler.compile("empty(unknown)").test(scope));
+    }
+
+    @Test
+    void compile_shouldEvaluateArithmeticStringsAndFunctions() {
+        assertEquals(7L, compiler.compile("input.quantity * 2 + 1").evaluate(scope));
+        assertEquals(1.5, compiler.compile("input.quantity / 2").evaluate(scope));
+        assertEquals("id-P123", compiler.compile("'id-' + input.productId").evaluate(scope));
+        assertEquals("p123", compiler.compile("lower(input.productId)").evaluate(scope));
+        assertEquals("fallback", compiler.compile("coalesce(input.missing, \"fallback\")").evaluate(scope));
+        assertEquals("many", compiler.compile("input.quantity > 1 ? 'many' : 'one'").evaluate(scope));
+        assertTrue(compiler.compile("contains(input.productId, 'P1')").test(scope));
+    }
+
+    @Test
+    void compile_shouldReadNumbersWithExponents() {
+        assertEquals(100000.0, compiler.compile("1e5").evaluate(scope));
+        assertEquals(0.25, compiler.compile("2.5E-1").evaluate(scope));
+        assertTrue(compiler.compile("input.quantity * 1e+2 == 300").test(scope));
+        assertThrows(ExpressionException.class, () -> compiler.compile("1e"));
+    }
+
+    @Test
+    void compile_shouldCacheCompiledExpressions() {
+        assertSame(compiler.compile("input.express"), compiler.compile("input.express"));
+    }
+
+    @Test
+    void compile_shouldRejectInvalidExpressions() {
+        assertThrows(ExpressionException.class, () -> compiler.compile("input.quantity >"));
+        assertThrows(ExpressionException.class, () -> compiler.compile("unknownFunction(1)"));
+        assertThrows(ExpressionException.class, () -> compiler.compile("'unterminated"));
+        assertThrows(ExpressionException.class, () -> compiler.compile(" "));
+    }
+
+    @Test
+    void evaluate_shouldFailOnIncomparableValues() {
+        Expression expression = compiler.compile("input.productId > 3");
+        assertThrows(ExpressionException.class, () -> expression.evaluate(scope));
+    }
+}
@@ -0,0 +1,106 @@
+package com.example.orchestrator.memory;
+
+import com.example.orchestrator.util.LazyJson;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SpillManagerTest {
+
+    @TempDir
+    Path spillDir;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private SpillManager spillManager(long threshold, long budget) {
+        return new SpillManager(spillDir.toString(), threshold, budget);
+    }
+
+    private static List<Object> rows(int count) {
+        List<Object> rows = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            Map<String, Object> row = new LinkedHashMap<>();
+            row.put("id", i);
+            row.put("name", "row-" + i);
+            rows.add(row);
+        }
+        return rows;
+    }
+
+    @Test
+    void admit_shouldKeepSmallResultsOnHeapAndChargeThem() {
+        SpillManager manager = spillManager(10_000, 1_000_000);
+        MemoryBudget budget = manager.newBudget();
+        Map<String, Object> result = Map.of("id", 1);
+
+        assertSame(result, manager.admit(budget, "small", result));
+        assertTrue(budget.usedBytes() > 0);
+    }
+
+    @Test
+    void admit_shouldSpillLargeResultsToMappedSmileAndReadThemBackOnAccess() throws Exception {
+        SpillManager manager = spillManager(1_000, 1_000_000);
+        MemoryBudget budget = manager.newBudget();
+        List<Object> rows = rows(500);
+
+        Object admitted = manager.admit(budget, "rows", rows);
+
+        assertInstanceOf(SpilledList.class, admitted);
+        assertTrue(budget.usedBytes() < 1_000);
+        assertEquals(500, ((List<?>) admitted).size());
+        assertEquals("row-42", ((Map<?, ?>) ((List<?>) admitted).get(42)).get("name"));
+        assertEquals(objectMapper.writeValueAsString(rows), objectMapper.writeValueAsString(admitted));
+        try (var files = Files.list(spillDir)) {
+            assertEquals(0, files.count());
+        }
+    }
+
+    @Test
+    void admit_shouldTranscodeRawJsonWithoutParsingIt() throws Exception {
+        SpillManager manager = spillManager(100, 1_000_000);
+        String json = objectMapper.writeValueAsString(Map.of("rows", rows(20)));
+        Object raw = LazyJson.parse(json.getBytes(StandardCharsets.UTF_8));
+
+        Object admitted = manager.admit(manager.newBudget(), "response", raw);
+
+        assertInstanceOf(SpilledMap.class, admitted);
+        assertEquals(objectMapper.readValue(json, Map.class), admitted);
+    }
+
+    @Test
+    void admit_shouldSpillCollectionsHoldingLazyElements() throws Exception {
+        SpillManager manager = spillManager(100, 1_000_000);
+        List<Object> elements = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            elements.add(LazyJson.parse(("{\"id\": " + i + ", \"tags\": [\"a\", {\"b\": " + i + "}]}").getBytes(StandardCharsets.UTF_8)));
+        }
+        Map<String, Object> grouped = Map.of("items", elements, "first", elements.get(0));
+
+        Object spilledList = manager.admit(manager.newBudget(), "items", elements);
+        Object spilledMap = manager.admit(manager.newBudget(), "grouped", grouped);
+
+        assertInstanceOf(SpilledList.class, spilledList);
+        assertInstanceOf(SpilledMap.class, spilledMap);
+        assertEquals(objectMapper.readValue(objectMapper.writeValueAsString(elements), List.class), spilledList);
+        assertEquals(objectMapper.readValue(objectMapper.writeValueAsString(grouped), Map.class), spilledMap);
+    }
+
+    @Test
+    void admit_shouldRejectResultsBeyondTheBudget() {
+        SpillManager manager = spillManager(1_000_000, 4_000);
+        MemoryBudget budget = manager.newBudget();
+        manager.admit(budget, "first", rows(10));
+
+        assertThrows(MemoryBudgetExceededException.class, () -> manager.admit(budget, "second", rows(10)));
+    }
+}
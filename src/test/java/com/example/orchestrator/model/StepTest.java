@@ -98,4 +98,24 @@ class StepTest {
         assertNull(step.data());
         assertEquals("customResult", step.output());
     }
-}
\ No newline at end of file
+
+    @Test
+    void testStepDeserializationConditional() throws Exception {
+        String json = """
+                {
+                  "id": "fetchFresh",
+                  "type": "http",
+                  "method": "GET",
+                  "url": "https://api.example.com/data",
+                  "when": "input.refresh == true",
+                  "skipIf": "cache.found",
+                  "output": "fresh"
+                }
+                """;
+
+        Step step = objectMapper.readValue(json, Step.class);
+
+        assertEquals("input.refresh == true", step.when());
+        assertEquals("cache.found", step.skipIf());
+    }
+}
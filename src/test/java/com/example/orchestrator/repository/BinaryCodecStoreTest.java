@@ -0,0 +1,55 @@
+package com.example.orchestrator.repository;
+
+import com.example.orchestrator.model.GenericEntity;
+import com.example.orchestrator.util.DataCodec;
+import com.example.orchestrator.util.LazyJson;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest(properties = "orchestrator.db.codec=smile")
+@Import({DataCodec.class, JpaGenericEntityStore.class, JdbcGenericEntityStore.class, JsonPushdown.class, TableRouter.class})
+@ActiveProfiles("test")
+class BinaryCodecStoreTest {
+
+    @Autowired
+    private JpaGenericEntityStore jpaStore;
+
+    @Autowired
+    private JdbcGenericEntityStore jdbcStore;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void insert_shouldStoreLazilyParsedHttpResultsWithTheBinaryCodec() {
+        Object response = LazyJson.parse("""
+                {"order": {"id": 7, "lines": [{"sku": "A1", "qty": 2}]}}""".getBytes(StandardCharsets.UTF_8));
+        Map<String, Object> data = Map.of("response", response);
+        Map<String, Object> expected = Map.of("response", Map.of("order", Map.of("id", 7, "lines", List.of(Map.of("sku", "A1", "qty", 2)))));
+
+        jpaStore.insert("responses", data);
+        jdbcStore.insert("responses", data);
+        jpaStore.insertAll("responses", List.of(data), 10);
+        entityManager.flush();
+        entityManager.clear();
+
+        List<GenericEntity> stored = jdbcStore.findPage("responses", null, null, 0, null);
+        assertEquals(3, stored.size());
+        stored.forEach(entity -> assertEquals(expected, entity.getData()));
+        assertEquals(0, jdbcTemplate.queryForObject("select count(*) from generic_entity where data is not null", Integer.class));
+    }
+}
@@ -0,0 +1,56 @@
+package com.example.orchestrator.repository;
+
+import com.example.orchestrator.util.DataCodec;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+// Run with: mvn test -Pbenchmark
+@Tag("benchmark")
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.jdbc.batch_size=500")
+@Import({DataCodec.class, JsonPushdown.class})
+@ActiveProfiles("test")
+class GenericEntityBulkInsertBenchmarkTest {
+
+    private static final int ROWS = 50_000;
+
+    @Autowired
+    private GenericEntityRepository genericEntityRepository;
+
+    private static List<Map<String, Object>> rows() {
+        List<Map<String, Object>> rows = new ArrayList<>(ROWS);
+        for (int i = 0; i < ROWS; i++) {
+            rows.add(Map.of("sku", "SKU-" + i, "price", i % 1000, "description", "Generated product " + i));
+        }
+        return rows;
+    }
+
+    private double insertRowsPerSecond(String tableName, int batchSize) {
+        List<Map<String, Object>> rows = rows();
+        long startedAt = System.nanoTime();
+        int inserted = genericEntityRepository.insertAll(tableName, rows, batchSize);
+        double seconds = (System.nanoTime() - startedAt) / 1e9;
+        assertEquals(ROWS, inserted);
+        return ROWS / seconds;
+    }
+
+    @Test
+    void insertAll_rowsPerSecond() {
+        insertRowsPerSecond("warmup", 500);
+
+        double unbatched = insertRowsPerSecond("unbatched", 1);
+        double batched = insertRowsPerSecond("batched", 500);
+
+        System.out.printf("bulkInsert of %d rows into H2: batch size 1 = %.0f rows/s, batch size 500 = %.0f rows/s (%.1fx)%n",
+                ROWS, unbatched, batched, batched / unbatched);
+    }
+}
@@ -0,0 +1,74 @@
+package com.example.orchestrator.repository;
+
+import com.example.orchestrator.model.GenericEntity;
+import com.example.orchestrator.util.DataCodec;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.id.IdentifierGeneratorHelper;
+import org.hibernate.id.IntegralDataTypeHolder;
+import org.hibernate.id.enhanced.AccessCallback;
+import org.hibernate.id.enhanced.Optimizer;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Runs in its own context on a fresh sequence, where the first value matters to Hibernate's pooled optimizer
+@DataJpaTest
+@Import({DataCodec.class, JdbcGenericEntityStore.class, JsonPushdown.class, TableRouter.class, IdSequenceInitializer.class})
+@ActiveProfiles("test")
+class GenericEntityIdAllocationTest {
+
+    @Autowired
+    private JdbcGenericEntityStore jdbcStore;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Test
+    void ids_shouldNotOverlapWhenTheJdbcEngineDrawsBetweenTheOptimizerCalls() {
+        // The optimizer Hibernate built for GenericEntity, with the JDBC engine drawing a block right after its first value
+        Optimizer hibernate = ((SequenceStyleGenerator) entityManagerFactory.unwrap(SessionFactoryImplementor.class).getMappingMetamodel()
+                .getEntityDescriptor(GenericEntity.class).getIdentifierGenerator()).getOptimizer();
+        Set<Long> jdbcIds = new HashSet<>();
+        AccessCallback sequence = new AccessCallback() {
+            @Override
+            public IntegralDataTypeHolder getNextValue() {
+                long value = jdbcTemplate.queryForObject("select next value for " + GenericEntity.ID_SEQUENCE, Long.class);
+                if (jdbcIds.isEmpty()) {
+                    for (int i = 0; i < GenericEntity.ID_ALLOCATION_SIZE; i++) {
+                        jdbcIds.add(jdbcStore.insert("events", Map.of("n", i)).getId());
+                    }
+                }
+                return IdentifierGeneratorHelper.getIntegralDataTypeHolder(Long.class).initialize(value);
+            }
+
+            @Override
+            public String getTenantIdentifier() {
+                return null;
+            }
+        };
+
+        Set<Long> hibernateIds = new HashSet<>();
+        for (int i = 0; i < GenericEntity.ID_ALLOCATION_SIZE; i++) {
+            hibernateIds.add((Long) hibernate.generate(sequence));
+        }
+
+        assertEquals(GenericEntity.ID_ALLOCATION_SIZE, jdbcIds.size());
+        assertEquals(GenericEntity.ID_ALLOCATION_SIZE, hibernateIds.size());
+        hibernateIds.retainAll(jdbcIds);
+        assertEquals(Set.of(), hibernateIds);
+    }
+}
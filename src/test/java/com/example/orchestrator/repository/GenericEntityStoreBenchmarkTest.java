@@ -0,0 +1,76 @@
+package com.example.orchestrator.repository;
+
+import com.example.orchestrator.model.GenericEntity;
+import com.example.orchestrator.util.DataCodec;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+// Run with: mvn test -Pbenchmark
+@Tag("benchmark")
+@DataJpaTest
+@Import({DataCodec.class, JpaGenericEntityStore.class, JdbcGenericEntityStore.class, JsonPushdown.class, TableRouter.class})
+@ActiveProfiles("test")
+class GenericEntityStoreBenchmarkTest {
+
+    private static final int ROWS = 20_000;
+    private static final int ROUNDS = 5;
+
+    @Autowired
+    private JpaGenericEntityStore jpaStore;
+
+    @Autowired
+    private JdbcGenericEntityStore jdbcStore;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    private static List<Map<String, Object>> rows() {
+        List<Map<String, Object>> rows = new ArrayList<>(ROWS);
+        for (int i = 0; i < ROWS; i++) {
+            rows.add(Map.of("sku", "SKU-" + i, "price", i % 1000, "description", "Generated product " + i));
+        }
+        return rows;
+    }
+
+    private static double rowsPerSecond(Runnable operation, int rows) {
+        long startedAt = System.nanoTime();
+        operation.run();
+        return rows / ((System.nanoTime() - startedAt) / 1e9);
+    }
+
+    private double selectRowsPerSecond(GenericEntityStore store, String tableName) {
+        double best = 0;
+        for (int round = 0; round < ROUNDS; round++) {
+            // Otherwise JPA would return the entities it loaded in the previous round
+            entityManager.clear();
+            best = Math.max(best, rowsPerSecond(() -> {
+                List<GenericEntity> page = store.findPage(tableName, null, null, 0, null);
+                assertEquals(ROWS, page.size());
+                page.forEach(entity -> entity.getData().get("sku"));
+            }, ROWS));
+        }
+        return best;
+    }
+
+    @Test
+    void engines_rowsPerSecond() {
+        double jpaInsert = rowsPerSecond(() -> jpaStore.insertAll("jpa_rows", rows(), 500), ROWS);
+        double jdbcInsert = rowsPerSecond(() -> jdbcStore.insertAll("jdbc_rows", rows(), 500), ROWS);
+        double jpaSelect = selectRowsPerSecond(jpaStore, "jpa_rows");
+        double jdbcSelect = selectRowsPerSecond(jdbcStore, "jdbc_rows");
+
+        System.out.printf("db engines on H2, %d rows: insert jpa = %.0f rows/s, jdbc = %.0f rows/s; select jpa = %.0f rows/s, jdbc = %.0f rows/s%n",
+                ROWS, jpaInsert, jdbcInsert, jpaSelect, jdbcSelect);
+    }
+}
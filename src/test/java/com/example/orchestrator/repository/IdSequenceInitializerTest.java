@@ -0,0 +1,49 @@
+package com.example.orchestrator.repository;
+
+import com.example.orchestrator.util.DataCodec;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest(properties = "orchestrator.db.partitions.hot_events=ge_hot_events_seq")
+@Import({DataCodec.class, JsonPushdown.class, TableRouter.class, IdSequenceInitializer.class})
+@ActiveProfiles("test")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class IdSequenceInitializerTest {
+
+    @Autowired
+    private IdSequenceInitializer initializer;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("delete from generic_entity");
+        jdbcTemplate.update("delete from ge_hot_events_seq");
+    }
+
+    private long nextSequenceValue() {
+        return jdbcTemplate.queryForObject("select next value for generic_entity_seq", Long.class);
+    }
+
+    @Test
+    void initialize_shouldMoveTheSequencePastTheLargestStoredId() {
+        jdbcTemplate.update("insert into generic_entity (id, table_name, data) values (1000, 'legacy', '{}')");
+        jdbcTemplate.update("insert into ge_hot_events_seq (id, table_name, data) values (2000, 'hot_events', '{}')");
+
+        initializer.initialize();
+
+        assertEquals(2050, nextSequenceValue());
+        initializer.initialize();
+        assertEquals(2100, nextSequenceValue());
+    }
+}
@@ -0,0 +1,101 @@
+package com.example.orchestrator.repository;
+
+import com.example.orchestrator.util.DataCodec;
+import org.junit.jupiter.api.Test;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class JsonPushdownTest {
+
+    private static DataSource database(String product) throws Exception {
+        return database(product, 16);
+    }
+
+    private static DataSource database(String product, int majorVersion) throws Exception {
+        DataSource dataSource = mock(DataSource.class);
+        Connection connection = mock(Connection.class);
+        DatabaseMetaData metaData = mock(DatabaseMetaData.class);
+        when(dataSource.getConnection()).thenReturn(connection);
+        when(connection.getMetaData()).thenReturn(metaData);
+        when(metaData.getDatabaseProductName()).thenReturn(product);
+        when(metaData.getDatabaseMajorVersion()).thenReturn(majorVersion);
+        return dataSource;
+    }
+
+    private static Map<String, Object> where() {
+        Map<String, Object> where = new LinkedHashMap<>();
+        where.put("customer.tier", "gold");
+        where.put("tags", List.of("sale"));
+        return where;
+    }
+
+    @Test
+    void appendFilter_jsonbColumn_shouldInlineIndexedExpressionsAndBindValues() throws Exception {
+        JsonPushdown pushdown = new JsonPushdown(database("PostgreSQL"), new DataCodec("json", "none", 1024), true);
+        StringBuilder sql = new StringBuilder("select * from generic_entity where id > ?");
+        List<Object> parameters = new ArrayList<>(List.of(0L));
+
+        pushdown.appendFilter(sql, parameters, "o'rders", where());
+
+        assertEquals("select * from generic_entity where id > ? and table_name = 'o''rders'"
+                + " and data->'customer'->>'tier' = ? and data @> cast(? as jsonb)", sql.toString());
+        assertEquals(List.of(0L, "gold", "{\"tags\":[\"sale\"]}"), parameters);
+    }
+
+    @Test
+    void supportsMerge_shouldRequirePostgres15() throws Exception {
+        DataCodec json = new DataCodec("json", "none", 1024);
+
+        assertFalse(new JsonPushdown(database("PostgreSQL", 14), json, false).supportsMerge());
+        assertTrue(new JsonPushdown(database("PostgreSQL", 15), json, false).supportsMerge());
+        assertFalse(new JsonPushdown(database("H2", 2), json, false).supportsMerge());
+    }
+
+    @Test
+    void appendFilter_textColumn_shouldCastAndBindTheTableName() throws Exception {
+        JsonPushdown pushdown = new JsonPushdown(database("PostgreSQL"), new DataCodec("json", "none", 1024), false);
+        StringBuilder sql = new StringBuilder();
+        List<Object> parameters = new ArrayList<>();
+
+        pushdown.appendFilter(sql, parameters, "orders", Map.of("status", 1));
+
+        assertEquals(" and table_name = ? and cast(data as jsonb)->>'status' = ?", sql.toString());
+        assertEquals(List.of("orders", "1"), parameters);
+    }
+
+    @Test
+    void isSupported_shouldRequirePostgresAndATextCodec() throws Exception {
+        assertFalse(new JsonPushdown(database("H2"), new DataCodec("json", "none", 1024), true).isSupported());
+        assertFalse(new JsonPushdown(database("PostgreSQL"), new DataCodec("smile", "none", 1024), true).isJsonbColumn());
+    }
+
+    @Test
+    void indexDdl_shouldCreatePartialIndexesPerLogicalTable() {
+        assertEquals("create index if not exists ge_orders_gin on generic_entity using gin (data jsonb_path_ops) where table_name = 'orders'",
+                JsonbSchemaInitializer.indexDdl("generic_entity", "orders", "gin"));
+        assertEquals("create index if not exists ge_orders_customer_tier on ge_orders ((data->'customer'->>'tier'), id) where table_name = 'orders'",
+                JsonbSchemaInitializer.indexDdl("ge_orders", "orders", "customer.tier"));
+    }
+
+    @Test
+    void aggregate_shouldOnlyAggregateNumericFieldsAndCountPresentOnes() throws Exception {
+        JsonPushdown pushdown = new JsonPushdown(database("PostgreSQL"), new DataCodec("json", "none", 1024), true);
+
+        assertEquals("count(*)", pushdown.aggregate(Aggregation.parse("rows", "count")));
+        assertEquals("count(case when jsonb_typeof(data->'customer'->'id') <> 'null' then 1 end)",
+                pushdown.aggregate(Aggregation.parse("customers", "count(customer.id)")));
+        assertEquals("sum(case when jsonb_typeof(data->'amount') = 'number' then cast(data->>'amount' as numeric) end)",
+                pushdown.aggregate(Aggregation.parse("total", "sum(amount)")));
+        assertThrows(IllegalArgumentException.class, () -> Aggregation.parse("total", "sum"));
+    }
+}
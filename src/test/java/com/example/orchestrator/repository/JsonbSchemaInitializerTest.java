@@ -0,0 +1,34 @@
+package com.example.orchestrator.repository;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.env.MockEnvironment;
+
+import java.util.Map;
+
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class JsonbSchemaInitializerTest {
+
+    private static final String COLUMN_TYPE = "select data_type from information_schema.columns where table_name = ? and column_name = 'data'";
+
+    @Test
+    void initialize_shouldConvertTextDataColumnsOfDedicatedTablesToo() {
+        JsonPushdown jsonPushdown = mock(JsonPushdown.class);
+        TableRouter tableRouter = mock(TableRouter.class);
+        JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+        when(jsonPushdown.isJsonbColumn()).thenReturn(true);
+        when(tableRouter.dedicatedTables()).thenReturn(Map.of("hot_events", "ge_hot_events", "audit", "ge_audit"));
+        when(jdbcTemplate.queryForObject(COLUMN_TYPE, String.class, "generic_entity")).thenReturn("jsonb");
+        when(jdbcTemplate.queryForObject(COLUMN_TYPE, String.class, "ge_hot_events")).thenReturn("text");
+        when(jdbcTemplate.queryForObject(COLUMN_TYPE, String.class, "ge_audit")).thenReturn("jsonb");
+
+        new JsonbSchemaInitializer(jsonPushdown, tableRouter, jdbcTemplate, new MockEnvironment()).initialize();
+
+        verify(jdbcTemplate).execute("alter table ge_hot_events alter column data type jsonb using data::jsonb");
+        verify(jdbcTemplate, never()).execute(eq("alter table generic_entity alter column data type jsonb using data::jsonb"));
+        verify(jdbcTemplate, times(1)).execute(anyString());
+    }
+}
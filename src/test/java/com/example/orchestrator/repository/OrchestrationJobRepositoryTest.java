@@ -0,0 +1,100 @@
+package com.example.orchestrator.repository;
+
+import com.example.orchestrator.model.JobStatus;
+import com.example.orchestrator.model.OrchestrationJob;
+import com.example.orchestrator.util.DataCodec;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@Import({DataCodec.class, JsonPushdown.class, TableRouter.class})
+@ActiveProfiles("test")
+class OrchestrationJobRepositoryTest {
+
+    private static final List<JobStatus> UNFINISHED = List.of(JobStatus.QUEUED, JobStatus.RUNNING);
+
+    @Autowired
+    private OrchestrationJobRepository jobRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    private OrchestrationJob job(String id, JobStatus status, String owner, Instant leaseUntil) {
+        OrchestrationJob job = new OrchestrationJob(id, "testProduct", Map.of());
+        job.setStatus(status);
+        job.setOwner(owner);
+        job.setLeaseUntil(leaseUntil);
+        return entityManager.persistFlushFind(job);
+    }
+
+    @Test
+    void claim_shouldTakeOverOnlyUnleasedOrExpiredJobs() {
+        Instant now = Instant.now();
+        job("free", JobStatus.QUEUED, null, null);
+        job("expired", JobStatus.RUNNING, "node-2", now.minusSeconds(5));
+        job("leased", JobStatus.RUNNING, "node-2", now.plusSeconds(60));
+        job("done", JobStatus.SUCCEEDED, null, null);
+        job("own", JobStatus.RUNNING, "node-1", now.plusSeconds(60));
+
+        assertEquals(List.of("free", "expired", "own"), jobRepository.findClaimable(UNFINISHED, "node-1", now).stream().map(OrchestrationJob::getId).toList());
+        assertEquals(List.of("free", "expired"), jobRepository.findClaimable(UNFINISHED, "node-3", now).stream().map(OrchestrationJob::getId).toList());
+        Instant leaseUntil = now.plusSeconds(60);
+        assertEquals(1, jobRepository.claim("free", UNFINISHED, "node-1", leaseUntil, now));
+        assertEquals(1, jobRepository.claim("expired", UNFINISHED, "node-1", leaseUntil, now));
+        assertEquals(0, jobRepository.claim("leased", UNFINISHED, "node-1", leaseUntil, now));
+        assertEquals(0, jobRepository.claim("done", UNFINISHED, "node-1", leaseUntil, now));
+        assertEquals(1, jobRepository.claim("own", UNFINISHED, "node-1", leaseUntil, now));
+        // A second node recovering concurrently loses the race
+        assertEquals(0, jobRepository.claim("free", UNFINISHED, "node-3", leaseUntil, now));
+
+        entityManager.clear();
+        assertEquals("node-1", jobRepository.findById("expired").orElseThrow().getOwner());
+        assertEquals("node-2", jobRepository.findById("leased").orElseThrow().getOwner());
+    }
+
+    @Test
+    void renewLeasesAndRelease_shouldOnlyTouchJobsOfTheOwner() {
+        Instant now = Instant.now();
+        job("mine", JobStatus.RUNNING, "node-1", now.plusSeconds(1));
+        job("theirs", JobStatus.RUNNING, "node-2", now.plusSeconds(1));
+
+        assertEquals(1, jobRepository.renewLeases(List.of("mine", "theirs"), "node-1", now.plusSeconds(60)));
+        assertEquals(0, jobRepository.release("theirs", "node-1"));
+        assertEquals(1, jobRepository.release("mine", "node-1"));
+
+        entityManager.clear();
+        assertNull(jobRepository.findById("mine").orElseThrow().getOwner());
+        assertEquals("node-2", jobRepository.findById("theirs").orElseThrow().getOwner());
+    }
+
+    @Test
+    void runningJobWrites_shouldOnlyApplyWhileTheNodeOwnsTheJob() {
+        Instant now = Instant.now();
+        job("job", JobStatus.QUEUED, "node-1", now.plusSeconds(60));
+
+        assertEquals(1, jobRepository.markRunning("job", "node-1", JobStatus.RUNNING, 1, now.plusSeconds(60), now));
+        assertEquals(1, jobRepository.saveCheckpoint("job", "node-1", Map.of("completedSteps", 1), now.plusSeconds(60), now));
+        assertEquals(1, jobRepository.claim("job", UNFINISHED, "node-2", now.plusSeconds(60), now.plusSeconds(61)));
+        assertEquals(0, jobRepository.saveCheckpoint("job", "node-1", Map.of("completedSteps", 2), now.plusSeconds(60), now));
+        assertEquals(0, jobRepository.finish("job", "node-1", JobStatus.SUCCEEDED, Map.of("status", "success"), now));
+        assertEquals(1, jobRepository.finish("job", "node-2", JobStatus.FAILED, Map.of("status", "error"), now));
+
+        entityManager.clear();
+        OrchestrationJob stored = jobRepository.findById("job").orElseThrow();
+        assertEquals("node-2", stored.getOwner());
+        assertEquals(1, stored.getAttempts());
+        assertEquals(Map.of("completedSteps", 1), stored.getCheckpoint());
+        assertEquals(JobStatus.FAILED, stored.getStatus());
+        assertEquals(Map.of("status", "error"), stored.getResult());
+    }
+}
@@ -0,0 +1,48 @@
+package com.example.orchestrator.repository;
+
+import com.example.orchestrator.util.DataCodec;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest(properties = "orchestrator.db.partitions.hot_events=ge_hot_events_router")
+@Import({DataCodec.class, JsonPushdown.class, TableRouter.class})
+@ActiveProfiles("test")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class TableRouterTest {
+
+    @Autowired
+    private TableRouter tableRouter;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("delete from generic_entity");
+        jdbcTemplate.update("delete from ge_hot_events_router");
+    }
+
+    @Test
+    void createDedicatedTables_shouldMoveRowsLeftInTheSharedTable() {
+        jdbcTemplate.update("insert into generic_entity (id, table_name, data) values (1, 'hot_events', '{\"n\":1}')");
+        jdbcTemplate.update("insert into generic_entity (id, table_name, data) values (2, 'other', '{\"n\":2}')");
+
+        tableRouter.createDedicatedTables();
+
+        assertEquals(List.of("other"), jdbcTemplate.queryForList("select table_name from generic_entity", String.class));
+        assertEquals(List.of("{\"n\":1}"), jdbcTemplate.queryForList("select data from ge_hot_events_router where id = 1 and table_name = 'hot_events'", String.class));
+        tableRouter.createDedicatedTables();
+        assertEquals(1, jdbcTemplate.queryForObject("select count(*) from ge_hot_events_router", Integer.class));
+    }
+}
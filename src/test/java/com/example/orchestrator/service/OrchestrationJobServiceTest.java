@@ -0,0 +1,186 @@
+package com.example.orchestrator.service;
+
+import com.example.orchestrator.model.JobStatus;
+import com.example.orchestrator.model.OrchestrationJob;
+import com.example.orchestrator.model.StepExecutionResult;
+import com.example.orchestrator.repository.OrchestrationJobRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class OrchestrationJobServiceTest {
+
+    @Mock
+    private OrchestratorService orchestratorService;
+
+    @Mock
+    private OrchestrationJobRepository jobRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private OrchestrationJobService jobService;
+
+    @BeforeEach
+    void setUp() {
+        jobService = new OrchestrationJobService(orchestratorService, jobRepository, objectMapper, transactionManager, 1, 1, "node-1", 60_000, 30_000);
+        lenient().when(jobRepository.save(any(OrchestrationJob.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        lenient().when(jobRepository.markRunning(any(), eq("node-1"), any(), anyInt(), any(), any())).thenReturn(1);
+        lenient().when(jobRepository.saveCheckpoint(any(), eq("node-1"), any(), any(), any())).thenReturn(1);
+        lenient().when(jobRepository.finish(any(), eq("node-1"), any(), any(), any())).thenReturn(1);
+    }
+
+    @AfterEach
+    void tearDown() {
+        jobService.shutdown();
+    }
+
+    @Test
+    void run_shouldCheckpointStepsAndStoreResult() {
+        OrchestrationJob job = new OrchestrationJob("job-1", "testProduct", Map.of("product", "testProduct"));
+        job.setOwner("node-1");
+        when(jobRepository.findById("job-1")).thenReturn(Optional.of(job));
+        when(orchestratorService.executeOrchestration(eq("testProduct"), any(Map.class), any(ExecutionOptions.class)))
+                .thenAnswer(invocation -> {
+                    ExecutionOptions options = invocation.getArgument(2);
+                    assertNull(options.resumeFrom());
+                    options.checkpointListener().onCheckpoint(new OrchestrationCheckpoint(1, Map.of("step1Result", Map.of("id", 1)),
+                            List.of(new StepExecutionResult("step1", "success", Map.of(), null))));
+                    assertEquals(1, job.getCheckpoint().get("completedSteps"));
+                    return Map.of("status", "success", "output", Map.of());
+                });
+
+        jobService.run("job-1");
+
+        assertEquals(JobStatus.SUCCEEDED, job.getStatus());
+        assertEquals(1, job.getAttempts());
+        assertEquals("success", job.getResult().get("status"));
+        verify(jobRepository).markRunning(eq("job-1"), eq("node-1"), eq(JobStatus.RUNNING), eq(1), any(), any());
+        verify(jobRepository).saveCheckpoint(eq("job-1"), eq("node-1"), eq(job.getCheckpoint()), any(), any());
+        verify(jobRepository).finish(eq("job-1"), eq("node-1"), eq(JobStatus.SUCCEEDED), eq(job.getResult()), any());
+        ArgumentCaptor<TransactionDefinition> checkpointTransaction = ArgumentCaptor.forClass(TransactionDefinition.class);
+        verify(transactionManager).getTransaction(checkpointTransaction.capture());
+        assertEquals(TransactionDefinition.PROPAGATION_REQUIRES_NEW, checkpointTransaction.getValue().getPropagationBehavior());
+    }
+
+    @Test
+    void run_shouldResumeFromStoredCheckpoint() {
+        OrchestrationJob job = new OrchestrationJob("job-2", "testProduct", Map.of("product", "testProduct"));
+        job.setOwner("node-1");
+        job.setStatus(JobStatus.RUNNING);
+        job.setAttempts(1);
+        job.setCheckpoint(objectMapper.convertValue(new OrchestrationCheckpoint(2, Map.of("a", "b"),
+                List.of(new StepExecutionResult("step1", "success", Map.of(), null),
+                        new StepExecutionResult("step2", "success", Map.of(), null))), Map.class));
+        when(jobRepository.findById("job-2")).thenReturn(Optional.of(job));
+        when(orchestratorService.executeOrchestration(eq("testProduct"), any(Map.class), any(ExecutionOptions.class)))
+                .thenReturn(Map.of("status", "error", "error", Map.of("message", "boom")));
+
+        jobService.run("job-2");
+
+        ArgumentCaptor<ExecutionOptions> options = ArgumentCaptor.forClass(ExecutionOptions.class);
+        verify(orchestratorService).executeOrchestration(eq("testProduct"), any(Map.class), options.capture());
+        assertEquals(2, options.getValue().resumeFrom().completedSteps());
+        assertEquals("step2", options.getValue().resumeFrom().trace().get(1).stepId());
+        assertEquals(JobStatus.FAILED, job.getStatus());
+        assertEquals(2, job.getAttempts());
+    }
+
+    @Test
+    void run_shouldIgnoreFinishedJobs() {
+        OrchestrationJob job = new OrchestrationJob("job-3", "testProduct", Map.of());
+        job.setStatus(JobStatus.SUCCEEDED);
+        when(jobRepository.findById("job-3")).thenReturn(Optional.of(job));
+
+        jobService.run("job-3");
+
+        verifyNoInteractions(orchestratorService);
+    }
+
+    @Test
+    void run_shouldSkipJobsClaimedByAnotherNode() {
+        OrchestrationJob job = new OrchestrationJob("job-4", "testProduct", Map.of());
+        job.setOwner("node-2");
+        when(jobRepository.findById("job-4")).thenReturn(Optional.of(job));
+
+        jobService.run("job-4");
+
+        verifyNoInteractions(orchestratorService);
+        verify(jobRepository, never()).markRunning(any(), any(), any(), anyInt(), any(), any());
+    }
+
+    @Test
+    void run_shouldStopWithoutWritingWhenAnotherNodeClaimedTheJobMeanwhile() {
+        OrchestrationJob job = new OrchestrationJob("job-7", "testProduct", Map.of());
+        job.setOwner("node-1");
+        when(jobRepository.findById("job-7")).thenReturn(Optional.of(job));
+        when(jobRepository.saveCheckpoint(eq("job-7"), eq("node-1"), any(), any(), any())).thenReturn(0);
+        when(jobRepository.finish(eq("job-7"), eq("node-1"), any(), any(), any())).thenReturn(0);
+        when(orchestratorService.executeOrchestration(eq("testProduct"), any(Map.class), any(ExecutionOptions.class)))
+                .thenAnswer(invocation -> {
+                    ExecutionOptions options = invocation.getArgument(2);
+                    assertThrows(JobLeaseLostException.class, () -> options.checkpointListener().onCheckpoint(
+                            new OrchestrationCheckpoint(1, Map.of(), List.of())));
+                    return Map.of("status", "error", "error", Map.of("message", "stopped"));
+                });
+
+        jobService.run("job-7");
+
+        verify(jobRepository).finish(eq("job-7"), eq("node-1"), eq(JobStatus.FAILED), any(), any());
+        verify(jobRepository, never()).save(any());
+    }
+
+    @Test
+    void run_shouldNotStartWhenTheClaimWasLostBeforeTheRun() {
+        OrchestrationJob job = new OrchestrationJob("job-8", "testProduct", Map.of());
+        job.setOwner("node-1");
+        when(jobRepository.findById("job-8")).thenReturn(Optional.of(job));
+        when(jobRepository.markRunning(eq("job-8"), eq("node-1"), any(), anyInt(), any(), any())).thenReturn(0);
+
+        jobService.run("job-8");
+
+        verifyNoInteractions(orchestratorService);
+    }
+
+    @Test
+    void recoverUnfinishedJobs_shouldRunOnlyTheJobsItClaimed() {
+        OrchestrationJob claimed = new OrchestrationJob("job-5", "testProduct", Map.of());
+        OrchestrationJob taken = new OrchestrationJob("job-6", "testProduct", Map.of());
+        when(jobRepository.findClaimable(any(), eq("node-1"), any())).thenReturn(List.of(claimed, taken));
+        when(jobRepository.claim(eq("job-5"), any(), eq("node-1"), any(), any())).thenAnswer(invocation -> {
+            claimed.setOwner("node-1");
+            return 1;
+        });
+        when(jobRepository.claim(eq("job-6"), any(), eq("node-1"), any(), any())).thenReturn(0);
+        when(jobRepository.findById("job-5")).thenReturn(Optional.of(claimed));
+        when(orchestratorService.executeOrchestration(eq("testProduct"), any(Map.class), any(ExecutionOptions.class)))
+                .thenReturn(Map.of("status", "success", "output", Map.of()));
+
+        jobService.recoverUnfinishedJobs();
+
+        verify(orchestratorService, timeout(5000)).executeOrchestration(eq("testProduct"), any(Map.class), any(ExecutionOptions.class));
+        verify(jobRepository, timeout(5000)).finish(eq("job-5"), eq("node-1"), eq(JobStatus.SUCCEEDED), any(), any());
+        assertEquals(JobStatus.SUCCEEDED, claimed.getStatus());
+        verify(jobRepository, never()).findById("job-6");
+    }
+}
@@ -0,0 +1,85 @@
+package com.example.orchestrator.service;
+
+import com.example.orchestrator.model.Specification;
+import com.example.orchestrator.model.Step;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class OrchestrationTransactionsTest {
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private final SimpleTransactionStatus status = new SimpleTransactionStatus();
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(transactionManager.getTransaction(any())).thenReturn(status);
+    }
+
+    private static Specification spec(Boolean transactional) {
+        return new Specification("spec", null, null, List.of(), null, transactional);
+    }
+
+    @Test
+    void execute_shouldCommitASuccessfulOrchestration() {
+        Map<String, Object> result = new OrchestrationTransactions(transactionManager, true)
+                .execute(spec(null), () -> Map.of("status", "success"));
+
+        assertEquals("success", result.get("status"));
+        assertFalse(status.isRollbackOnly());
+        verify(transactionManager).commit(status);
+    }
+
+    @Test
+    void execute_shouldRollBackAFailedOrchestration() {
+        new OrchestrationTransactions(transactionManager, false).execute(spec(true), () -> Map.of("status", "error"));
+
+        assertTrue(status.isRollbackOnly());
+        verify(transactionManager).commit(status);
+    }
+
+    @Test
+    void execute_shouldRunWithoutTransactionWhenTheSpecOptsOut() {
+        new OrchestrationTransactions(transactionManager, true).execute(spec(false), () -> Map.of("status", "success"));
+
+        verifyNoInteractions(transactionManager);
+    }
+
+    @Test
+    void execute_shouldRejectForeachStepsThatContinueOnError() {
+        Step element = new Step("fetch", "http", "GET", "http://example.com/items", null, null, null, null, null);
+        Step foreach = new Step("each", "foreach", null, null, null, null, null, null, null, null, null, "${input.ids}", "id", element, 1, "continue",
+                null, null, null, null, null, null, null);
+        Specification specification = new Specification("spec", null, null, List.of(foreach), null, true);
+
+        IllegalArgumentException error = assertThrows(IllegalArgumentException.class,
+                () -> new OrchestrationTransactions(transactionManager, false).execute(specification, () -> Map.of("status", "success")));
+
+        assertTrue(error.getMessage().contains("cannot use onError 'continue'"));
+        verifyNoInteractions(transactionManager);
+        assertEquals("success", new OrchestrationTransactions(transactionManager, false)
+                .execute(new Specification("spec", null, null, List.of(foreach), null, false), () -> Map.of("status", "success")).get("status"));
+    }
+
+    @Test
+    void isEnabled_shouldFailWithoutTransactionManager() {
+        OrchestrationTransactions transactions = new OrchestrationTransactions((PlatformTransactionManager) null, false);
+
+        assertFalse(transactions.isEnabled(spec(null)));
+        assertThrows(IllegalStateException.class, () -> transactions.isEnabled(spec(true)));
+    }
+}
@@ -5,23 +5,39 @@ import com.example.orchestrator.model.Output;
 import com.example.orchestrator.model.Specification;
 import com.example.orchestrator.model.Step;
 import com.example.orchestrator.util.ExecutionContext;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Disabled;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.invocation.InvocationOnMock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.mockito.stubbing.Answer;
+import com.example.orchestrator.concurrency.BulkheadFullException;
+import com.example.orchestrator.concurrency.BulkheadRegistry;
+import com.example.orchestrator.expression.ExpressionCompiler;
+import com.example.orchestrator.memory.SpillManager;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.env.MockEnvironment;
 import org.springframework.retry.support.RetryTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.ResourceAccessException;
 
 import com.example.orchestrator.model.StepExecutionResult;
 
+import java.net.SocketTimeoutException;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Executors;
 
 import com.example.orchestrator.validation.InputValidator;
 
@@ -45,14 +61,14 @@ class OrchestratorServiceImplIntegrationTest {
     @Mock
     private OutputFormatter outputFormatter;
 
-    @InjectMocks
     private OrchestratorServiceImpl orchestratorService;
 
     @BeforeEach
     void setUp() {
         // Manually inject the list of mock executors
         List<ActionExecutor> actionExecutors = Arrays.asList(httpActionExecutor);
-        orchestratorService = new OrchestratorServiceImpl(specLoaderService, actionExecutors, inputValidator, retryTemplate, outputFormatter);
+        orchestratorService = new OrchestratorServiceImpl(specLoaderService, actionExecutors, inputValidator, retryTemplate, outputFormatter, new BulkheadRegistry(new MockEnvironment()), new ExpressionCompiler(), Executors.newCachedThreadPool(),
+                new SpillManager(System.getProperty("java.io.tmpdir"), 8_388_608, 268_435_456), new OrchestrationTransactions((PlatformTransactionManager) null, false), 8);
 
         // Default behavior for retryTemplate to just execute the callback immediately
         lenient().when(retryTemplate.execute(any())).thenAnswer(new Answer<Object>() {
@@ -280,7 +296,422 @@ class OrchestratorServiceImplIntegrationTest {
         Map<String, Object> errorDetails = (Map<String, Object>) result.get("error");
         assertEquals("Orchestration failed: Invalid URL", errorDetails.get("message").toString());
         assertEquals("step1-id", errorDetails.get("step")); // For executor execution errors, step is the failing step
+        assertEquals(true, errorDetails.get("clientError"));
         verify(specLoaderService, times(1)).loadSpec(product);
         verify(httpActionExecutor, times(1)).execute(eq(step1), any(ExecutionContext.class), eq(Collections.emptyMap()));
     }
-}
\ No newline at end of file
+
+    @Test
+    void executeOrchestration_shouldNotReportDownstreamFailuresAsClientErrors() throws SpecNotFoundException {
+        Step step1 = new Step("step1-id", "http", "GET", "http://example.com/api/step1", Collections.emptyMap(), null, null, null, null);
+        Specification specification = new Specification("testProduct", "Test Description", null, Collections.singletonList(step1), null);
+
+        when(specLoaderService.loadSpec("testProduct")).thenReturn(specification);
+        when(httpActionExecutor.getType()).thenReturn("http");
+        when(httpActionExecutor.execute(eq(step1), any(ExecutionContext.class), eq(Collections.emptyMap())))
+                .thenThrow(HttpServerErrorException.create(HttpStatus.SERVICE_UNAVAILABLE, "Service Unavailable", HttpHeaders.EMPTY, null, null))
+                .thenThrow(new ResourceAccessException("I/O error", new SocketTimeoutException("Read timed out")))
+                .thenThrow(HttpClientErrorException.create(HttpStatus.NOT_FOUND, "Not Found", HttpHeaders.EMPTY, null, null))
+                .thenThrow(HttpClientErrorException.create(HttpStatus.TOO_MANY_REQUESTS, "Too Many Requests", HttpHeaders.EMPTY, null, null));
+
+        List<Object> clientErrors = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            Map<String, Object> result = orchestratorService.executeOrchestration("testProduct", Collections.emptyMap());
+            clientErrors.add(((Map<String, Object>) result.get("error")).get("clientError"));
+        }
+
+        assertEquals(List.of(false, false, true, false), clientErrors);
+    }
+
+    @Test
+    void executeOrchestration_shouldPropagateFullExecutorBulkheadWithoutRetrying() throws SpecNotFoundException {
+        BulkheadRegistry bulkheadRegistry = new BulkheadRegistry(new MockEnvironment()
+                .withProperty("orchestrator.bulkhead.executors.http.max-concurrent", "0")
+                .withProperty("orchestrator.bulkhead.executors.http.max-waiting", "0"));
+        OrchestratorServiceImpl service = new OrchestratorServiceImpl(specLoaderService, List.of(httpActionExecutor), inputValidator, retryTemplate, outputFormatter, bulkheadRegistry, new ExpressionCompiler(), Executors.newCachedThreadPool(),
+                new SpillManager(System.getProperty("java.io.tmpdir"), 8_388_608, 268_435_456), new OrchestrationTransactions((PlatformTransactionManager) null, false), 8);
+        Step step1 = new Step("step1-id", "http", "GET", "http://example.com/api/step1", Collections.emptyMap(), null, null, null, null);
+        Step foreach = new Step("each", "foreach", null, null, null, null, null, null, null, null, null, "${input.ids}", "id", step1, 2, "continue",
+                null, null, null, null, null, null, null);
+
+        when(specLoaderService.loadSpec("testProduct")).thenReturn(new Specification("testProduct", "Test Description", null, List.of(step1), null));
+        when(specLoaderService.loadSpec("fanOut")).thenReturn(new Specification("fanOut", "Test Description", null, List.of(foreach), null));
+        when(httpActionExecutor.getType()).thenReturn("http");
+
+        assertThrows(BulkheadFullException.class, () -> service.executeOrchestration("testProduct", Collections.emptyMap()));
+        assertThrows(BulkheadFullException.class, () -> service.executeOrchestration("fanOut", Map.of("ids", List.of(1, 2))));
+        verify(retryTemplate, never()).execute(any());
+        verify(httpActionExecutor, never()).execute(any(), any(), any());
+    }
+
+    @Test
+    void executeOrchestration_shouldReportCheckpointAfterEachStep() throws SpecNotFoundException {
+        String product = "testProduct";
+        Map<String, Object> requestParams = Collections.emptyMap();
+
+        Step step1 = new Step("step1-id", "http", "GET", "http://example.com/api/step1", Collections.emptyMap(), null, null, null, "step1Result");
+        Step step2 = new Step("step2-id", "http", "GET", "http://example.com/api/step2", Collections.emptyMap(), null, null, null, "step2Result");
+        Specification specification = new Specification("testProduct", "Test Description", null, Arrays.asList(step1, step2), null);
+
+        when(specLoaderService.loadSpec(product)).thenReturn(specification);
+        when(httpActionExecutor.getType()).thenReturn("http");
+        when(httpActionExecutor.execute(eq(step1), any(ExecutionContext.class), eq(Collections.emptyMap())))
+                .thenReturn(Map.of("data", "result from step 1"));
+        when(httpActionExecutor.execute(eq(step2), any(ExecutionContext.class), eq(Collections.emptyMap())))
+                .thenReturn(Map.of("data", "result from step 2"));
+
+        List<OrchestrationCheckpoint> checkpoints = new ArrayList<>();
+        orchestratorService.executeOrchestration(product, requestParams, new ExecutionOptions(null, checkpoints::add));
+
+        assertEquals(2, checkpoints.size());
+        assertEquals(1, checkpoints.get(0).completedSteps());
+        assertEquals(Map.of("data", "result from step 1"), checkpoints.get(0).outputs().get("step1Result"));
+        assertEquals(2, checkpoints.get(1).completedSteps());
+        assertEquals(2, checkpoints.get(1).trace().size());
+    }
+
+    @Test
+    void executeOrchestration_shouldResumeAfterLastCompletedStep() throws SpecNotFoundException {
+        String product = "testProduct";
+        Map<String, Object> requestParams = Collections.emptyMap();
+
+        Step step1 = new Step("step1-id", "http", "GET", "http://example.com/api/step1", Collections.emptyMap(), null, null, null, "step1Result");
+        Step step2 = new Step("step2-id", "http", "GET", "http://example.com/api/step2", Collections.emptyMap(), null, null, null, "step2Result");
+        Specification specification = new Specification("testProduct", "Test Description", null, Arrays.asList(step1, step2), null);
+
+        when(specLoaderService.loadSpec(product)).thenReturn(specification);
+        when(httpActionExecutor.getType()).thenReturn("http");
+        when(httpActionExecutor.execute(eq(step2), any(ExecutionContext.class), eq(Collections.emptyMap())))
+                .thenAnswer(invocation -> {
+                    ExecutionContext context = invocation.getArgument(1);
+                    assertEquals(Map.of("data", "result from step 1"), context.get("step1Result"));
+                    return Map.of("data", "result from step 2");
+                });
+
+        OrchestrationCheckpoint checkpoint = new OrchestrationCheckpoint(1,
+                Map.of("step1Result", Map.of("data", "result from step 1")),
+                List.of(new StepExecutionResult("step1-id", "success", Map.of(), null)));
+
+        Map<String, Object> result = orchestratorService.executeOrchestration(product, requestParams, new ExecutionOptions(checkpoint, null));
+
+        assertEquals("success", result.get("status"));
+        List<StepExecutionResult> trace = (List<StepExecutionResult>) result.get("trace");
+        assertEquals(2, trace.size());
+        assertEquals("step2-id", trace.get(1).stepId());
+        verify(httpActionExecutor, never()).execute(eq(step1), any(), any());
+    }
+
+    @Test
+    void executeOrchestration_shouldRestartTransactionalOrchestrationsInsteadOfResuming() throws SpecNotFoundException {
+        Step step1 = new Step("step1-id", "http", "GET", "http://example.com/api/step1", Collections.emptyMap(), null, null, null, "step1Result");
+        Step step2 = new Step("step2-id", "http", "GET", "http://example.com/api/step2", Collections.emptyMap(), null, null, null, "step2Result");
+        when(specLoaderService.loadSpec("testProduct")).thenReturn(new Specification("testProduct", "Test Description", null, Arrays.asList(step1, step2), null));
+        when(httpActionExecutor.getType()).thenReturn("http");
+        when(httpActionExecutor.execute(any(), any(ExecutionContext.class), any())).thenReturn(Map.of("data", "fresh"));
+        OrchestrationCheckpoint checkpoint = new OrchestrationCheckpoint(1,
+                Map.of("step1Result", Map.of("data", "result from step 1")),
+                List.of(new StepExecutionResult("step1-id", "success", Map.of(), null)));
+
+        // Stands in for the transaction OrchestrationTransactions opens around the steps
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+        Map<String, Object> result;
+        try {
+            result = orchestratorService.executeOrchestration("testProduct", Collections.emptyMap(), new ExecutionOptions(checkpoint, null));
+        } finally {
+            TransactionSynchronizationManager.setActualTransactionActive(false);
+        }
+
+        assertEquals("success", result.get("status"));
+        assertEquals(2, ((List<StepExecutionResult>) result.get("trace")).size());
+        verify(httpActionExecutor).execute(eq(step1), any(), any());
+    }
+
+    @Test
+    void executeOrchestration_shouldSkipStepsWhoseConditionIsNotMet() throws SpecNotFoundException {
+        String product = "testProduct";
+        Map<String, Object> requestParams = Map.of("refresh", false);
+
+        Step step1 = new Step("step1-id", "http", "GET", "http://example.com/api/step1", Collections.emptyMap(), null, null, null, "cache",
+                null, null);
+        Step step2 = new Step("step2-id", "http", "GET", "http://example.com/api/step2", Collections.emptyMap(), null, null, null, "step2Result",
+                "input.refresh", null);
+        Step step3 = new Step("step3-id", "http", "GET", "http://example.com/api/step3", Collections.emptyMap(), null, null, null, "step3Result",
+                null, "cache.found");
+        Specification specification = new Specification("testProduct", "Test Description", null, Arrays.asList(step1, step2, step3), null);
+
+        when(specLoaderService.loadSpec(product)).thenReturn(specification);
+        when(httpActionExecutor.getType()).thenReturn("http");
+        when(httpActionExecutor.execute(eq(step1), any(ExecutionContext.class), eq(requestParams)))
+                .thenReturn(Map.of("found", true));
+
+        Map<String, Object> result = orchestratorService.executeOrchestration(product, requestParams);
+
+        assertEquals("success", result.get("status"));
+        List<StepExecutionResult> trace = (List<StepExecutionResult>) result.get("trace");
+        assertEquals(3, trace.size());
+        assertEquals("success", trace.get(0).status());
+        assertEquals("skipped", trace.get(1).status());
+        assertEquals("skipped", trace.get(2).status());
+        verify(httpActionExecutor, times(1)).execute(any(), any(), any());
+    }
+
+    @Test
+    void executeOrchestration_shouldEndEarlyOnReturnStep() throws Exception {
+        String product = "testProduct";
+        Map<String, Object> requestParams = Collections.emptyMap();
+
+        JsonNode returnTemplate = new ObjectMapper().readTree("{\"product\": \"${cache.value}\"}");
+        Step step1 = new Step("step1-id", "http", "GET", "http://example.com/api/cache", Collections.emptyMap(), null, null, null, "cache");
+        Step returnStep = new Step("cached", "return", null, null, null, null, null, returnTemplate, null, "cache.found", null);
+        Step step3 = new Step("step3-id", "http", "GET", "http://example.com/api/expensive", Collections.emptyMap(), null, null, null, "expensive");
+        Specification specification = new Specification("testProduct", "Test Description", null, Arrays.asList(step1, returnStep, step3), null);
+
+        when(specLoaderService.loadSpec(product)).thenReturn(specification);
+        when(httpActionExecutor.getType()).thenReturn("http");
+        when(httpActionExecutor.execute(eq(step1), any(ExecutionContext.class), eq(requestParams)))
+                .thenReturn(Map.of("found", true, "value", "from cache"));
+        when(outputFormatter.formatOutput(eq(returnTemplate), any(ExecutionContext.class))).thenReturn(Map.of("product", "from cache"));
+
+        Map<String, Object> result = orchestratorService.executeOrchestration(product, requestParams);
+
+        assertEquals("success", result.get("status"));
+        assertEquals(Map.of("product", "from cache"), result.get("output"));
+        List<StepExecutionResult> trace = (List<StepExecutionResult>) result.get("trace");
+        assertEquals(2, trace.size());
+        assertEquals("returned", trace.get(1).status());
+        verify(httpActionExecutor, never()).execute(eq(step3), any(), any());
+    }
+
+    @Test
+    void executeOrchestration_shouldFailStepWithInvalidCondition() throws SpecNotFoundException {
+        String product = "testProduct";
+        Step step1 = new Step("step1-id", "http", "GET", "http://example.com/api/step1", Collections.emptyMap(), null, null, null, null,
+                "input.value >", null);
+        Specification specification = new Specification("testProduct", "Test Description", null, List.of(step1), null);
+        when(specLoaderService.loadSpec(product)).thenReturn(specification);
+
+        Map<String, Object> result = orchestratorService.executeOrchestration(product, Collections.emptyMap());
+
+        assertEquals("error", result.get("status"));
+        assertEquals("step1-id", ((Map<String, Object>) result.get("error")).get("step"));
+        verify(httpActionExecutor, never()).execute(any(), any(), any());
+    }
+
+    @Test
+    void executeOrchestration_shouldRunForeachTemplateForEveryItemInOrder() throws SpecNotFoundException {
+        String product = "testProduct";
+        Map<String, Object> requestParams = Map.of("ids", List.of(1, 2, 3, 4));
+
+        Step template = new Step("fetch", "http", "GET", "http://example.com/api/items/${id}", Collections.emptyMap(), null, null, null, null);
+        Step foreach = new Step("fetch-all", "foreach", null, null, null, null, null, null, "items", null, null,
+                "${input.ids}", "id", template, 3, null, null, null, null, null, null, null, null);
+        Specification specification = new Specification("testProduct", "Test Description", null, List.of(foreach), null);
+
+        when(specLoaderService.loadSpec(product)).thenReturn(specification);
+        when(httpActionExecutor.getType()).thenReturn("http");
+        when(httpActionExecutor.execute(eq(template), any(ExecutionContext.class), eq(requestParams)))
+                .thenAnswer(invocation -> {
+                    ExecutionContext elementContext = invocation.getArgument(1);
+                    Thread.sleep(10L * (5 - (Integer) elementContext.get("id")));
+                    return "item-" + elementContext.get("id") + "@" + elementContext.get("index");
+                });
+
+        Map<String, Object> result = orchestratorService.executeOrchestration(product, requestParams);
+
+        assertEquals("success", result.get("status"));
+        List<StepExecutionResult> trace = (List<StepExecutionResult>) result.get("trace");
+        assertEquals(List.of("item-1@0", "item-2@1", "item-3@2", "item-4@3"), trace.get(0).output().get("items"));
+        verify(httpActionExecutor, times(4)).execute(eq(template), any(), any());
+    }
+
+    @Test
+    void executeOrchestration_shouldCollectForeachErrorsWhenContinuing() throws SpecNotFoundException {
+        String product = "testProduct";
+        Map<String, Object> requestParams = Map.of("ids", List.of(1, 2, 3));
+
+        Step template = new Step("fetch", "http", "GET", "http://example.com/api/items/${item}", Collections.emptyMap(), null, null, null, null);
+        Step foreach = new Step("fetch-all", "foreach", null, null, null, null, null, null, "items", null, null,
+                "input.ids", null, template, 2, "continue", null, null, null, null, null, null, null);
+        Specification specification = new Specification("testProduct", "Test Description", null, List.of(foreach), null);
+
+        when(specLoaderService.loadSpec(product)).thenReturn(specification);
+        when(httpActionExecutor.getType()).thenReturn("http");
+        when(httpActionExecutor.execute(eq(template), any(ExecutionContext.class), eq(requestParams)))
+                .thenAnswer(invocation -> {
+                    Object item = invocation.getArgument(1, ExecutionContext.class).get("item");
+                    if (Integer.valueOf(2).equals(item)) {
+                        throw new RuntimeException("Item 2 not found");
+                    }
+                    return item;
+                });
+
+        Map<String, Object> result = orchestratorService.executeOrchestration(product, requestParams);
+
+        assertEquals("success", result.get("status"));
+        Map<String, Object> items = (Map<String, Object>) ((List<StepExecutionResult>) result.get("trace")).get(0).output().get("items");
+        assertEquals(Arrays.asList(1, null, 3), items.get("results"));
+        assertEquals(List.of(Map.of("index", 1, "error", "Item 2 not found")), items.get("errors"));
+    }
+
+    @Test
+    void executeOrchestration_shouldRejectContinuingForeachInsideATransaction() throws SpecNotFoundException {
+        Step template = new Step("fetch", "http", "GET", "http://example.com/api/items/${id}", Collections.emptyMap(), null, null, null, null);
+        Step foreach = new Step("fetch-all", "foreach", null, null, null, null, null, null, "items", null, null,
+                "${input.ids}", "id", template, 1, "continue", null, null, null, null, null, null, null);
+        when(specLoaderService.loadSpec("child")).thenReturn(new Specification("child", "Child", null, List.of(foreach), null));
+
+        // Stands in for the transaction of a transactional parent the child joins
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+        Map<String, Object> result;
+        try {
+            result = orchestratorService.executeOrchestration("child", Map.of("ids", List.of(1, 2)));
+        } finally {
+            TransactionSynchronizationManager.setActualTransactionActive(false);
+        }
+
+        assertEquals("error", result.get("status"));
+        assertTrue(((String) ((Map<String, Object>) result.get("error")).get("message")).contains("cannot use onError 'continue'"));
+        verify(httpActionExecutor, never()).execute(any(), any(), any());
+    }
+
+    @Test
+    void executeOrchestration_shouldFailForeachStepOnFirstErrorByDefault() throws SpecNotFoundException {
+        String product = "testProduct";
+        Map<String, Object> requestParams = Map.of("ids", List.of(1, 2, 3));
+
+        Step template = new Step("fetch", "http", "GET", "http://example.com/api/items/${item}", Collections.emptyMap(), null, null, null, null);
+        Step foreach = new Step("fetch-all", "foreach", null, null, null, null, null, null, "items", null, null,
+                "input.ids", null, template, null, null, null, null, null, null, null, null, null);
+        Specification specification = new Specification("testProduct", "Test Description", null, List.of(foreach), null);
+
+        when(specLoaderService.loadSpec(product)).thenReturn(specification);
+        when(httpActionExecutor.getType()).thenReturn("http");
+        when(httpActionExecutor.execute(eq(template), any(ExecutionContext.class), eq(requestParams)))
+                .thenThrow(new RuntimeException("Backend unavailable"));
+
+        Map<String, Object> result = orchestratorService.executeOrchestration(product, requestParams);
+
+        assertEquals("error", result.get("status"));
+        Map<String, Object> error = (Map<String, Object>) result.get("error");
+        assertEquals("fetch-all", error.get("step"));
+        assertTrue(((String) error.get("message")).contains("Backend unavailable"));
+        verify(httpActionExecutor, times(1)).execute(eq(template), any(), any());
+    }
+
+    @Test
+    void executeOrchestration_shouldRunSubOrchestrationInProcess() throws Exception {
+        Map<String, Object> requestParams = Map.of("customerId", 7);
+        JsonNode childInput = new ObjectMapper().readTree("{\"id\": \"${input.customerId}\"}");
+        Output childOutput = new Output(Collections.emptyList());
+
+        Step call = new Step("load-customer", "orchestrate", null, null, null, null, null, childInput, "customer", null, null,
+                null, null, null, null, null, "customer", null, null, null, null, null, null);
+        Step fetch = new Step("fetch", "http", "GET", "http://example.com/api/customers/${input.id}", Collections.emptyMap(), null, null, null, "raw");
+        when(specLoaderService.loadSpec("parent")).thenReturn(new Specification("parent", "Parent", null, List.of(call), null));
+        when(specLoaderService.loadSpec("customer")).thenReturn(new Specification("customer", "Child", null, List.of(fetch), childOutput));
+        when(outputFormatter.formatOutput(eq(childInput), any(ExecutionContext.class))).thenReturn(Map.of("id", 7));
+        when(outputFormatter.formatOutput(eq(childOutput), any(ExecutionContext.class))).thenReturn(Map.of("name", "Ada"));
+        when(httpActionExecutor.getType()).thenReturn("http");
+        when(httpActionExecutor.execute(eq(fetch), any(ExecutionContext.class), eq(Map.of("id", 7)))).thenReturn(Map.of("name", "Ada"));
+
+        Map<String, Object> result = orchestratorService.executeOrchestration("parent", requestParams);
+
+        assertEquals("success", result.get("status"));
+        List<StepExecutionResult> trace = (List<StepExecutionResult>) result.get("trace");
+        assertEquals(Map.of("name", "Ada"), trace.get(0).output().get("customer"));
+    }
+
+    @Test
+    void executeOrchestration_shouldNotTakeTheChildProductBulkheadForSubOrchestrations() throws Exception {
+        BulkheadRegistry bulkheadRegistry = new BulkheadRegistry(new MockEnvironment()
+                .withProperty("orchestrator.bulkhead.products.default.max-concurrent", "1")
+                .withProperty("orchestrator.bulkhead.products.default.max-waiting", "0"));
+        OrchestratorServiceImpl service = new OrchestratorServiceImpl(specLoaderService, List.of(httpActionExecutor), inputValidator, retryTemplate, outputFormatter, bulkheadRegistry, new ExpressionCompiler(), Executors.newCachedThreadPool(),
+                new SpillManager(System.getProperty("java.io.tmpdir"), 8_388_608, 268_435_456), new OrchestrationTransactions((PlatformTransactionManager) null, false), 8);
+        Step call = new Step("load-customer", "orchestrate", null, null, null, null, null, null, "customer", null, null,
+                null, null, null, null, null, "customer", null, null, null, null, null, null);
+        Step fetch = new Step("fetch", "http", "GET", "http://example.com/api/customers/7", Collections.emptyMap(), null, null, null, "raw");
+        Output childOutput = new Output(Collections.emptyList());
+        when(specLoaderService.loadSpec("parent")).thenReturn(new Specification("parent", "Parent", null, List.of(call), null));
+        when(specLoaderService.loadSpec("customer")).thenReturn(new Specification("customer", "Child", null, List.of(fetch), childOutput));
+        when(outputFormatter.formatOutput(eq(childOutput), any(ExecutionContext.class))).thenReturn(Map.of("name", "Ada"));
+        when(httpActionExecutor.getType()).thenReturn("http");
+        when(httpActionExecutor.execute(eq(fetch), any(ExecutionContext.class), any())).thenReturn(Map.of("name", "Ada"));
+
+        // Every slot of the child product is taken by a concurrent top-level request
+        bulkheadRegistry.forProduct("customer").acquire();
+        Map<String, Object> result = service.executeOrchestration("parent", Collections.emptyMap());
+
+        assertEquals("success", result.get("status"));
+        Map<String, Object> products = (Map<String, Object>) bulkheadRegistry.getStats().get("products");
+        assertEquals(1L, ((Map<String, Object>) products.get("customer")).get("accepted"));
+        assertEquals(0L, ((Map<String, Object>) products.get("customer")).get("rejectedQueueFull"));
+    }
+
+    @Test
+    void executeOrchestration_shouldNotCreateBulkheadsForProductsWithoutSpecification() throws SpecNotFoundException {
+        BulkheadRegistry bulkheadRegistry = new BulkheadRegistry(new MockEnvironment());
+        OrchestratorServiceImpl service = new OrchestratorServiceImpl(specLoaderService, List.of(httpActionExecutor), inputValidator, retryTemplate, outputFormatter, bulkheadRegistry, new ExpressionCompiler(), Executors.newCachedThreadPool(),
+                new SpillManager(System.getProperty("java.io.tmpdir"), 8_388_608, 268_435_456), new OrchestrationTransactions((PlatformTransactionManager) null, false), 8);
+        when(specLoaderService.loadSpec("madeUp")).thenThrow(new SpecNotFoundException("Specification for product 'madeUp' not found."));
+
+        Map<String, Object> result = service.executeOrchestration("madeUp", Collections.emptyMap());
+
+        assertEquals("error", result.get("status"));
+        assertEquals(Map.of(), bulkheadRegistry.getStats().get("products"));
+    }
+
+    @Test
+    void executeOrchestration_shouldLimitSubOrchestrationDepth() throws SpecNotFoundException {
+        Step recurse = new Step("recurse", "orchestrate", null, null, null, null, null, null, null, null, null,
+                null, null, null, null, null, "loop", null, null, null, null, null, null);
+        when(specLoaderService.loadSpec("loop")).thenReturn(new Specification("loop", "Recursive", null, List.of(recurse), null));
+
+        Map<String, Object> result = orchestratorService.executeOrchestration("loop", Collections.emptyMap());
+
+        assertEquals("error", result.get("status"));
+        assertTrue(((String) ((Map<String, Object>) result.get("error")).get("message")).contains("Maximum orchestration depth of 8 exceeded"));
+        verify(specLoaderService, times(9)).loadSpec("loop");
+    }
+
+    @Test
+    void executeOrchestration_shouldShareDeadlineWithSubOrchestration() throws SpecNotFoundException {
+        Step call = new Step("call-child", "orchestrate", null, null, null, null, null, null, "child", null, null,
+                null, null, null, null, null, "child", 20L, null, null, null, null, null);
+        Step slow = new Step("slow", "http", "GET", "http://example.com/api/slow", Collections.emptyMap(), null, null, null, "slow");
+        Step next = new Step("next", "http", "GET", "http://example.com/api/next", Collections.emptyMap(), null, null, null, "next");
+        when(specLoaderService.loadSpec("parent")).thenReturn(new Specification("parent", "Parent", null, List.of(call), null));
+        when(specLoaderService.loadSpec("child")).thenReturn(new Specification("child", "Child", null, List.of(slow, next), null));
+        when(httpActionExecutor.getType()).thenReturn("http");
+        when(httpActionExecutor.execute(eq(slow), any(ExecutionContext.class), any())).thenAnswer(invocation -> {
+            Thread.sleep(50);
+            return "done";
+        });
+
+        Map<String, Object> result = orchestratorService.executeOrchestration("parent", Collections.emptyMap());
+
+        assertEquals("error", result.get("status"));
+        assertTrue(((String) ((Map<String, Object>) result.get("error")).get("message")).contains("exceeded before step 'next'"));
+        verify(httpActionExecutor, never()).execute(eq(next), any(), any());
+    }
+
+    @Test
+    void executeOrchestration_shouldFailCleanlyWhenMemoryBudgetIsExceeded() throws SpecNotFoundException {
+        OrchestratorServiceImpl boundedService = new OrchestratorServiceImpl(specLoaderService, List.of(httpActionExecutor), inputValidator, retryTemplate,
+                outputFormatter, new BulkheadRegistry(new MockEnvironment()), new ExpressionCompiler(), Executors.newCachedThreadPool(),
+                new SpillManager(System.getProperty("java.io.tmpdir"), 10_000, 1_000), new OrchestrationTransactions((PlatformTransactionManager) null, false), 8);
+        Step step1 = new Step("step1-id", "http", "GET", "http://example.com/api/step1", Collections.emptyMap(), null, null, null, "large");
+        Step step2 = new Step("step2-id", "http", "GET", "http://example.com/api/step2", Collections.emptyMap(), null, null, null, "next");
+        when(specLoaderService.loadSpec("testProduct")).thenReturn(new Specification("testProduct", "Test Description", null, List.of(step1, step2), null));
+        when(httpActionExecutor.getType()).thenReturn("http");
+        when(httpActionExecutor.execute(eq(step1), any(ExecutionContext.class), any())).thenReturn(Map.of("payload", "x".repeat(5_000)));
+
+        Map<String, Object> result = boundedService.executeOrchestration("testProduct", Collections.emptyMap());
+
+        assertEquals("error", result.get("status"));
+        Map<String, Object> error = (Map<String, Object>) result.get("error");
+        assertEquals("step1-id", error.get("step"));
+        assertTrue(((String) error.get("message")).contains("exceeds the memory budget of 1000 bytes"));
+        verify(httpActionExecutor, never()).execute(eq(step2), any(), any());
+    }
+}
@@ -7,14 +7,18 @@ import com.example.orchestrator.model.Step;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.invocation.InvocationOnMock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.mockito.stubbing.Answer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import com.example.orchestrator.concurrency.BulkheadRegistry;
+import com.example.orchestrator.expression.ExpressionCompiler;
+import com.example.orchestrator.memory.SpillManager;
+import org.springframework.mock.env.MockEnvironment;
 import org.springframework.retry.support.RetryTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
 
 import com.example.orchestrator.validation.InputValidator;
 
@@ -23,6 +27,7 @@ import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Executors;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
@@ -46,7 +51,6 @@ public class OrchestratorServiceTest {
     @Mock
     private OutputFormatter outputFormatter;
 
-    @InjectMocks
     private OrchestratorServiceImpl orchestratorService;
 
     private Specification dummySpecification;
@@ -61,7 +65,8 @@ public class OrchestratorServiceTest {
 
         // Manually inject the list of mock executors (empty for this test)
         List<com.example.orchestrator.action.ActionExecutor> actionExecutors = Collections.emptyList();
-        orchestratorService = new OrchestratorServiceImpl(specLoaderService, actionExecutors, inputValidator, retryTemplate, outputFormatter);
+        orchestratorService = new OrchestratorServiceImpl(specLoaderService, actionExecutors, inputValidator, retryTemplate, outputFormatter, new BulkheadRegistry(new MockEnvironment()), new ExpressionCompiler(), Executors.newCachedThreadPool(),
+                new SpillManager(System.getProperty("java.io.tmpdir"), 8_388_608, 268_435_456), new OrchestrationTransactions((PlatformTransactionManager) null, false), 8);
 
         // Default behavior for retryTemplate to just execute the callback immediately
         lenient().when(retryTemplate.execute(any())).thenAnswer(new Answer<Object>() {
@@ -110,4 +110,18 @@ public class SpecLoaderServiceTest {
         verify(mockResource, times(1)).exists();
         verify(objectMapper, times(1)).readValue(any(InputStream.class), eq(Specification.class));
     }
-}
\ No newline at end of file
+
+    @Test
+    void exists_shouldCheckTheSpecResourceWithoutParsingIt() {
+        Resource present = mock(Resource.class);
+        Resource missing = mock(Resource.class);
+        when(resourceLoader.getResource(SPECS_DIRECTORY + "testProduct.json")).thenReturn(present);
+        when(resourceLoader.getResource(SPECS_DIRECTORY + "madeUp.json")).thenReturn(missing);
+        when(present.exists()).thenReturn(true);
+        when(missing.exists()).thenReturn(false);
+
+        assertTrue(specLoaderService.exists("testProduct"));
+        assertFalse(specLoaderService.exists("madeUp"));
+        verifyNoInteractions(objectMapper);
+    }
+}
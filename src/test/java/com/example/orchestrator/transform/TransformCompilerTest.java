@@ -0,0 +1,86 @@
+package com.example.orchestrator.transform;
+
+import com.example.orchestrator.expression.ExpressionCompiler;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TransformCompilerTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private TransformCompiler compiler;
+    private Map<String, Object> scope;
+
+    @BeforeEach
+    void setUp() {
+        compiler = new TransformCompiler(new ExpressionCompiler());
+        scope = new HashMap<>();
+        scope.put("orders", List.of(
+                Map.of("id", 1, "customerId", 10, "total", 250, "status", "open"),
+                Map.of("id", 2, "customerId", 11, "total", 40, "status", "open"),
+                Map.of("id", 3, "customerId", 12L, "total", 120, "status", "closed")));
+        scope.put("customers", List.of(Map.of("id", 10L, "name", "Ada"), Map.of("id", 12.0, "name", "Grace")));
+        scope.put("input", Map.of("minTotal", 100));
+    }
+
+    private JsonNode definition(String json) throws Exception {
+        return objectMapper.readTree(json);
+    }
+
+    @Test
+    void compile_shouldFilterJoinAndProject() throws Exception {
+        Transform transform = compiler.compile(definition("""
+                {"source": "orders", "pipeline": [
+                  {"filter": "item.total >= input.minTotal"},
+                  {"join": {"with": "customers", "on": "item.customerId", "key": "item.id", "as": "customer"}},
+                  {"project": {"order": "item.id", "customer": "item.customer.name"}}
+                ]}"""));
+
+        assertEquals(List.of(Map.of("order", 1, "customer", "Ada"), Map.of("order", 3, "customer", "Grace")), transform.apply(scope));
+    }
+
+    @Test
+    void compile_shouldKeepUnmatchedRowsInLeftJoin() throws Exception {
+        Transform transform = compiler.compile(definition("""
+                {"source": "orders", "as": "order", "pipeline": [
+                  {"join": {"with": "customers", "on": "order.customerId", "key": "order.id", "as": "customer", "type": "left"}},
+                  {"map": "coalesce(order.customer.name, 'unknown')"}
+                ]}"""));
+
+        assertEquals(List.of("Ada", "unknown", "Grace"), transform.apply(scope));
+    }
+
+    @Test
+    void compile_shouldGroupByKeyInFirstSeenOrder() throws Exception {
+        Transform transform = compiler.compile(definition("""
+                {"source": "orders", "pipeline": [
+                  {"groupBy": {"key": "item.status", "as": "orders"}},
+                  {"project": {"status": "item.key", "count": "size(item.orders)"}}
+                ]}"""));
+
+        assertEquals(List.of(Map.of("status", "open", "count", 2), Map.of("status", "closed", "count", 1)), transform.apply(scope));
+    }
+
+    @Test
+    void compile_shouldReuseCompiledTransformForEqualDefinitions() throws Exception {
+        String json = "{\"source\": \"orders\", \"pipeline\": [{\"map\": \"item.id\"}]}";
+
+        assertSame(compiler.compile(definition(json)), compiler.compile(definition(json)));
+    }
+
+    @Test
+    void compile_shouldRejectUnknownOperationsAndNonCollectionSources() throws Exception {
+        assertThrows(IllegalArgumentException.class, () -> compiler.compile(definition("""
+                {"source": "orders", "pipeline": [{"sortBy": "item.id"}]}""")));
+
+        Transform transform = compiler.compile(definition("{\"source\": \"input\", \"pipeline\": []}"));
+        assertThrows(IllegalArgumentException.class, () -> transform.apply(scope));
+    }
+}
@@ -0,0 +1,92 @@
+package com.example.orchestrator.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DataCodecTest {
+
+    private static final Map<String, Object> DATA = Map.of("sku", "A1", "price", 10.5, "tags", List.of("new", "sale"),
+            "description", "x".repeat(2_000));
+
+    @Test
+    void binaryCodecs_shouldRoundTripAndCompressLargeValues() throws Exception {
+        for (String codec : List.of("smile", "cbor")) {
+            DataCodec plain = new DataCodec(codec, "none", 1024);
+            DataCodec deflated = new DataCodec(codec, "deflate", 1024);
+
+            byte[] uncompressed = plain.encodeBinary(DATA);
+            byte[] compressed = deflated.encodeBinary(DATA);
+
+            assertEquals(DATA, plain.decodeBinary(uncompressed));
+            assertEquals(DATA, plain.decodeBinary(compressed), "deflated values stay readable without compression configured");
+            assertTrue(compressed.length < uncompressed.length / 4);
+            assertTrue(compressed.length < plain.encodeText(DATA).length() / 4);
+        }
+    }
+
+    @Test
+    void binaryCodecs_shouldEncodeLazilyParsedHttpResults() throws Exception {
+        Object response = LazyJson.parse("""
+                {"order": {"id": 7, "lines": [{"sku": "A1", "qty": 2}]}, "tags": ["new"]}""".getBytes(StandardCharsets.UTF_8));
+        Map<String, Object> data = Map.of("response", response, "lines", ((Map<?, ?>) ((Map<?, ?>) response).get("order")).get("lines"));
+        Map<String, Object> expected = Map.of("response", Map.of("order", Map.of("id", 7, "lines", List.of(Map.of("sku", "A1", "qty", 2))), "tags", List.of("new")),
+                "lines", List.of(Map.of("sku", "A1", "qty", 2)));
+
+        for (String codec : List.of("smile", "cbor")) {
+            DataCodec dataCodec = new DataCodec(codec, "none", 1024);
+
+            assertEquals(expected, dataCodec.decodeBinary(dataCodec.encodeBinary(data)), codec);
+            assertEquals(expected.get("response"), dataCodec.decodeBinary(dataCodec.encodeBinary((LazyJsonObject) response)), codec);
+        }
+    }
+
+    @Test
+    void converters_shouldWriteOnlyTheConfiguredColumnAndReadBoth() throws Exception {
+        DataCodec json = new DataCodec("json", "none", 1024);
+        DataCodec smile = new DataCodec("smile", "deflate", 1024);
+        String legacyText = new DataColumnConverter.Text(json).convertToDatabaseColumn(DATA);
+
+        assertNull(new DataColumnConverter.Text(smile).convertToDatabaseColumn(DATA));
+        assertNull(new DataColumnConverter.Binary(json).convertToDatabaseColumn(DATA));
+        byte[] binary = new DataColumnConverter.Binary(smile).convertToDatabaseColumn(DATA);
+
+        assertEquals(DATA, new DataColumnConverter.Text(smile).convertToEntityAttribute(legacyText));
+        assertEquals(DATA, new DataColumnConverter.Binary(json).convertToEntityAttribute(binary));
+    }
+
+    @Test
+    void constructor_shouldRejectUnknownCodec() {
+        assertThrows(IllegalArgumentException.class, () -> new DataCodec("avro", "none", 1024));
+        assertThrows(IllegalArgumentException.class, () -> new DataCodec("smile", "lz4", 1024));
+    }
+
+    @Test
+    void binaryConverter_shouldDecodeOnFirstAccessAndWriteBackTheReadBytes() throws Exception {
+        DataColumnConverter.Binary converter = new DataColumnConverter.Binary(new DataCodec("cbor", "none", 1024));
+        byte[] stored = converter.convertToDatabaseColumn(DATA);
+
+        LazyDecodedMap loaded = (LazyDecodedMap) converter.convertToEntityAttribute(stored);
+
+        assertFalse(loaded.isDecoded());
+        assertSame(stored, converter.convertToDatabaseColumn(loaded));
+        assertEquals("A1", loaded.get("sku"));
+        assertTrue(loaded.isDecoded());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void binaryConverter_shouldDecodeNestedValuesReadOnly() throws Exception {
+        DataColumnConverter.Binary converter = new DataColumnConverter.Binary(new DataCodec("smile", "none", 1024));
+        Map<String, Object> loaded = converter.convertToEntityAttribute(converter.convertToDatabaseColumn(
+                Map.of("region", Map.of("name", "Europe"), "tags", List.of(Map.of("id", 1)))));
+
+        assertThrows(UnsupportedOperationException.class, () -> ((Map<String, Object>) loaded.get("region")).put("name", "Asia"));
+        assertThrows(UnsupportedOperationException.class, () -> ((List<Object>) loaded.get("tags")).add(2));
+        assertThrows(UnsupportedOperationException.class, () -> ((List<Map<String, Object>>) loaded.get("tags")).get(0).put("id", 2));
+    }
+}
@@ -0,0 +1,84 @@
+package com.example.orchestrator.util;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LazyJsonTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private static Object parse(String json) {
+        return LazyJson.parse(json.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void serialize_shouldCopyRawBytesWithoutIndexing() throws Exception {
+        String body = "{\"id\":  7, \"tags\": [\"a\", \"b\"], \"price\": 10.50}";
+        LazyJsonObject value = (LazyJsonObject) parse(body);
+
+        String bytes = new String(objectMapper.writeValueAsBytes(Map.of("output", value)), StandardCharsets.UTF_8);
+        String chars = objectMapper.writeValueAsString(List.of(value));
+
+        assertEquals("{\"output\":" + body + "}", bytes);
+        assertEquals("[" + body + "]", chars);
+        assertFalse(value.isIndexed());
+    }
+
+    @Test
+    void serialize_toBinaryFormat_shouldCopyTheTokensOfNestedLazyValues() throws Exception {
+        ObjectMapper smileMapper = new ObjectMapper(new SmileFactory());
+        Object value = parse("{\"id\": 7, \"tags\": [\"a\", {\"b\": null}], \"price\": 10.50}");
+        Map<String, Object> document = Map.of("output", value, "items", List.of(value));
+
+        byte[] smile = smileMapper.writeValueAsBytes(document);
+
+        Map<?, ?> expected = objectMapper.readValue(objectMapper.writeValueAsBytes(document), Map.class);
+        assertEquals(expected, smileMapper.readValue(smile, Map.class));
+        assertEquals(expected, objectMapper.convertValue(document, Map.class));
+    }
+
+    @Test
+    void get_shouldMaterializeOnlyTheNavigatedPath() throws Exception {
+        LazyJsonObject value = (LazyJsonObject) parse("""
+                {"id": 7, "details": {"name": "Laptop", "specs": {"ram": 16}}, "reviews": [{"stars": 5}, {"stars": 3}]}""");
+
+        LazyJsonObject details = (LazyJsonObject) value.get("details");
+        LazyJsonArray reviews = (LazyJsonArray) value.get("reviews");
+
+        assertEquals("Laptop", details.get("name"));
+        assertFalse(((LazyJsonObject) details.get("specs")).isIndexed());
+        assertFalse(reviews.isIndexed());
+        assertEquals("{\"ram\": 16}", objectMapper.writeValueAsString(details.get("specs")));
+        assertEquals(3, ((Map<?, ?>) reviews.get(1)).get("stars"));
+    }
+
+    @Test
+    void equals_shouldMatchEagerlyParsedValues() throws Exception {
+        String json = "{\"id\": 7, \"name\": \"Laptop\", \"price\": 10.5, \"tags\": [\"a\", null], \"stock\": {\"count\": 3}}";
+
+        assertEquals(objectMapper.readValue(json, Map.class), parse(json));
+        assertEquals(List.of(1, "two", false), parse("[1, \"two\", false]"));
+        assertEquals("text", parse("\"text\""));
+    }
+
+    @Test
+    void navigation_shouldWorkThroughVariableResolver() {
+        Map<String, Object> context = Map.of("product", parse("{\"items\": [{\"sku\": \"A1\"}]}"));
+
+        assertEquals("A1", new VariableResolver().resolveVariables("${product.items.0.sku}", context));
+    }
+
+    @Test
+    void parse_shouldRejectInvalidJson() {
+        assertThrows(IllegalArgumentException.class, () -> parse("{\"id\": "));
+        assertThrows(IllegalArgumentException.class, () -> parse("{} {}"));
+        assertThrows(IllegalArgumentException.class, () -> LazyJsonObject.of("[1, 2]".getBytes(StandardCharsets.UTF_8)));
+    }
+}